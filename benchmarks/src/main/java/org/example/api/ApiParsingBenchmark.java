@@ -0,0 +1,56 @@
+package org.example.api;
+
+import org.example.bench.Payloads;
+import org.example.model.Card;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del parseo de respuestas de YGOProDeck sobre respuestas grabadas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiParsingBenchmark {
+    @Param({"normal-monster.json", "effect-monster.json", "spell-card.json"})
+    public String payload;
+
+    private YgoApiClient client;
+    private String body;
+    private JSONObject json;
+
+    @Setup
+    public void setup() {
+        client = new YgoApiClient();
+        body = Payloads.read(payload);
+        json = new JSONObject(body);
+    }
+
+    /**
+     * Parseo del texto de la respuesta más construcción de la carta.
+     */
+    @Benchmark
+    public Card parseCardFromJSON() {
+        return client.parseCardFromJSON(new JSONObject(body));
+    }
+
+    @Benchmark
+    public String parseImageUrl() {
+        return client.parseImageUrl(json);
+    }
+}
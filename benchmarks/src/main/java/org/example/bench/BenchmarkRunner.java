@@ -0,0 +1,36 @@
+package org.example.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de los benchmarks JMH.
+ * Siempre activa el profiler de GC (tasa de asignación por operación) y escribe los
+ * resultados en JSON para poder compararlos entre commits. El log del proyecto se desactiva
+ * salvo que se indique otro nivel con {@code -Dygo.log.level}.
+ *
+ * Uso: java -jar target/benchmarks.jar [regex] [opciones JMH] [-rff resultados.json]
+ */
+public class BenchmarkRunner {
+    // Archivo de resultados por defecto
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLine.getResult().orElse(DEFAULT_RESULT_FILE))
+                .jvmArgsAppend("-Djava.awt.headless=true",
+                        "-Dygo.log.level=" + System.getProperty("ygo.log.level", "OFF"))
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.bench;
+
+import org.example.listeners.BattleListener;
+
+/**
+ * Listener que ignora todos los eventos, para medir solo el coste del motor.
+ */
+public class NoOpBattleListener implements BattleListener {
+    @Override public void onTurn(String playerCard, String aiCard, String winner, String battleLog) { }
+    @Override public void onScoreChanged(int playerScore, int aiScore) { }
+    @Override public void onDuelEnded(String winner) { }
+    @Override public void onError(String errorMessage) { }
+    @Override public void onCardsLoaded() { }
+    @Override public void onDuelStarted(String starter, int roundNumber) { }
+    @Override public void onCardSelected(String playerName, String cardName, int cardIndex) { }
+    @Override public void onRoundStarted(int roundNumber, int playerScore, int aiScore) { }
+    @Override public void onTurnStarted(String playerName, boolean isPlayerTurn) { }
+    @Override public void onCardLoaded(int cardsLoaded, int totalCards, String cardName) { }
+    @Override public void onStatusUpdate(String statusMessage, boolean isError) { }
+    @Override public void onDuelReset() { }
+    @Override public void onBattleModeSet(String playerName, boolean isAttackMode) { }
+}
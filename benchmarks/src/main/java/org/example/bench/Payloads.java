@@ -0,0 +1,30 @@
+package org.example.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Acceso a las respuestas grabadas de la API usadas por los benchmarks.
+ */
+public final class Payloads {
+    private Payloads() {
+    }
+
+    /**
+     * Lee una respuesta grabada de /payloads.
+     * @param name Nombre del archivo (ej: "normal-monster.json")
+     * @return Contenido del archivo
+     */
+    public static String read(String name) {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Payload no encontrado: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
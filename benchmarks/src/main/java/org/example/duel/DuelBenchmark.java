@@ -0,0 +1,87 @@
+package org.example.duel;
+
+import org.example.bench.NoOpBattleListener;
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del motor de duelo: resolución de batallas y duelos completos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuelBenchmark {
+    private List<Card> playerCards;
+    private List<Card> aiCards;
+    private Duel duel;
+
+    @Setup
+    public void setup() {
+        playerCards = List.of(
+                CardRegistry.canonical(46986414, "Dark Magician", 2500, 2100, "", "Normal Monster"),
+                CardRegistry.canonical(91152256, "Celtic Guardian", 1400, 1200, "", "Normal Monster"),
+                CardRegistry.canonical(40640057, "Kuriboh", 300, 200, "", "Normal Monster"));
+        aiCards = List.of(
+                CardRegistry.canonical(89631139, "Blue-Eyes White Dragon", 3000, 2500, "", "Normal Monster"),
+                CardRegistry.canonical(15025844, "Mystical Elf", 800, 2000, "", "Normal Monster"),
+                CardRegistry.canonical(5053103, "Battle Ox", 1700, 1000, "", "Normal Monster"));
+
+        duel = new Duel(new SplittableRandom(42));
+        duel.setBattleListener(new NoOpBattleListener());
+        duel.setAiThinkDelay(0);
+        duel.setPlayerCards(playerCards);
+        duel.setAiCards(aiCards);
+    }
+
+    /**
+     * Las 9 parejas de cartas en las 4 combinaciones de modo.
+     */
+    @Benchmark
+    public void battleResolution(Blackhole blackhole) {
+        for (Card player : playerCards) {
+            for (Card ai : aiCards) {
+                blackhole.consume(Duel.battleOutcome(player, true, ai, true));
+                blackhole.consume(Duel.battleOutcome(player, true, ai, false));
+                blackhole.consume(Duel.battleOutcome(player, false, ai, true));
+                blackhole.consume(Duel.battleOutcome(player, false, ai, false));
+            }
+        }
+    }
+
+    /**
+     * Un duelo completo a 3 rondas con la máquina jugando sin retardo.
+     */
+    @Benchmark
+    public int fullDuel() {
+        duel.resetDuel();
+        duel.startDuel();
+
+        int nextCard = 0;
+        while (duel.isGameStarted() && nextCard < playerCards.size()) {
+            if (duel.isWaitingForPlayerSelection()) {
+                duel.playerSelectsCard(nextCard++);
+            } else {
+                break;
+            }
+        }
+        return duel.getPlayerScore() - duel.getAiScore();
+    }
+}
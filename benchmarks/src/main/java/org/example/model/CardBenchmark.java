@@ -0,0 +1,59 @@
+package org.example.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las validaciones e identidad de {@link Card}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardBenchmark {
+    private Card normal;
+    private Card effect;
+    private Card spell;
+
+    @Setup
+    public void setup() {
+        normal = CardRegistry.canonical(46986414, "Dark Magician", 2500, 2100,
+                "https://images.ygoprodeck.com/images/cards/46986414.jpg", "Normal Monster");
+        effect = CardRegistry.canonical(78193831, "Buster Blader", 2600, 2300,
+                "https://images.ygoprodeck.com/images/cards/78193831.jpg", "Effect Monster");
+        spell = CardRegistry.canonical(83764718, "Monster Reborn", 0, 0,
+                "https://images.ygoprodeck.com/images/cards/83764718.jpg", "Spell Card");
+    }
+
+    @Benchmark
+    public boolean isMonster() {
+        return normal.isMonster() & effect.isMonster() & spell.isMonster();
+    }
+
+    @Benchmark
+    public boolean isValidMonster() {
+        return normal.isValidMonster() & effect.isValidMonster() & spell.isValidMonster();
+    }
+
+    @Benchmark
+    public boolean equalsCard() {
+        return normal.equals(effect) | effect.equals(effect) | spell.equals(normal);
+    }
+
+    @Benchmark
+    public int hashCodeCard() {
+        return normal.hashCode() ^ effect.hashCode() ^ spell.hashCode();
+    }
+}
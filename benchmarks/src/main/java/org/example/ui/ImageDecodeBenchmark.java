@@ -0,0 +1,54 @@
+package org.example.ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de decodificación y escalado de imágenes de carta ({@link DuelFrame#decodeCardImage}).
+ * Usa un JPG sintético del tamaño de las imágenes de YGOProDeck (421x614) para no depender de la red.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageDecodeBenchmark {
+    private byte[] jpeg;
+
+    @Setup
+    public void setup() throws IOException {
+        BufferedImage image = new BufferedImage(421, 614, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int base = ((x / 16) * 37 + (y / 16) * 91) & 0xFF;
+                image.setRGB(x, y, (base << 16) | ((base + random.nextInt(32)) & 0xFF) << 8 | (255 - base));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        jpeg = out.toByteArray();
+    }
+
+    @Benchmark
+    public ImageIcon decodeAndScale() throws IOException {
+        return DuelFrame.decodeCardImage(jpeg);
+    }
+}
@@ -1,6 +1,15 @@
 package org.example.api;
 
+import org.example.catalog.CardCatalog;
+import org.example.log.Log;
+import org.example.log.LogLevel;
+import org.example.log.Logger;
 import org.example.model.Card;
+import org.example.metrics.Metrics;
+import org.example.model.CardRegistry;
+import org.example.profiling.CardDrawEvent;
+import org.example.profiling.CardFetchEvent;
+import org.example.random.RandomStreams;
 import org.json.JSONObject;
 import org.json.JSONArray;
 import java.net.URI;
@@ -8,63 +17,77 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * ¡Cliente para consumir la API de YGOProDeck y obtener cartas de Yu-Gi-Oh! Aleatorias.
  * Maneja peticiones HTTP, parseo de JSON y fallbacks para garantizar cartas válidas.
  */
 public class YgoApiClient {
+    private static final Logger LOG = Log.getLogger(YgoApiClient.class);
+
     // Constantes de configuración
 
     // URL principal de la API para obtener cartas aleatorias
     private static final String RANDOM_CARD_URL = "https://db.ygoprodeck.com/api/v7/randomcard.php";
 
+    // URL de la API para obtener el catálogo completo de cartas
+    private static final String CARD_INFO_URL = "https://db.ygoprodeck.com/api/v7/cardinfo.php";
+
     // Timeout para conexiones HTTP
     private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(15);
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
 
     /**
      * Cartas Monster populares con imágenes garantizadas.
-     * Formato: [nombre, id, atk, def] - Stats balanceados para duelo justo
+     * Formato: [nombre, id, atk, def, nivel, atributo, raza, arquetipo] - Stats balanceados para duelo justo
      */
     private static final String[][] POPULAR_MONSTERS = {
-            {"Dark Magician", "46986414", "2500", "2100"},
-            {"Blue-Eyes White Dragon", "89631139", "3000", "2500"},
-            {"Summoned Skull", "70781052", "2500", "1200"},
-            {"Gaia The Fierce Knight", "06368038", "2300", "2100"},
-            {"Celtic Guardian", "91152256", "1400", "1200"},
-            {"Mystical Elf", "15025844", "800", "2000"},
-            {"Battle Ox", "05053103", "1700", "1000"},
-            {"Kuriboh", "40640057", "300", "200"},
-            {"Time Wizard", "71625222", "500", "400"},
-            {"Red-Eyes B. Dragon", "74677422", "2400", "2000"},
-            {"Baby Dragon", "88819587", "1200", "700"},
-            {"Hitotsu-Me Giant", "76184692", "1200", "1000"},
-            {"Flame Swordsman", "45231177", "1800", "1600"},
-            {"Buster Blader", "78193831", "2600", "2300"},
-            {"La Jinn the Mystical Genie of the Lamp", "97590747", "1800", "1000"},
-            {"Man-Eater Bug", "54652250", "450", "600"},
-            {"Hane-Hane", "07089711", "450", "500"},
-            {"Mammoth Graveyard", "40374923", "1200", "800"},
-            {"Kojikocy", "01184620", "1500", "1200"},
-            {"Ryu-Kishin", "24611934", "1000", "500"}
+            {"Dark Magician", "46986414", "2500", "2100", "7", "DARK", "Spellcaster", "Dark Magician"},
+            {"Blue-Eyes White Dragon", "89631139", "3000", "2500", "8", "LIGHT", "Dragon", "Blue-Eyes"},
+            {"Summoned Skull", "70781052", "2500", "1200", "6", "DARK", "Fiend", ""},
+            {"Gaia The Fierce Knight", "06368038", "2300", "2100", "7", "EARTH", "Warrior", "Gaia The Fierce Knight"},
+            {"Celtic Guardian", "91152256", "1400", "1200", "4", "EARTH", "Warrior", ""},
+            {"Mystical Elf", "15025844", "800", "2000", "4", "LIGHT", "Spellcaster", ""},
+            {"Battle Ox", "05053103", "1700", "1000", "4", "EARTH", "Beast-Warrior", ""},
+            {"Kuriboh", "40640057", "300", "200", "1", "DARK", "Fiend", "Kuriboh"},
+            {"Time Wizard", "71625222", "500", "400", "2", "LIGHT", "Spellcaster", ""},
+            {"Red-Eyes B. Dragon", "74677422", "2400", "2000", "7", "DARK", "Dragon", "Red-Eyes"},
+            {"Baby Dragon", "88819587", "1200", "700", "3", "WIND", "Dragon", ""},
+            {"Hitotsu-Me Giant", "76184692", "1200", "1000", "4", "EARTH", "Beast-Warrior", ""},
+            {"Flame Swordsman", "45231177", "1800", "1600", "5", "FIRE", "Warrior", ""},
+            {"Buster Blader", "78193831", "2600", "2300", "7", "EARTH", "Warrior", "Buster Blader"},
+            {"La Jinn the Mystical Genie of the Lamp", "97590747", "1800", "1000", "4", "DARK", "Fiend", ""},
+            {"Man-Eater Bug", "54652250", "450", "600", "2", "EARTH", "Insect", ""},
+            {"Hane-Hane", "07089711", "450", "500", "2", "EARTH", "Beast", ""},
+            {"Mammoth Graveyard", "40374923", "1200", "800", "3", "EARTH", "Dinosaur", ""},
+            {"Kojikocy", "01184620", "1500", "1200", "4", "EARTH", "Warrior", ""},
+            {"Ryu-Kishin", "24611934", "1000", "500", "3", "DARK", "Fiend", ""}
     };
 
     // Variables de instancia
     private final HttpClient httpClient;
-    private final Random random;
+    // Un flujo aleatorio por hilo, derivado del generador del cliente
+    private final SplittableRandom randomRoot;
+    private final ThreadLocal<SplittableRandom> random = ThreadLocal.withInitial(this::splitRandom);
 
     /**
      * Constructor que inicializa el cliente HTTP con configuración optimizada.
      */
     public YgoApiClient() {
+        this(RandomStreams.split());
+    }
+
+    /**
+     * @param random Generador del que se derivan los flujos de cada hilo (cartas predefinidas)
+     */
+    public YgoApiClient(SplittableRandom random) {
+        this.randomRoot = random;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(CONNECTION_TIMEOUT)
                 .followRedirects(HttpClient.Redirect.ALWAYS)
                 .version(HttpClient.Version.HTTP_2)
                 .build();
-        this.random = new Random();
     }
 
     /**
@@ -77,25 +100,39 @@ public class YgoApiClient {
         int attempts = 0;
         final int MAX_ATTEMPTS = 5;
 
+        CardDrawEvent drawEvent = new CardDrawEvent();
+        drawEvent.begin();
+
         while (attempts < MAX_ATTEMPTS) {
+            long start = System.nanoTime();
             try {
                 Card card = tryGetFromAPI();
                 if (card != null && card.isValidMonster()) {
-                    System.out.printf("Carta obtenida de API: %s (ATK: %d, DEF: %d)%n",
-                            card.getName(), card.getAtk(), card.getDef());
+                    LOG.at(LogLevel.DEBUG)
+                            .field("card", card.getName())
+                            .field("latencyMs", (System.nanoTime() - start) / 1_000_000)
+                            .field("attempt", attempts + 1)
+                            .log("Carta obtenida de API (ATK: {}, DEF: {})", card.getAtk(), card.getDef());
+                    commitDraw(drawEvent, attempts + 1, false, card);
                     return card;
                 } else if (card != null) {
-                    System.out.printf("Carta descartada (no Monster): %s (Tipo: %s)%n",
-                            card.getName(), card.getType());
+                    LOG.at(LogLevel.DEBUG)
+                            .field("card", card.getName())
+                            .field("attempt", attempts + 1)
+                            .log("Carta descartada (no Monster, tipo: {})", card.getType());
                 }
 
             } catch (Exception e) {
-                System.err.printf("Error en intento %d/%d: %s%n",
-                        attempts + 1, MAX_ATTEMPTS, e.getMessage());
+                Metrics.CARD_FETCH_ERRORS.increment();
+                LOG.at(LogLevel.WARN)
+                        .field("latencyMs", (System.nanoTime() - start) / 1_000_000)
+                        .field("attempt", attempts + 1)
+                        .log("Error en intento {}/{}: {}", attempts + 1, MAX_ATTEMPTS, e.getMessage());
 
                 // Si es el último intento y hay error grave, lanzar excepción
                 if (attempts == MAX_ATTEMPTS - 1 &&
                         (e.getMessage().contains("timeout") || e.getMessage().contains("connect"))) {
+                    commitDraw(drawEvent, MAX_ATTEMPTS, false, null);
                     throw new Exception("No se pudo conectar con la API después de " + MAX_ATTEMPTS + " intentos", e);
                 }
             }
@@ -107,8 +144,24 @@ public class YgoApiClient {
         }
 
         // Fallback a cartas predefinidas
-        System.out.println("Usando carta predefinida (fallback)");
-        return getGuaranteedMonsterCard();
+        LOG.at(LogLevel.INFO).field("attempt", attempts).log("Usando carta predefinida (fallback)");
+        Card fallback = getGuaranteedMonsterCard();
+        Metrics.CARD_FALLBACKS.increment();
+        commitDraw(drawEvent, attempts, true, fallback);
+        return fallback;
+    }
+
+    /**
+     * Completa y registra el evento JFR de obtención de carta.
+     */
+    private static void commitDraw(CardDrawEvent event, int attempts, boolean fallback, Card card) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.attempts = attempts;
+            event.fallback = fallback;
+            event.cardName = card != null ? card.getName() : null;
+            event.commit();
+        }
     }
 
     /**
@@ -127,10 +180,10 @@ public class YgoApiClient {
                 Card card = getRandomMonsterCard();
                 if (card != null) {
                     cards.add(card);
-                    System.out.printf("Progreso: %d/%d cartas obtenidas%n", cards.size(), count);
+                    LOG.debug("Progreso: {}/{} cartas obtenidas", cards.size(), count);
                 }
             } catch (Exception e) {
-                System.err.printf("Error obteniendo carta %d: %s%n", cards.size() + 1, e.getMessage());
+                LOG.warn("Error obteniendo carta {}: {}", cards.size() + 1, e.getMessage());
             }
             attempts++;
         }
@@ -143,6 +196,59 @@ public class YgoApiClient {
         return cards;
     }
 
+    /**
+     * Descarga el catálogo completo de cartas Monster desde la API.
+     * Si la API no responde, devuelve el catálogo de cartas predefinidas.
+     * @return Catálogo de cartas Monster
+     */
+    public CardCatalog getMonsterCatalog() {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(CARD_INFO_URL))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("User-Agent", "YuGiOhDuelSimulator/1.0 (+https://github.com/yu-gi-oh-simulator)")
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new Exception("Error HTTP " + response.statusCode());
+            }
+
+            JSONArray data = new JSONObject(response.body()).getJSONArray("data");
+            java.util.List<Card> cards = new java.util.ArrayList<>(data.length());
+            for (int i = 0; i < data.length(); i++) {
+                Card card = parseCardFromJSON(data.getJSONObject(i));
+                if (card != null && card.isValidMonster()) {
+                    cards.add(card);
+                }
+            }
+            LOG.at(LogLevel.INFO)
+                    .field("cards", cards.size())
+                    .field("latencyMs", (System.nanoTime() - start) / 1_000_000)
+                    .log("Catálogo descargado");
+            return CardCatalog.of(cards);
+
+        } catch (Exception e) {
+            LOG.warn("No se pudo descargar el catálogo: {}", e.getMessage());
+            return getFallbackCatalog();
+        }
+    }
+
+    /**
+     * Construye un catálogo con todas las cartas Monster predefinidas.
+     * @return Catálogo de cartas predefinidas
+     */
+    public CardCatalog getFallbackCatalog() {
+        java.util.List<Card> cards = new java.util.ArrayList<>(POPULAR_MONSTERS.length);
+        for (String[] monster : POPULAR_MONSTERS) {
+            cards.add(toGuaranteedCard(monster));
+        }
+        return CardCatalog.of(cards);
+    }
+
     /**
      * Verifica la conectividad con la API.
      * @return true si la API está disponible, false en caso contrario
@@ -158,11 +264,15 @@ public class YgoApiClient {
             HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
             return response.statusCode() == 200;
         } catch (Exception e) {
-            System.err.printf("Test de conexión fallido: %s%n", e.getMessage());
+            LOG.warn("Test de conexión fallido: {}", e.getMessage());
             return false;
         }
     }
 
+    private synchronized SplittableRandom splitRandom() {
+        return randomRoot.split();
+    }
+
     /**
      * Obtiene estadísticas de uso de la API.
      */
@@ -180,6 +290,35 @@ public class YgoApiClient {
      * @throws Exception Si hay error de conexión
      */
     private Card tryGetFromAPI() throws Exception {
+        CardFetchEvent event = new CardFetchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        Card card = null;
+        try {
+            response = requestRandomCard();
+            card = cardFromResponse(response);
+            return card;
+        } finally {
+            Metrics.CARD_FETCH.recordNanos(System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.url = RANDOM_CARD_URL;
+                if (response != null) {
+                    event.statusCode = response.statusCode();
+                    event.responseBytes = response.body() != null ? response.body().length() : 0;
+                }
+                event.cardName = card != null ? card.getName() : null;
+                event.success = card != null && card.isValidMonster();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Realiza la petición de carta aleatoria.
+     */
+    private HttpResponse<String> requestRandomCard() throws Exception {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(RANDOM_CARD_URL))
                 .timeout(REQUEST_TIMEOUT)
@@ -189,8 +328,14 @@ public class YgoApiClient {
                 .GET()
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
 
+    /**
+     * @return Carta de la respuesta si es Monster válida, null en caso contrario
+     * @throws Exception Si la respuesta es un error HTTP o no se puede parsear
+     */
+    private Card cardFromResponse(HttpResponse<String> response) throws Exception {
         if (response.statusCode() == 200) {
             String responseBody = response.body();
             if (responseBody != null && !responseBody.trim().isEmpty()) {
@@ -213,7 +358,7 @@ public class YgoApiClient {
      * @param json JSONObject con datos de la carta
      * @return Card si es Monster válida, null en caso contrario
      */
-    private Card parseCardFromJSON(JSONObject json) {
+    Card parseCardFromJSON(JSONObject json) {
         try {
             String type = json.optString("type", "");
             String name = json.optString("name", "");
@@ -227,16 +372,22 @@ public class YgoApiClient {
             int def = parseStat(json, "def");
 
             if (atk < 0 || def < 0) {
-                System.out.printf("Carta con stats inválidos: %s (ATK: %d, DEF: %d)%n", name, atk, def);
+                LOG.debug("Carta con stats inválidos: {} (ATK: {}, DEF: {})", name, atk, def);
                 return null;
             }
 
+            int id = json.optInt("id", 0);
+            int level = json.optInt("level", 0);
+            String attribute = json.optString("attribute", "");
+            String race = json.optString("race", "");
+            String archetype = json.optString("archetype", "");
             String imageUrl = parseImageUrl(json);
 
-            return new Card(name, atk, def, imageUrl, type);
+            return CardRegistry.canonical(id, name, atk, def, imageUrl, type,
+                    level, attribute, race, archetype);
 
         } catch (Exception e) {
-            System.err.printf("Error parseando carta desde JSON: %s%n", e.getMessage());
+            LOG.warn("Error parseando carta desde JSON: {}", e.getMessage());
             return null;
         }
     }
@@ -258,7 +409,7 @@ public class YgoApiClient {
             }
             return 0;
         } catch (Exception e) {
-            System.err.printf("Error parseando %s: %s%n", statName, e.getMessage());
+            LOG.warn("Error parseando {}: {}", statName, e.getMessage());
             return 0;
         }
     }
@@ -282,7 +433,7 @@ public class YgoApiClient {
                 !lowerType.contains("magic");
 
         if (isValidMonster) {
-            System.out.printf("Tipo Monster detectado: %s%n", type);
+            LOG.trace("Tipo Monster detectado: {}", type);
         }
 
         return isValidMonster;
@@ -293,19 +444,32 @@ public class YgoApiClient {
      * @return Card con datos predefinidos
      */
     private Card getGuaranteedMonsterCard() {
-        int index = random.nextInt(POPULAR_MONSTERS.length);
-        String[] monster = POPULAR_MONSTERS[index];
+        int index = random.get().nextInt(POPULAR_MONSTERS.length);
+        Card card = toGuaranteedCard(POPULAR_MONSTERS[index]);
+
+        LOG.at(LogLevel.DEBUG).field("card", card.getName()).log("Carta predefinida (ATK: {}, DEF: {})", card.getAtk(), card.getDef());
+        return card;
+    }
+
+    /**
+     * Convierte una entrada de POPULAR_MONSTERS en su carta canónica.
+     * @param monster Entrada con formato [nombre, id, atk, def, nivel, atributo, raza, arquetipo]
+     * @return Card con datos predefinidos
+     */
+    private Card toGuaranteedCard(String[] monster) {
         String name = monster[0];
         String cardId = monster[1];
+        int id = Integer.parseInt(cardId);
         int atk = Integer.parseInt(monster[2]);
         int def = Integer.parseInt(monster[3]);
+        int level = Integer.parseInt(monster[4]);
 
         // URL de imagen garantizada usando el ID oficial
         String imageUrl = "https://images.ygoprodeck.com/images/cards/" + cardId + ".jpg";
         String type = "Normal Monster";
 
-        System.out.printf("Carta predefinida: %s (ATK: %d, DEF: %d)%n", name, atk, def);
-        return new Card(name, atk, def, imageUrl, type);
+        return CardRegistry.canonical(id, name, atk, def, imageUrl, type,
+                level, monster[5], monster[6], monster[7]);
     }
 
     /**
@@ -313,7 +477,7 @@ public class YgoApiClient {
      * @param json JSONObject con datos de la carta
      * @return URL de la imagen o string vacío si no está disponible
      */
-    private String parseImageUrl(JSONObject json) {
+    String parseImageUrl(JSONObject json) {
         try {
             // Prioridad 1: Array card_images (formato más común)
             if (json.has("card_images")) {
@@ -330,7 +494,7 @@ public class YgoApiClient {
                                 String url = firstImage.optString(field, "");
                                 if (!url.isEmpty()) {
                                     String fixedUrl = fixImageUrl(url);
-                                    System.out.printf("Imagen encontrada en %s: %s%n", field, fixedUrl);
+                                    LOG.trace("Imagen encontrada en {}: {}", field, fixedUrl);
                                     return fixedUrl;
                                 }
                             }
@@ -346,7 +510,7 @@ public class YgoApiClient {
                     String url = json.optString(field, "");
                     if (!url.isEmpty()) {
                         String fixedUrl = fixImageUrl(url);
-                        System.out.printf("Imagen encontrada en campo directo %s: %s%n", field, fixedUrl);
+                        LOG.trace("Imagen encontrada en campo directo {}: {}", field, fixedUrl);
                         return fixedUrl;
                     }
                 }
@@ -357,16 +521,16 @@ public class YgoApiClient {
                 String cardId = json.optString("id", "");
                 if (!cardId.isEmpty()) {
                     String constructedUrl = "https://images.ygoprodeck.com/images/cards/" + cardId + ".jpg";
-                    System.out.printf("Imagen construida desde ID: %s%n", constructedUrl);
+                    LOG.trace("Imagen construida desde ID: {}", constructedUrl);
                     return constructedUrl;
                 }
             }
 
         } catch (Exception e) {
-            System.err.printf("Error parseando imagen: %s%n", e.getMessage());
+            LOG.warn("Error parseando imagen: {}", e.getMessage());
         }
 
-        System.out.println("No se pudo obtener imagen para la carta");
+        LOG.debug("No se pudo obtener imagen para la carta");
         return "";
     }
 
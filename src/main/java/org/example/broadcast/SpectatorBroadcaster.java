@@ -0,0 +1,459 @@
+package org.example.broadcast;
+
+import org.example.listeners.BattleEvent;
+import org.example.listeners.BattleListener;
+import org.example.log.Log;
+import org.example.log.Logger;
+import org.example.metrics.Metrics;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retransmite los eventos de los duelos a espectadores por TCP sin bloquear nunca al duelo.
+ *
+ * Cada evento se codifica una sola vez ({@link SpectatorFrame}) y el mismo buffer se escribe a
+ * todos los espectadores de ese duelo desde un único hilo con un {@link Selector}. Cada
+ * espectador tiene una cola acotada de frames; si se llena (cliente lento o parado), se le
+ * desconecta en lugar de frenar el duelo o acumular memoria. Los duelos sin espectadores no
+ * codifican nada, y la cola de reparto también está acotada: si el hilo del selector no da
+ * abasto, los frames nuevos se descartan.
+ *
+ * Protocolo: el cliente conecta y envía el id del duelo (8 bytes, big-endian); a partir de
+ * ahí recibe los frames de los eventos siguientes. Ver {@link org.example.cli.SpectatorClient}.
+ */
+public class SpectatorBroadcaster implements AutoCloseable {
+    private static final Logger LOG = Log.getLogger(SpectatorBroadcaster.class);
+
+    // Frames pendientes de reparto entre todos los duelos antes de descartar
+    private static final int MAX_OUTBOX_FRAMES = 65_536;
+    // Duelos cerrados que se recuerdan para rechazar a los espectadores que lleguen tarde
+    private static final int MAX_CLOSED_DUELS = 4096;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread thread;
+    private final int maxQueuedFrames;
+
+    // Frames publicados por los duelos y pendientes de reparto (cola sin locks)
+    private final ConcurrentLinkedQueue<Outgoing> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger outboxFrames = new AtomicInteger();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    // Duelos con algún espectador: los escribe el hilo del selector y los leen los duelos
+    private final Set<Long> watchedDuels = ConcurrentHashMap.newKeySet();
+
+    // Espectadores por duelo y duelos ya cerrados: solo los toca el hilo del selector
+    private final Map<Long, List<Spectator>> spectatorsByDuel = new HashMap<>();
+    private final Set<Long> closedDuels = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_CLOSED_DUELS;
+        }
+    });
+    private final ByteBuffer discard = ByteBuffer.allocate(256);
+
+    private final AtomicInteger spectators = new AtomicInteger();
+    private volatile boolean running = true;
+
+    /**
+     * Abre el puerto y arranca el hilo del selector.
+     * @param port            Puerto TCP (0 para uno libre)
+     * @param maxQueuedFrames Frames pendientes por espectador antes de desconectarlo
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public SpectatorBroadcaster(int port, int maxQueuedFrames) throws IOException {
+        this.maxQueuedFrames = Math.max(maxQueuedFrames, 1);
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.thread = new Thread(this::loop, "spectator-broadcast");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @param duelId Duelo del que salen los eventos
+     * @return Listener que retransmite los eventos del duelo; debe llamarlo un solo hilo a la vez
+     */
+    public BattleListener listenerFor(long duelId) {
+        return new DuelChannel(duelId);
+    }
+
+    /**
+     * @param duelId Duelo
+     * @return true si el duelo tiene algún espectador conectado
+     */
+    public boolean isWatched(long duelId) {
+        return watchedDuels.contains(duelId);
+    }
+
+    /**
+     * Encola un frame para todos los espectadores de un duelo. No bloquea; si la cola de
+     * reparto está llena, el frame se descarta.
+     * @param duelId Duelo
+     * @param frame  Frame codificado; no debe modificarse después
+     */
+    public void publish(long duelId, ByteBuffer frame) {
+        if (!running) return;
+        if (outboxFrames.incrementAndGet() > MAX_OUTBOX_FRAMES) {
+            outboxFrames.decrementAndGet();
+            Metrics.SPECTATOR_FRAMES_DROPPED.increment();
+            return;
+        }
+        outbox.offer(new Outgoing(duelId, frame));
+        Metrics.SPECTATOR_FRAMES.increment();
+        wakeup();
+    }
+
+    /**
+     * Desconecta a los espectadores de un duelo (p. ej. al cerrar su sesión). Los que
+     * pidan ese duelo después se desconectan en cuanto envían su id.
+     * @param duelId Duelo
+     */
+    public void closeDuel(long duelId) {
+        if (!running) return;
+        outbox.offer(new Outgoing(duelId, null));
+        wakeup();
+    }
+
+    /**
+     * @return Puerto en el que escucha
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return Espectadores conectados
+     */
+    public int getSpectatorCount() {
+        return spectators.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Despierta al selector una vez por ráfaga de publicaciones, no una por frame.
+     */
+    private void wakeup() {
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    private void loop() {
+        try {
+            while (running) {
+                selector.select();
+                wakeupPending.set(false);
+                deliverOutbox();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Spectator spectator = (Spectator) key.attachment();
+                    if (key.isReadable()) {
+                        read(spectator);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(spectator);
+                    }
+                    if (spectator.closed) {
+                        removeFromDuel(spectator);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                LOG.error("Error en la retransmisión a espectadores: {}", e.getMessage());
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+            spectators.set(0);
+            watchedDuels.clear();
+        }
+    }
+
+    private void deliverOutbox() {
+        Outgoing outgoing;
+        while ((outgoing = outbox.poll()) != null) {
+            if (outgoing.frame == null) {
+                closedDuels.add(outgoing.duelId);
+                watchedDuels.remove(outgoing.duelId);
+                List<Spectator> viewers = spectatorsByDuel.remove(outgoing.duelId);
+                if (viewers != null) {
+                    for (Spectator spectator : viewers) {
+                        disconnect(spectator);
+                    }
+                }
+                continue;
+            }
+
+            outboxFrames.decrementAndGet();
+            List<Spectator> viewers = spectatorsByDuel.get(outgoing.duelId);
+            if (viewers == null) continue;
+
+            boolean dropped = false;
+            for (Spectator spectator : viewers) {
+                if (spectator.queue.size() >= maxQueuedFrames) {
+                    // Espectador demasiado lento: se le desconecta
+                    disconnect(spectator);
+                    Metrics.SPECTATORS_DROPPED.increment();
+                    dropped = true;
+                    continue;
+                }
+                spectator.queue.addLast(outgoing.frame.duplicate());
+                if (spectator.queue.size() == 1) {
+                    flush(spectator);
+                }
+                dropped |= spectator.closed;
+            }
+            if (dropped) {
+                viewers.removeIf(spectator -> spectator.closed);
+                if (viewers.isEmpty()) {
+                    spectatorsByDuel.remove(outgoing.duelId);
+                    watchedDuels.remove(outgoing.duelId);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Spectator spectator = new Spectator(channel);
+            spectator.key = channel.register(selector, SelectionKey.OP_READ, spectator);
+            spectators.incrementAndGet();
+        }
+    }
+
+    private void read(Spectator spectator) {
+        try {
+            ByteBuffer target = spectator.duelId < 0 ? spectator.handshake : discard;
+            discard.clear();
+            if (spectator.channel.read(target) < 0) {
+                disconnect(spectator);
+                return;
+            }
+            if (spectator.duelId < 0 && !spectator.handshake.hasRemaining()) {
+                spectator.duelId = spectator.handshake.flip().getLong();
+                if (closedDuels.contains(spectator.duelId)) {
+                    // El duelo ya terminó: no llegará ningún frame más
+                    disconnect(spectator);
+                    return;
+                }
+                spectatorsByDuel.computeIfAbsent(spectator.duelId, id -> new ArrayList<>()).add(spectator);
+                watchedDuels.add(spectator.duelId);
+            }
+        } catch (IOException e) {
+            disconnect(spectator);
+        }
+    }
+
+    /**
+     * Escribe lo que admita el socket; si no cabe todo, espera a OP_WRITE.
+     */
+    private void flush(Spectator spectator) {
+        try {
+            ByteBuffer head;
+            while ((head = spectator.queue.peekFirst()) != null) {
+                spectator.channel.write(head);
+                if (head.hasRemaining()) {
+                    spectator.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                spectator.queue.pollFirst();
+            }
+            spectator.key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException e) {
+            disconnect(spectator);
+        }
+    }
+
+    private void disconnect(Spectator spectator) {
+        if (spectator.closed) return;
+        spectator.closed = true;
+        spectator.queue.clear();
+        closeQuietly(spectator.key);
+        spectators.decrementAndGet();
+    }
+
+    private void removeFromDuel(Spectator spectator) {
+        List<Spectator> viewers = spectatorsByDuel.get(spectator.duelId);
+        if (viewers != null) {
+            viewers.remove(spectator);
+            if (viewers.isEmpty()) {
+                spectatorsByDuel.remove(spectator.duelId);
+                watchedDuels.remove(spectator.duelId);
+            }
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Conexión de un espectador y sus frames pendientes.
+     */
+    private static final class Spectator {
+        private final SocketChannel channel;
+        private final ByteBuffer handshake = ByteBuffer.allocate(Long.BYTES);
+        private final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+        private SelectionKey key;
+        private long duelId = -1;
+        private boolean closed;
+
+        private Spectator(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Frame pendiente de reparto (frame null = cerrar el duelo).
+     */
+    private static final class Outgoing {
+        private final long duelId;
+        private final ByteBuffer frame;
+
+        private Outgoing(long duelId, ByteBuffer frame) {
+            this.duelId = duelId;
+            this.frame = frame;
+        }
+    }
+
+    /**
+     * Listener de un duelo: si alguien lo está viendo, codifica cada evento una vez y lo publica.
+     */
+    private final class DuelChannel implements BattleListener {
+        private final long duelId;
+
+        private DuelChannel(long duelId) {
+            this.duelId = duelId;
+        }
+
+        private void send(BattleEvent.Type type, String text1, String text2, String text3, String text4,
+                          int number1, int number2, int number3, boolean flag) {
+            if (!running || !watchedDuels.contains(duelId)) return;
+            publish(duelId, SpectatorFrame.encode(type, text1, text2, text3, text4,
+                    number1, number2, number3, flag));
+        }
+
+        @Override
+        public void onTurn(String playerCard, String aiCard, String winner, String battleLog) {
+            send(BattleEvent.Type.TURN, playerCard, aiCard, winner, battleLog, 0, 0, 0, false);
+        }
+
+        @Override
+        public void onScoreChanged(int playerScore, int aiScore) {
+            send(BattleEvent.Type.SCORE_CHANGED, null, null, null, null, playerScore, aiScore, 0, false);
+        }
+
+        @Override
+        public void onDuelEnded(String winner) {
+            send(BattleEvent.Type.DUEL_ENDED, winner, null, null, null, 0, 0, 0, false);
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            send(BattleEvent.Type.ERROR, errorMessage, null, null, null, 0, 0, 0, false);
+        }
+
+        @Override
+        public void onCardsLoaded() {
+            send(BattleEvent.Type.CARDS_LOADED, null, null, null, null, 0, 0, 0, false);
+        }
+
+        @Override
+        public void onDuelStarted(String starter, int roundNumber) {
+            send(BattleEvent.Type.DUEL_STARTED, starter, null, null, null, roundNumber, 0, 0, false);
+        }
+
+        @Override
+        public void onCardSelected(String playerName, String cardName, int cardIndex) {
+            send(BattleEvent.Type.CARD_SELECTED, playerName, cardName, null, null, cardIndex, 0, 0, false);
+        }
+
+        @Override
+        public void onRoundStarted(int roundNumber, int playerScore, int aiScore) {
+            send(BattleEvent.Type.ROUND_STARTED, null, null, null, null, roundNumber, playerScore, aiScore, false);
+        }
+
+        @Override
+        public void onTurnStarted(String playerName, boolean isPlayerTurn) {
+            send(BattleEvent.Type.TURN_STARTED, playerName, null, null, null, 0, 0, 0, isPlayerTurn);
+        }
+
+        @Override
+        public void onCardLoaded(int cardsLoaded, int totalCards, String cardName) {
+            send(BattleEvent.Type.CARD_LOADED, cardName, null, null, null, cardsLoaded, totalCards, 0, false);
+        }
+
+        @Override
+        public void onStatusUpdate(String statusMessage, boolean isError) {
+            send(BattleEvent.Type.STATUS_UPDATE, statusMessage, null, null, null, 0, 0, 0, isError);
+        }
+
+        @Override
+        public void onDuelReset() {
+            send(BattleEvent.Type.DUEL_RESET, null, null, null, null, 0, 0, 0, false);
+        }
+
+        @Override
+        public void onBattleModeSet(String playerName, boolean isAttackMode) {
+            send(BattleEvent.Type.BATTLE_MODE_SET, playerName, null, null, null, 0, 0, 0, isAttackMode);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.broadcast;
+
+import org.example.listeners.BattleEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Formato binario de los eventos que se envían a los espectadores.
+ * <pre>
+ *   u16  longitud del resto del frame
+ *   u8   tipo ({@link BattleEvent.Type#ordinal()})
+ *   u8   campos presentes: bits 0-3 textos 1-4, bits 4-6 números 1-3, bit 7 flag
+ *   ...  cada texto presente: u16 longitud + UTF-8; cada número presente: i32
+ * </pre>
+ * Los textos nulos y los números a cero no ocupan nada.
+ */
+public final class SpectatorFrame {
+    private static final int HEADER_BYTES = 4;
+    private static final int MAX_TEXT_BYTES = 0x3FF0;
+    private static final BattleEvent.Type[] TYPES = BattleEvent.Type.values();
+
+    private SpectatorFrame() {
+    }
+
+    /**
+     * Codifica un evento en un buffer directo de tamaño exacto. El mismo buffer se reparte a
+     * todos los espectadores con {@link ByteBuffer#duplicate()}, sin copiarlo.
+     * @return Frame listo para escribir (posición 0, límite al final)
+     */
+    public static ByteBuffer encode(BattleEvent.Type type, String text1, String text2, String text3,
+                                    String text4, int number1, int number2, int number3, boolean flag) {
+        byte[][] texts = {toBytes(text1), toBytes(text2), toBytes(text3), toBytes(text4)};
+        int[] numbers = {number1, number2, number3};
+
+        int present = flag ? 1 << 7 : 0;
+        int length = HEADER_BYTES;
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i] != null) {
+                present |= 1 << i;
+                length += 2 + texts[i].length;
+            }
+        }
+        for (int i = 0; i < numbers.length; i++) {
+            if (numbers[i] != 0) {
+                present |= 1 << (4 + i);
+                length += 4;
+            }
+        }
+
+        ByteBuffer frame = ByteBuffer.allocateDirect(length);
+        frame.putShort((short) (length - 2));
+        frame.put((byte) type.ordinal());
+        frame.put((byte) present);
+        for (byte[] text : texts) {
+            if (text != null) {
+                frame.putShort((short) text.length);
+                frame.put(text);
+            }
+        }
+        for (int number : numbers) {
+            if (number != 0) {
+                frame.putInt(number);
+            }
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Lee un frame completo (tras la longitud) y lo describe en texto.
+     * @param frame Contenido del frame, sin los dos bytes de longitud
+     * @return Descripción legible, p. ej. {@code SCORE_CHANGED [1, 0]}
+     */
+    public static String describe(ByteBuffer frame) {
+        BattleEvent.Type type = TYPES[frame.get() & 0xFF];
+        int present = frame.get() & 0xFF;
+        StringBuilder text = new StringBuilder(type.name()).append(" [");
+        String separator = "";
+        for (int i = 0; i < 4; i++) {
+            if ((present & (1 << i)) != 0) {
+                byte[] bytes = new byte[frame.getShort() & 0xFFFF];
+                frame.get(bytes);
+                text.append(separator).append(new String(bytes, StandardCharsets.UTF_8).replace('\n', ' '));
+                separator = ", ";
+            }
+        }
+        // Los números ausentes valen 0; se muestran hasta el último presente para no perder su posición
+        int lastNumber = 31 - Integer.numberOfLeadingZeros(present & 0x70);
+        for (int i = 4; i <= lastNumber; i++) {
+            text.append(separator).append((present & (1 << i)) != 0 ? frame.getInt() : 0);
+            separator = ", ";
+        }
+        if ((present & (1 << 7)) != 0) {
+            text.append(separator).append("true");
+        }
+        return text.append(']').toString();
+    }
+
+    private static byte[] toBytes(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        // Cada texto se recorta para que el frame completo quepa en la longitud u16
+        return bytes.length <= MAX_TEXT_BYTES ? bytes : Arrays.copyOf(bytes, MAX_TEXT_BYTES);
+    }
+}
@@ -0,0 +1,307 @@
+package org.example.catalog;
+
+import org.example.duel.Duel;
+import org.example.model.Card;
+import org.example.rating.CardRatings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Genera manos equilibradas para jugador y máquina.
+ * Usa una columna de ATK ordenada sobre el catálogo: para cada carta de la primera mano
+ * se busca por búsqueda binaria una rival con ATK (y DEF) cercanos, y se comprueba que
+ * el poder total y la probabilidad de victoria de ambas manos estén dentro de la tolerancia.
+ * Con valoraciones ({@link #setRatings}) la probabilidad de cada pareja de cartas ya valoradas
+ * sale de su Elo en vez de las reglas de batalla.
+ */
+public class BalancedPoolGenerator {
+    // Cartas por mano
+    public static final int HAND_SIZE = 3;
+
+    // Intentos antes de devolver la mejor pareja encontrada
+    private static final int MAX_ATTEMPTS = 64;
+
+    // Ventana inicial de ATK/DEF para buscar rivales y candidatos revisados por ventana
+    private static final int INITIAL_WINDOW = 200;
+    private static final int CANDIDATES_PER_WINDOW = 8;
+
+    private final CardCatalog catalog;
+    private final double powerTolerance;
+    private final double oddsTolerance;
+    private final RandomGenerator random;
+
+    // Valoraciones de las cartas (null = solo reglas de batalla)
+    private volatile CardRatings ratings;
+
+    // Posiciones de catálogo ordenadas por ATK y sus valores de ATK
+    private final int[] positionsByAtk;
+    private final int[] sortedAtk;
+
+    /**
+     * @param catalog        Catálogo de cartas
+     * @param powerTolerance Diferencia máxima de poder total (ATK+DEF) entre manos, en fracción (ej: 0.1 = 10%)
+     * @param oddsTolerance  Ventaja máxima de victoria de una mano sobre la otra, en fracción (ej: 0.15)
+     * @param random         Generador de números aleatorios
+     */
+    public BalancedPoolGenerator(CardCatalog catalog, double powerTolerance, double oddsTolerance, RandomGenerator random) {
+        if (catalog.size() < HAND_SIZE * 2) {
+            throw new IllegalArgumentException("El catálogo necesita al menos " + (HAND_SIZE * 2) + " cartas");
+        }
+        this.catalog = catalog;
+        this.powerTolerance = powerTolerance;
+        this.oddsTolerance = oddsTolerance;
+        this.random = random;
+
+        int size = catalog.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(catalog.get(a).getAtk(), catalog.get(b).getAtk()));
+        this.positionsByAtk = new int[size];
+        this.sortedAtk = new int[size];
+        for (int i = 0; i < size; i++) {
+            positionsByAtk[i] = order[i];
+            sortedAtk[i] = catalog.get(order[i]).getAtk();
+        }
+    }
+
+    /**
+     * Usa las valoraciones de las cartas para medir la ventaja de cada mano.
+     * @param ratings Valoraciones, o null para usar solo las reglas de batalla
+     */
+    public void setRatings(CardRatings ratings) {
+        this.ratings = ratings;
+    }
+
+    /**
+     * Genera dos manos equilibradas.
+     * Si ninguna pareja cumple la tolerancia tras varios intentos, devuelve la más equilibrada;
+     * si no se encontró rival para ninguna mano (ATK muy dispersos), reparte con
+     * {@link #balanceSplit} 6 cartas al azar.
+     * @return Manos del jugador y de la máquina (nunca null)
+     */
+    public Hands generate() {
+        Hands best = null;
+        double bestScore = Double.MAX_VALUE;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int window = INITIAL_WINDOW * (1 + attempt / 8);
+            List<Card> first = randomCards(HAND_SIZE);
+            List<Card> second = matchHand(first, window);
+            if (second == null) continue;
+
+            Hands hands = random.nextBoolean() ? new Hands(first, second) : new Hands(second, first);
+            if (isFair(hands)) {
+                return hands;
+            }
+
+            double score = powerImbalance(hands.playerCards, hands.aiCards)
+                    + Math.abs(matchupEdge(hands.playerCards, hands.aiCards, ratings));
+            if (score < bestScore) {
+                bestScore = score;
+                best = hands;
+            }
+        }
+        return best != null ? best : balanceSplit(randomCards(HAND_SIZE * 2), ratings);
+    }
+
+    /**
+     * @param hands Manos a evaluar
+     * @return true si las manos están dentro de la tolerancia configurada
+     */
+    public boolean isFair(Hands hands) {
+        return powerImbalance(hands.playerCards, hands.aiCards) <= powerTolerance
+                && Math.abs(matchupEdge(hands.playerCards, hands.aiCards, ratings)) <= oddsTolerance;
+    }
+
+    /**
+     * Reparte un pool de 6 cartas en las dos manos más equilibradas posibles.
+     * Se usa cuando las cartas ya vienen dadas (ej: 6 cartas aleatorias de la API).
+     * @param pool Pool de 6 cartas
+     * @return Manos del jugador y de la máquina
+     */
+    public static Hands balanceSplit(List<Card> pool) {
+        return balanceSplit(pool, null);
+    }
+
+    /**
+     * Reparte un pool de 6 cartas midiendo la ventaja con las valoraciones de las cartas.
+     * @param pool    Pool de 6 cartas
+     * @param ratings Valoraciones, o null para usar solo las reglas de batalla
+     * @return Manos del jugador y de la máquina
+     */
+    public static Hands balanceSplit(List<Card> pool, CardRatings ratings) {
+        if (pool.size() != HAND_SIZE * 2) {
+            throw new IllegalArgumentException("El pool debe tener exactamente " + (HAND_SIZE * 2) + " cartas");
+        }
+
+        Hands best = null;
+        double bestScore = Double.MAX_VALUE;
+
+        // La primera carta fija la mano del jugador: 10 repartos distintos
+        for (int i = 1; i < pool.size(); i++) {
+            for (int j = i + 1; j < pool.size(); j++) {
+                List<Card> player = new ArrayList<>(HAND_SIZE);
+                List<Card> ai = new ArrayList<>(HAND_SIZE);
+                for (int k = 0; k < pool.size(); k++) {
+                    if (k == 0 || k == i || k == j) {
+                        player.add(pool.get(k));
+                    } else {
+                        ai.add(pool.get(k));
+                    }
+                }
+
+                double score = powerImbalance(player, ai) + Math.abs(matchupEdge(player, ai, ratings));
+                if (score < bestScore) {
+                    bestScore = score;
+                    best = new Hands(player, ai);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Diferencia relativa de poder total (ATK+DEF) entre dos manos.
+     * @return 0 si son iguales, hasta 1 si una mano no tiene poder
+     */
+    public static double powerImbalance(List<Card> first, List<Card> second) {
+        int a = totalPower(first);
+        int b = totalPower(second);
+        int max = Math.max(a, b);
+        return max == 0 ? 0 : (double) Math.abs(a - b) / max;
+    }
+
+    /**
+     * Ventaja esperada de la primera mano sobre la segunda.
+     * Promedia todas las parejas de cartas y combinaciones de modo con las reglas de {@link Duel}.
+     * @return Valor entre -1 (gana siempre la segunda) y 1 (gana siempre la primera)
+     */
+    public static double matchupEdge(List<Card> first, List<Card> second) {
+        return matchupEdge(first, second, null);
+    }
+
+    /**
+     * Ventaja esperada de la primera mano sobre la segunda.
+     * Las parejas de cartas con valoración fiable usan su puntuación esperada según el Elo
+     * (2 * esperanza - 1); el resto, las cuatro combinaciones de modo de {@link Duel}.
+     * @param ratings Valoraciones, o null para usar solo las reglas de batalla
+     * @return Valor entre -1 (gana siempre la segunda) y 1 (gana siempre la primera)
+     */
+    public static double matchupEdge(List<Card> first, List<Card> second, CardRatings ratings) {
+        double balance = 0;
+        int pairs = 0;
+        for (Card a : first) {
+            for (Card b : second) {
+                if (ratings != null && ratings.isRated(a) && ratings.isRated(b)) {
+                    balance += 2 * ratings.expectedScore(a, b) - 1;
+                } else {
+                    balance += (Duel.battleOutcome(a, true, b, true)
+                            + Duel.battleOutcome(a, true, b, false)
+                            + Duel.battleOutcome(a, false, b, true)
+                            + Duel.battleOutcome(a, false, b, false)) / 4.0;
+                }
+                pairs++;
+            }
+        }
+        return pairs == 0 ? 0 : balance / pairs;
+    }
+
+    private static int totalPower(List<Card> hand) {
+        int total = 0;
+        for (Card card : hand) {
+            total += card.getTotalPower();
+        }
+        return total;
+    }
+
+    private List<Card> randomCards(int count) {
+        List<Card> hand = new ArrayList<>(count);
+        while (hand.size() < count) {
+            Card card = catalog.get(random.nextInt(catalog.size()));
+            if (!hand.contains(card)) {
+                hand.add(card);
+            }
+        }
+        return hand;
+    }
+
+    /**
+     * Busca una rival para cada carta de la mano dentro de la ventana de ATK/DEF.
+     * @return Mano rival o null si alguna carta no tiene rival disponible
+     */
+    private List<Card> matchHand(List<Card> hand, int window) {
+        List<Card> rivals = new ArrayList<>(HAND_SIZE);
+        for (Card card : hand) {
+            Card rival = findRival(card, window, hand, rivals);
+            if (rival == null) return null;
+            rivals.add(rival);
+        }
+        return rivals;
+    }
+
+    private Card findRival(Card card, int window, List<Card> taken, List<Card> rivals) {
+        int from = lowerBound(card.getAtk() - window);
+        int to = lowerBound(card.getAtk() + window + 1);
+        if (to <= from) return null;
+
+        Card fallback = null;
+        for (int i = 0; i < CANDIDATES_PER_WINDOW; i++) {
+            Card candidate = catalog.get(positionsByAtk[from + random.nextInt(to - from)]);
+            if (taken.contains(candidate) || rivals.contains(candidate)) continue;
+            if (Math.abs(candidate.getDef() - card.getDef()) <= window) {
+                return candidate;
+            }
+            if (fallback == null) {
+                fallback = candidate;
+            }
+        }
+        return fallback;
+    }
+
+    private int lowerBound(int atk) {
+        int low = 0;
+        int high = sortedAtk.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAtk[mid] < atk) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Pareja de manos generada.
+     */
+    public static final class Hands {
+        private final List<Card> playerCards;
+        private final List<Card> aiCards;
+
+        public Hands(List<Card> playerCards, List<Card> aiCards) {
+            this.playerCards = Collections.unmodifiableList(new ArrayList<>(playerCards));
+            this.aiCards = Collections.unmodifiableList(new ArrayList<>(aiCards));
+        }
+
+        /**
+         * @return Cartas del jugador
+         */
+        public List<Card> getPlayerCards() {
+            return playerCards;
+        }
+
+        /**
+         * @return Cartas de la máquina
+         */
+        public List<Card> getAiCards() {
+            return aiCards;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.catalog;
+
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Catálogo inmutable de cartas Monster.
+ * Cada carta ocupa una posición fija (0..size-1) que usan los índices de búsqueda.
+ * El catálogo y sus índices se pueden guardar en disco para no reconstruirlos al arrancar.
+ */
+public final class CardCatalog {
+    // Cabecera y versión del formato de snapshot
+    private static final int SNAPSHOT_MAGIC = 0x59474F43; // "YGOC"
+    private static final int SNAPSHOT_VERSION = 2;
+
+    // Cartas en orden de catálogo
+    private final Card[] cards;
+
+    // Posición de cada carta por passcode
+    private final Map<Integer, Integer> positions;
+
+    // Índice de nombres (se construye bajo demanda si no se cargó del snapshot)
+    private volatile CardNameIndex nameIndex;
+
+    // Índice de filtros por nivel/atributo/raza/arquetipo (se construye bajo demanda)
+    private volatile CardFilterIndex filterIndex;
+
+    // Tablas alias por esquema de ponderación (ej: "power", "popularidad")
+    private final Map<String, WeightedCardSampler> samplers = new ConcurrentHashMap<>();
+
+    private CardCatalog(Card[] cards) {
+        this.cards = cards;
+        this.positions = new HashMap<>(cards.length * 2);
+        for (int i = 0; i < cards.length; i++) {
+            positions.putIfAbsent(cards[i].getId(), i);
+        }
+    }
+
+    /**
+     * Crea un catálogo a partir de una colección de cartas, descartando duplicados.
+     * @param cards Cartas Monster
+     * @return Catálogo inmutable
+     */
+    public static CardCatalog of(Collection<Card> cards) {
+        List<Card> unique = new ArrayList<>(cards.size());
+        Set<Card> seen = new HashSet<>();
+        for (Card card : cards) {
+            if (card != null && seen.add(card)) {
+                unique.add(card);
+            }
+        }
+        return new CardCatalog(unique.toArray(new Card[0]));
+    }
+
+    /**
+     * @return Número de cartas del catálogo
+     */
+    public int size() {
+        return cards.length;
+    }
+
+    /**
+     * @param position Posición en el catálogo (0..size-1)
+     * @return Carta en esa posición
+     */
+    public Card get(int position) {
+        return cards[position];
+    }
+
+    /**
+     * @param card Carta a buscar
+     * @return Posición de la carta o -1 si no pertenece al catálogo
+     */
+    public int positionOf(Card card) {
+        Integer position = card != null ? positions.get(card.getId()) : null;
+        return position != null ? position : -1;
+    }
+
+    /**
+     * @return Vista inmutable de todas las cartas
+     */
+    public List<Card> getCards() {
+        return Collections.unmodifiableList(Arrays.asList(cards));
+    }
+
+    /**
+     * Obtiene el índice de búsqueda por nombre, construyéndolo la primera vez.
+     * @return Índice de nombres del catálogo
+     */
+    public CardNameIndex getNameIndex() {
+        CardNameIndex index = nameIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = nameIndex;
+                if (index == null) {
+                    index = CardNameIndex.build(this);
+                    nameIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Obtiene el índice de filtros por bitsets, construyéndolo la primera vez.
+     * @return Índice de filtros del catálogo
+     */
+    public CardFilterIndex getFilterIndex() {
+        CardFilterIndex index = filterIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = filterIndex;
+                if (index == null) {
+                    index = CardFilterIndex.build(this);
+                    filterIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Crea una consulta de filtros sobre todo el catálogo.
+     * @return Consulta vacía (selecciona todas las cartas)
+     */
+    public CardQuery query() {
+        return new CardQuery(getFilterIndex());
+    }
+
+    /**
+     * Obtiene el sampler ponderado de un esquema, construyéndolo la primera vez.
+     * Las siguientes llamadas con el mismo nombre devuelven el mismo sampler;
+     * para cambiar pesos usar {@link WeightedCardSampler#setWeight} o {@link WeightedCardSampler#setWeights}.
+     * @param scheme Nombre del esquema de ponderación
+     * @param weight Peso de cada carta (solo se usa al construir el sampler)
+     * @return Sampler del esquema
+     */
+    public WeightedCardSampler getSampler(String scheme, ToDoubleFunction<Card> weight) {
+        return samplers.computeIfAbsent(scheme, key -> new WeightedCardSampler(this, weight));
+    }
+
+    /**
+     * Guarda el catálogo y sus índices en un archivo binario.
+     * @param file Ruta del snapshot
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(cards.length);
+            for (Card card : cards) {
+                out.writeInt(card.getId());
+                out.writeUTF(card.getName());
+                out.writeInt(card.getAtk());
+                out.writeInt(card.getDef());
+                out.writeUTF(card.getImageUrl());
+                out.writeUTF(card.getType());
+                out.writeInt(card.getLevel());
+                out.writeUTF(card.getAttribute());
+                out.writeUTF(card.getRace());
+                out.writeUTF(card.getArchetype());
+            }
+            getNameIndex().write(out);
+        }
+    }
+
+    /**
+     * Carga un catálogo guardado con {@link #save(Path)}, incluyendo sus índices.
+     * @param file Ruta del snapshot
+     * @return Catálogo cargado
+     * @throws IOException Si el archivo no existe o no tiene un formato válido
+     */
+    public static CardCatalog load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Archivo de catálogo inválido: " + file);
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Versión de catálogo no soportada: " + version);
+            }
+
+            int count = in.readInt();
+            Card[] cards = new Card[count];
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String name = in.readUTF();
+                int atk = in.readInt();
+                int def = in.readInt();
+                String imageUrl = in.readUTF();
+                String type = in.readUTF();
+                int level = in.readInt();
+                String attribute = in.readUTF();
+                String race = in.readUTF();
+                String archetype = in.readUTF();
+                cards[i] = CardRegistry.canonical(id, name, atk, def, imageUrl, type,
+                        level, attribute, race, archetype);
+            }
+
+            CardCatalog catalog = new CardCatalog(cards);
+            catalog.nameIndex = CardNameIndex.read(in, catalog);
+            return catalog;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.catalog;
+
+import org.example.model.Card;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de filtros del catálogo basado en bitsets.
+ * Cada valor de nivel, atributo, raza y arquetipo tiene precalculado el conjunto de
+ * posiciones de catálogo que lo cumplen, de modo que un filtro se resuelve con AND/OR
+ * de bitsets en lugar de recorrer las cartas.
+ */
+public final class CardFilterIndex {
+    // Nivel máximo de una carta (rango Xyz 13)
+    public static final int MAX_LEVEL = 13;
+
+    // Bitset vacío compartido para valores inexistentes
+    private static final BitSet EMPTY = new BitSet(0);
+
+    private final CardCatalog catalog;
+
+    // Bitset por nivel (índice 0 = sin nivel)
+    private final BitSet[] byLevel;
+
+    // Bitsets por valor normalizado
+    private final Map<String, BitSet> byAttribute;
+    private final Map<String, BitSet> byRace;
+    private final Map<String, BitSet> byArchetype;
+
+    // Todas las cartas del catálogo
+    private final BitSet all;
+
+    private CardFilterIndex(CardCatalog catalog, BitSet[] byLevel, Map<String, BitSet> byAttribute,
+                            Map<String, BitSet> byRace, Map<String, BitSet> byArchetype, BitSet all) {
+        this.catalog = catalog;
+        this.byLevel = byLevel;
+        this.byAttribute = byAttribute;
+        this.byRace = byRace;
+        this.byArchetype = byArchetype;
+        this.all = all;
+    }
+
+    /**
+     * Construye el índice recorriendo el catálogo una sola vez.
+     * @param catalog Catálogo a indexar
+     * @return Índice de filtros
+     */
+    public static CardFilterIndex build(CardCatalog catalog) {
+        int size = catalog.size();
+        BitSet[] byLevel = new BitSet[MAX_LEVEL + 1];
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            byLevel[level] = new BitSet(size);
+        }
+        Map<String, BitSet> byAttribute = new HashMap<>();
+        Map<String, BitSet> byRace = new HashMap<>();
+        Map<String, BitSet> byArchetype = new HashMap<>();
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+
+        for (int i = 0; i < size; i++) {
+            Card card = catalog.get(i);
+            byLevel[Math.min(card.getLevel(), MAX_LEVEL)].set(i);
+            mark(byAttribute, card.getAttribute(), i, size);
+            mark(byRace, card.getRace(), i, size);
+            mark(byArchetype, card.getArchetype(), i, size);
+        }
+
+        return new CardFilterIndex(catalog, byLevel, byAttribute, byRace, byArchetype, all);
+    }
+
+    /**
+     * Normaliza un valor de filtro para que la búsqueda no distinga mayúsculas.
+     * @param value Valor original (ej: "Dark", "spellcaster")
+     * @return Valor normalizado
+     */
+    static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return Catálogo indexado
+     */
+    public CardCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * @return Bitset con todas las cartas del catálogo (no modificar)
+     */
+    BitSet all() {
+        return all;
+    }
+
+    /**
+     * @param level Nivel (0 = sin nivel)
+     * @return Bitset de cartas con ese nivel (no modificar)
+     */
+    BitSet level(int level) {
+        if (level < 0 || level > MAX_LEVEL) return EMPTY;
+        return byLevel[level];
+    }
+
+    /**
+     * @param attribute Atributo (ej: "DARK")
+     * @return Bitset de cartas con ese atributo (no modificar)
+     */
+    BitSet attribute(String attribute) {
+        return byAttribute.getOrDefault(key(attribute), EMPTY);
+    }
+
+    /**
+     * @param race Raza (ej: "Spellcaster")
+     * @return Bitset de cartas con esa raza (no modificar)
+     */
+    BitSet race(String race) {
+        return byRace.getOrDefault(key(race), EMPTY);
+    }
+
+    /**
+     * @param archetype Arquetipo (ej: "Blue-Eyes")
+     * @return Bitset de cartas de ese arquetipo (no modificar)
+     */
+    BitSet archetype(String archetype) {
+        return byArchetype.getOrDefault(key(archetype), EMPTY);
+    }
+
+    /**
+     * @return Atributos presentes en el catálogo (normalizados)
+     */
+    public Set<String> getAttributes() {
+        return Collections.unmodifiableSet(byAttribute.keySet());
+    }
+
+    /**
+     * @return Razas presentes en el catálogo (normalizadas)
+     */
+    public Set<String> getRaces() {
+        return Collections.unmodifiableSet(byRace.keySet());
+    }
+
+    /**
+     * @return Arquetipos presentes en el catálogo (normalizados)
+     */
+    public Set<String> getArchetypes() {
+        return Collections.unmodifiableSet(byArchetype.keySet());
+    }
+
+    private static void mark(Map<String, BitSet> index, String value, int position, int size) {
+        String key = key(value);
+        if (key.isEmpty()) return;
+        index.computeIfAbsent(key, k -> new BitSet(size)).set(position);
+    }
+}
@@ -0,0 +1,355 @@
+package org.example.catalog;
+
+import org.example.model.Card;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de búsqueda por nombre sobre un {@link CardCatalog}.
+ * Combina un arreglo ordenado de nombres normalizados (búsqueda por prefijo mediante
+ * búsqueda binaria) con listas de trigramas (búsqueda por subcadena y aproximada).
+ * Los nombres se normalizan sin mayúsculas ni acentos: "Dragón" encuentra "dragon".
+ */
+public final class CardNameIndex {
+    // Marcas diacríticas que se eliminan al normalizar
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // Coincidencia mínima de trigramas para considerar un candidato aproximado
+    private static final double FUZZY_MIN_OVERLAP = 0.4;
+
+    private final CardCatalog catalog;
+
+    // Nombre normalizado de cada carta, por posición de catálogo
+    private final String[] foldedNames;
+
+    // Posiciones de catálogo ordenadas por nombre normalizado
+    private final int[] sortedPositions;
+
+    // Trigramas ordenados y sus listas de posiciones (ordenadas ascendentemente)
+    private final long[] trigramKeys;
+    private final int[][] trigramPostings;
+
+    private CardNameIndex(CardCatalog catalog, String[] foldedNames, int[] sortedPositions,
+                          long[] trigramKeys, int[][] trigramPostings) {
+        this.catalog = catalog;
+        this.foldedNames = foldedNames;
+        this.sortedPositions = sortedPositions;
+        this.trigramKeys = trigramKeys;
+        this.trigramPostings = trigramPostings;
+    }
+
+    /**
+     * Construye el índice para todas las cartas del catálogo.
+     * @param catalog Catálogo a indexar
+     * @return Índice de nombres
+     */
+    public static CardNameIndex build(CardCatalog catalog) {
+        int size = catalog.size();
+        String[] folded = new String[size];
+        for (int i = 0; i < size; i++) {
+            folded[i] = fold(catalog.get(i).getName());
+        }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> folded[i]));
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = order[i];
+        }
+
+        Map<Long, IntList> postings = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String padded = pad(folded[i]);
+            for (int j = 0; j + 3 <= padded.length(); j++) {
+                IntList list = postings.computeIfAbsent(trigram(padded, j), k -> new IntList());
+                list.addIfLast(i);
+            }
+        }
+
+        long[] keys = new long[postings.size()];
+        int k = 0;
+        for (Long key : postings.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+        int[][] lists = new int[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            lists[i] = postings.get(keys[i]).toArray();
+        }
+
+        return new CardNameIndex(catalog, folded, sorted, keys, lists);
+    }
+
+    /**
+     * Normaliza un texto para búsqueda: sin acentos, en minúsculas y con espacios simples.
+     * @param text Texto original
+     * @return Texto normalizado
+     */
+    public static String fold(String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Busca cartas cuyo nombre empiece por el prefijo indicado.
+     * @param prefix Prefijo a buscar
+     * @param limit  Número máximo de resultados
+     * @return Cartas en orden alfabético
+     */
+    public List<Card> findByPrefix(String prefix, int limit) {
+        String query = fold(prefix);
+        List<Card> result = new ArrayList<>();
+        if (query.isEmpty()) return result;
+
+        int low = 0;
+        int high = sortedPositions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (foldedNames[sortedPositions[mid]].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i = low; i < sortedPositions.length && result.size() < limit; i++) {
+            int position = sortedPositions[i];
+            if (!foldedNames[position].startsWith(query)) break;
+            result.add(catalog.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Busca cartas cuyo nombre contenga el texto indicado.
+     * @param text  Texto a buscar
+     * @param limit Número máximo de resultados
+     * @return Cartas en orden de catálogo
+     */
+    public List<Card> findBySubstring(String text, int limit) {
+        String query = fold(text);
+        List<Card> result = new ArrayList<>();
+        if (query.isEmpty()) return result;
+
+        // Consultas cortas: no hay trigramas suficientes, se recorre el catálogo
+        if (query.length() < 3) {
+            for (int i = 0; i < foldedNames.length && result.size() < limit; i++) {
+                if (foldedNames[i].contains(query)) {
+                    result.add(catalog.get(i));
+                }
+            }
+            return result;
+        }
+
+        int[] candidates = null;
+        for (int j = 0; j + 3 <= query.length(); j++) {
+            int[] postings = postingsFor(trigram(query, j));
+            if (postings.length == 0) return result;
+            candidates = candidates == null ? postings : intersect(candidates, postings);
+            if (candidates.length == 0) return result;
+        }
+
+        for (int position : candidates) {
+            if (result.size() >= limit) break;
+            if (foldedNames[position].contains(query)) {
+                result.add(catalog.get(position));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Busca cartas con nombre parecido al texto indicado (tolerante a errores de escritura).
+     * Los candidatos se obtienen por trigramas compartidos y se ordenan por distancia de edición.
+     * @param text  Texto a buscar
+     * @param limit Número máximo de resultados
+     * @return Cartas ordenadas de más a menos parecida
+     */
+    public List<Card> findFuzzy(String text, int limit) {
+        String query = fold(text);
+        if (query.isEmpty()) return new ArrayList<>();
+
+        String padded = pad(query);
+        int queryTrigrams = padded.length() - 2;
+        int[] shared = new int[foldedNames.length];
+        IntList touched = new IntList();
+
+        for (int j = 0; j + 3 <= padded.length(); j++) {
+            for (int position : postingsFor(trigram(padded, j))) {
+                if (shared[position]++ == 0) {
+                    touched.add(position);
+                }
+            }
+        }
+
+        int minShared = Math.max(1, (int) Math.ceil(queryTrigrams * FUZZY_MIN_OVERLAP));
+        List<int[]> scored = new ArrayList<>();
+        for (int i = 0; i < touched.size(); i++) {
+            int position = touched.get(i);
+            if (shared[position] >= minShared) {
+                scored.add(new int[]{position, editDistance(query, foldedNames[position])});
+            }
+        }
+
+        scored.sort((a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[0], b[0]));
+        List<Card> result = new ArrayList<>();
+        for (int i = 0; i < scored.size() && result.size() < limit; i++) {
+            result.add(catalog.get(scored.get(i)[0]));
+        }
+        return result;
+    }
+
+    /**
+     * Escribe el índice en un flujo binario (parte del snapshot del catálogo).
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(foldedNames.length);
+        for (String name : foldedNames) {
+            out.writeUTF(name);
+        }
+        for (int position : sortedPositions) {
+            out.writeInt(position);
+        }
+        out.writeInt(trigramKeys.length);
+        for (int i = 0; i < trigramKeys.length; i++) {
+            out.writeLong(trigramKeys[i]);
+            int[] postings = trigramPostings[i];
+            out.writeInt(postings.length);
+            for (int position : postings) {
+                out.writeInt(position);
+            }
+        }
+    }
+
+    /**
+     * Lee un índice escrito con {@link #write(DataOutput)}.
+     */
+    static CardNameIndex read(DataInput in, CardCatalog catalog) throws IOException {
+        int size = in.readInt();
+        if (size != catalog.size()) {
+            throw new IOException("El índice de nombres no corresponde al catálogo");
+        }
+        String[] folded = new String[size];
+        for (int i = 0; i < size; i++) {
+            folded[i] = in.readUTF();
+        }
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = in.readInt();
+        }
+        int keyCount = in.readInt();
+        long[] keys = new long[keyCount];
+        int[][] lists = new int[keyCount][];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = in.readLong();
+            int[] postings = new int[in.readInt()];
+            for (int j = 0; j < postings.length; j++) {
+                postings[j] = in.readInt();
+            }
+            lists[i] = postings;
+        }
+        return new CardNameIndex(catalog, folded, sorted, keys, lists);
+    }
+
+    private int[] postingsFor(long key) {
+        int slot = Arrays.binarySearch(trigramKeys, key);
+        return slot >= 0 ? trigramPostings[slot] : new int[0];
+    }
+
+    private static String pad(String folded) {
+        return " " + folded + " ";
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32)
+                | ((long) text.charAt(start + 1) << 16)
+                | text.charAt(start + 2);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Lista de enteros primitivos para construir las listas de trigramas sin boxing.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addIfLast(int value) {
+            if (size == 0 || values[size - 1] != value) {
+                add(value);
+            }
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.catalog;
+
+import org.example.model.Card;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Consulta de filtros sobre el catálogo.
+ * Cada criterio se combina con AND; los valores de un mismo criterio se combinan con OR.
+ * Ejemplo: nivel 4 o menor, DARK, Spellcaster:
+ * <pre>
+ * catalog.query().levelBetween(1, 4).attribute("DARK").race("Spellcaster").execute();
+ * </pre>
+ */
+public final class CardQuery {
+    private final CardFilterIndex index;
+
+    // Resultado acumulado (copia propia, se modifica en cada criterio)
+    private final BitSet result;
+
+    CardQuery(CardFilterIndex index) {
+        this.index = index;
+        this.result = (BitSet) index.all().clone();
+    }
+
+    /**
+     * Filtra por rango de nivel (inclusive).
+     * @param minLevel Nivel mínimo
+     * @param maxLevel Nivel máximo
+     * @return Esta consulta
+     */
+    public CardQuery levelBetween(int minLevel, int maxLevel) {
+        BitSet levels = new BitSet(index.getCatalog().size());
+        for (int level = Math.max(minLevel, 0); level <= Math.min(maxLevel, CardFilterIndex.MAX_LEVEL); level++) {
+            levels.or(index.level(level));
+        }
+        result.and(levels);
+        return this;
+    }
+
+    /**
+     * Filtra por uno o varios atributos.
+     * @param attributes Atributos aceptados (ej: "DARK", "LIGHT")
+     * @return Esta consulta
+     */
+    public CardQuery attribute(String... attributes) {
+        BitSet any = new BitSet(index.getCatalog().size());
+        for (String attribute : attributes) {
+            any.or(index.attribute(attribute));
+        }
+        result.and(any);
+        return this;
+    }
+
+    /**
+     * Filtra por una o varias razas.
+     * @param races Razas aceptadas (ej: "Spellcaster", "Dragon")
+     * @return Esta consulta
+     */
+    public CardQuery race(String... races) {
+        BitSet any = new BitSet(index.getCatalog().size());
+        for (String race : races) {
+            any.or(index.race(race));
+        }
+        result.and(any);
+        return this;
+    }
+
+    /**
+     * Filtra por uno o varios arquetipos.
+     * @param archetypes Arquetipos aceptados (ej: "Blue-Eyes")
+     * @return Esta consulta
+     */
+    public CardQuery archetype(String... archetypes) {
+        BitSet any = new BitSet(index.getCatalog().size());
+        for (String archetype : archetypes) {
+            any.or(index.archetype(archetype));
+        }
+        result.and(any);
+        return this;
+    }
+
+    /**
+     * Combina con OR el resultado de otra consulta sobre el mismo catálogo.
+     * @param other Otra consulta
+     * @return Esta consulta
+     */
+    public CardQuery or(CardQuery other) {
+        result.or(other.result);
+        return this;
+    }
+
+    /**
+     * Excluye las cartas seleccionadas por otra consulta.
+     * @param other Otra consulta
+     * @return Esta consulta
+     */
+    public CardQuery andNot(CardQuery other) {
+        result.andNot(other.result);
+        return this;
+    }
+
+    /**
+     * Ejecuta la consulta.
+     * @return Selección inmutable de cartas
+     */
+    public Selection execute() {
+        return new Selection(index.getCatalog(), result.stream().toArray());
+    }
+
+    /**
+     * Resultado de una consulta: posiciones de catálogo con acceso aleatorio en O(1).
+     */
+    public static final class Selection {
+        private final CardCatalog catalog;
+        private final int[] positions;
+
+        private Selection(CardCatalog catalog, int[] positions) {
+            this.catalog = catalog;
+            this.positions = positions;
+        }
+
+        /**
+         * @return Número de cartas seleccionadas
+         */
+        public int size() {
+            return positions.length;
+        }
+
+        /**
+         * @return true si la consulta no seleccionó ninguna carta
+         */
+        public boolean isEmpty() {
+            return positions.length == 0;
+        }
+
+        /**
+         * @return Cartas seleccionadas en orden de catálogo
+         */
+        public List<Card> getCards() {
+            List<Card> cards = new ArrayList<>(positions.length);
+            for (int position : positions) {
+                cards.add(catalog.get(position));
+            }
+            return cards;
+        }
+
+        /**
+         * Extrae una carta aleatoria de la selección.
+         * @param random Generador de números aleatorios
+         * @return Carta aleatoria o null si la selección está vacía
+         */
+        public Card randomCard(RandomGenerator random) {
+            if (positions.length == 0) return null;
+            return catalog.get(positions[random.nextInt(positions.length)]);
+        }
+
+        /**
+         * Extrae varias cartas aleatorias distintas de la selección.
+         * @param count  Número de cartas
+         * @param random Generador de números aleatorios
+         * @return Cartas aleatorias (menos de count si la selección es más pequeña)
+         */
+        public List<Card> randomCards(int count, RandomGenerator random) {
+            int n = Math.min(count, positions.length);
+            int[] pool = positions.clone();
+            List<Card> cards = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int j = i + random.nextInt(pool.length - i);
+                int swap = pool[i];
+                pool[i] = pool[j];
+                pool[j] = swap;
+                cards.add(catalog.get(pool[i]));
+            }
+            return cards;
+        }
+    }
+}
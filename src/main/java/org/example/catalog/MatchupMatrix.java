@@ -0,0 +1,253 @@
+package org.example.catalog;
+
+import org.example.duel.Duel;
+import org.example.model.Card;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tabla precalculada de quién gana a quién entre todas las cartas de un catálogo, en los cuatro
+ * modos (ATK/ATK, ATK/DEF, DEF/ATK y DEF/DEF), con las reglas de {@link Duel#battleOutcome}.
+ *
+ * Cada par (fila, columna) ocupa un byte: 2 bits por modo con 0 = empate, 1 = gana la fila y
+ * 2 = gana la columna. La tabla se escribe directamente en un archivo mapeado en memoria, por
+ * bloques de filas en paralelo, y las consultas leen el byte del par sin copiar nada.
+ * <pre>
+ *   i32 MAGIC "YGOM", i32 versión, i32 n, i32[n] ids en orden de catálogo
+ *   relleno hasta múltiplo de 64
+ *   u8[n * n] tabla por filas
+ * </pre>
+ */
+public final class MatchupMatrix {
+    // Cabecera del archivo
+    private static final int MAGIC = 0x59474F4D; // "YGOM"
+    private static final int VERSION = 1;
+
+    // Filas por bloque de trabajo
+    private static final int ROW_BLOCK = 64;
+
+    // Índice de modo: (fila en defensa ? 2 : 0) + (columna en defensa ? 1 : 0)
+    public static final int ATK_ATK = 0;
+    public static final int ATK_DEF = 1;
+    public static final int DEF_ATK = 2;
+    public static final int DEF_DEF = 3;
+
+    private final int size;
+    private final int[] ids;
+    private final Map<Integer, Integer> positions;
+    private final ByteBuffer table;
+
+    private MatchupMatrix(int[] ids, ByteBuffer table) {
+        this.size = ids.length;
+        this.ids = ids;
+        this.table = table;
+        this.positions = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            positions.putIfAbsent(ids[i], i);
+        }
+    }
+
+    /**
+     * Calcula la tabla de un catálogo y la guarda en un archivo.
+     * @param catalog Cartas (la posición en el catálogo es la fila y la columna)
+     * @param file    Archivo destino (se sobrescribe)
+     * @param threads Hilos de cálculo
+     * @return Tabla mapeada sobre el archivo
+     * @throws IOException Si no se puede escribir el archivo
+     */
+    public static MatchupMatrix compute(CardCatalog catalog, Path file, int threads) throws IOException {
+        int n = catalog.size();
+        int[] ids = new int[n];
+        int[] atk = new int[n];
+        int[] def = new int[n];
+        for (int i = 0; i < n; i++) {
+            Card card = catalog.get(i);
+            ids[i] = card.getId();
+            atk[i] = card.getAtk();
+            def[i] = card.getDef();
+        }
+
+        long headerBytes = headerBytes(n);
+        long totalBytes = headerBytes + (long) n * n;
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Catálogo demasiado grande para una sola tabla: " + n + " cartas");
+        }
+
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, totalBytes);
+        }
+        mapped.putInt(MAGIC).putInt(VERSION).putInt(n);
+        for (int id : ids) {
+            mapped.putInt(id);
+        }
+        ByteBuffer table = mapped.slice((int) headerBytes, n * n);
+
+        // Bloques de filas repartidos entre los hilos; cada fila se calcula en un array y se
+        // copia de una vez a su sitio en el mapa
+        AtomicInteger nextBlock = new AtomicInteger();
+        int blocks = (n + ROW_BLOCK - 1) / ROW_BLOCK;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1), r -> {
+            Thread thread = new Thread(r, "matchup-matrix");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < Math.max(threads, 1); t++) {
+                tasks.add(executor.submit(() -> {
+                    byte[] row = new byte[n];
+                    int block;
+                    while ((block = nextBlock.getAndIncrement()) < blocks) {
+                        int end = Math.min(n, (block + 1) * ROW_BLOCK);
+                        for (int i = block * ROW_BLOCK; i < end; i++) {
+                            fillRow(row, atk[i], def[i], atk, def);
+                            table.put(i * n, row);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Cálculo de la tabla interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error al calcular la tabla: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        mapped.force();
+        return new MatchupMatrix(ids, table);
+    }
+
+    /**
+     * Abre una tabla calculada con {@link #compute}, mapeándola en solo lectura.
+     * @param file Archivo de la tabla
+     * @return Tabla lista para consultas
+     * @throws IOException Si el archivo no es una tabla válida
+     */
+    public static MatchupMatrix open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tabla demasiado grande: " + file);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.remaining() < 12 || mapped.getInt() != MAGIC) {
+            throw new IOException("No es una tabla de enfrentamientos: " + file);
+        }
+        int version = mapped.getInt();
+        if (version != VERSION) {
+            throw new IOException("Versión de tabla no soportada: " + version);
+        }
+        int n = mapped.getInt();
+        long headerBytes = headerBytes(n);
+        if (n < 0 || mapped.capacity() != headerBytes + (long) n * n) {
+            throw new IOException("Tabla de enfrentamientos dañada: " + file);
+        }
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = mapped.getInt();
+        }
+        return new MatchupMatrix(ids, mapped.slice((int) headerBytes, n * n));
+    }
+
+    /**
+     * Resultado de una batalla entre dos cartas de la tabla.
+     * @param row        Posición de la carta de la fila ("jugador")
+     * @param column     Posición de la carta de la columna ("máquina")
+     * @param rowAttack  true si la fila ataca
+     * @param colAttack  true si la columna ataca
+     * @return 1 si gana la fila, -1 si gana la columna, 0 si es empate (como {@link Duel#battleOutcome})
+     */
+    public int outcome(int row, int column, boolean rowAttack, boolean colAttack) {
+        int mode = (rowAttack ? 0 : 2) + (colAttack ? 0 : 1);
+        int code = (table.get(row * size + column) >>> (mode * 2)) & 3;
+        return code == 2 ? -1 : code;
+    }
+
+    /**
+     * @return Los cuatro resultados del par empaquetados (2 bits por modo, {@link #ATK_ATK} en los bits bajos)
+     */
+    public int packed(int row, int column) {
+        return table.get(row * size + column) & 0xFF;
+    }
+
+    /**
+     * @param cardId Passcode de la carta
+     * @return Posición en la tabla, o -1 si no está
+     */
+    public int positionOf(int cardId) {
+        Integer position = positions.get(cardId);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * @param position Posición en la tabla
+     * @return Passcode de la carta
+     */
+    public int idAt(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Cuenta contra cuántas cartas gana una fila en un modo.
+     * @param row  Posición de la carta
+     * @param mode {@link #ATK_ATK}, {@link #ATK_DEF}, {@link #DEF_ATK} o {@link #DEF_DEF}
+     * @return Columnas a las que gana
+     */
+    public int countWins(int row, int mode) {
+        int wins = 0;
+        int base = row * size;
+        int shift = mode * 2;
+        for (int column = 0; column < size; column++) {
+            if (((table.get(base + column) >>> shift) & 3) == 1) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * @return Número de cartas (filas y columnas)
+     */
+    public int size() {
+        return size;
+    }
+
+    private static void fillRow(byte[] row, int rowAtk, int rowDef, int[] atk, int[] def) {
+        for (int j = 0; j < row.length; j++) {
+            row[j] = (byte) (code(Duel.battleOutcome(rowAtk, true, atk[j], true))
+                    | code(Duel.battleOutcome(rowAtk, true, def[j], false)) << 2
+                    | code(Duel.battleOutcome(rowDef, false, atk[j], true)) << 4
+                    | code(Duel.battleOutcome(rowDef, false, def[j], false)) << 6);
+        }
+    }
+
+    private static int code(int outcome) {
+        return outcome < 0 ? 2 : outcome;
+    }
+
+    private static long headerBytes(int n) {
+        long raw = 12L + 4L * n;
+        return (raw + 63) & ~63L;
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.catalog;
+
+import org.example.model.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Extracción aleatoria ponderada de cartas en tiempo constante (método alias de Vose).
+ * El catálogo se divide en bloques: una tabla alias elige el bloque según su peso total y
+ * otra tabla alias por bloque elige la carta. Cambiar el peso de una carta solo reconstruye
+ * su bloque y la tabla de bloques, no el catálogo completo.
+ */
+public class WeightedCardSampler {
+    // Cartas por bloque
+    private static final int BLOCK_SIZE = 256;
+
+    private final CardCatalog catalog;
+
+    // Pesos actuales por posición de catálogo (protegidos por el monitor del sampler)
+    private final double[] weights;
+
+    // Tablas publicadas; se reemplazan completas en cada actualización
+    private volatile Tables tables;
+
+    /**
+     * Crea un sampler con los pesos calculados por la función indicada.
+     * @param catalog Catálogo de cartas
+     * @param weight  Peso de cada carta (valores negativos se tratan como 0)
+     */
+    public WeightedCardSampler(CardCatalog catalog, ToDoubleFunction<Card> weight) {
+        this.catalog = catalog;
+        this.weights = new double[catalog.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.max(weight.applyAsDouble(catalog.get(i)), 0);
+        }
+        rebuildAll();
+    }
+
+    /**
+     * Peso proporcional al poder total de la carta (ATK+DEF).
+     */
+    public static ToDoubleFunction<Card> byPower() {
+        return card -> card.getTotalPower() + 1;
+    }
+
+    /**
+     * Peso uniforme: todas las cartas tienen la misma probabilidad.
+     */
+    public static ToDoubleFunction<Card> uniform() {
+        return card -> 1;
+    }
+
+    /**
+     * Extrae una carta según los pesos actuales.
+     * @param random Generador de números aleatorios
+     * @return Carta extraída o null si todos los pesos son 0
+     */
+    public Card draw(RandomGenerator random) {
+        Tables current = tables;
+        int block = current.blocks.sample(random);
+        if (block < 0) return null;
+        int offset = current.cards[block].sample(random);
+        return catalog.get(block * BLOCK_SIZE + offset);
+    }
+
+    /**
+     * Extrae varias cartas distintas según los pesos actuales.
+     * @param count  Número de cartas
+     * @param random Generador de números aleatorios
+     * @return Cartas extraídas (menos de count si no hay suficientes cartas con peso)
+     */
+    public List<Card> drawDistinct(int count, RandomGenerator random) {
+        List<Card> result = new ArrayList<>(count);
+        int attempts = 0;
+        while (result.size() < count && attempts++ < count * 32) {
+            Card card = draw(random);
+            if (card == null) break;
+            if (!result.contains(card)) {
+                result.add(card);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cambia el peso de una carta reconstruyendo solo su bloque.
+     * @param card   Carta del catálogo
+     * @param weight Nuevo peso (valores negativos se tratan como 0)
+     */
+    public synchronized void setWeight(Card card, double weight) {
+        int position = catalog.positionOf(card);
+        if (position < 0) {
+            throw new IllegalArgumentException("La carta no pertenece al catálogo: " + card.getName());
+        }
+        weights[position] = Math.max(weight, 0);
+
+        int block = position / BLOCK_SIZE;
+        Tables current = tables;
+        AliasTable[] cards = current.cards.clone();
+        double[] totals = current.totals.clone();
+        cards[block] = buildBlock(block);
+        totals[block] = blockTotal(block);
+        tables = new Tables(new AliasTable(totals), cards, totals);
+    }
+
+    /**
+     * Recalcula todos los pesos con una nueva función.
+     * @param weight Peso de cada carta
+     */
+    public synchronized void setWeights(ToDoubleFunction<Card> weight) {
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = Math.max(weight.applyAsDouble(catalog.get(i)), 0);
+        }
+        rebuildAll();
+    }
+
+    /**
+     * @param card Carta del catálogo
+     * @return Peso actual de la carta (0 si no pertenece al catálogo)
+     */
+    public synchronized double getWeight(Card card) {
+        int position = catalog.positionOf(card);
+        return position < 0 ? 0 : weights[position];
+    }
+
+    private void rebuildAll() {
+        int blockCount = (weights.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        AliasTable[] cards = new AliasTable[blockCount];
+        double[] totals = new double[blockCount];
+        for (int block = 0; block < blockCount; block++) {
+            cards[block] = buildBlock(block);
+            totals[block] = blockTotal(block);
+        }
+        tables = new Tables(new AliasTable(totals), cards, totals);
+    }
+
+    private AliasTable buildBlock(int block) {
+        int from = block * BLOCK_SIZE;
+        int to = Math.min(from + BLOCK_SIZE, weights.length);
+        double[] blockWeights = new double[to - from];
+        System.arraycopy(weights, from, blockWeights, 0, blockWeights.length);
+        return new AliasTable(blockWeights);
+    }
+
+    private double blockTotal(int block) {
+        int from = block * BLOCK_SIZE;
+        int to = Math.min(from + BLOCK_SIZE, weights.length);
+        double total = 0;
+        for (int i = from; i < to; i++) {
+            total += weights[i];
+        }
+        return total;
+    }
+
+    /**
+     * Conjunto inmutable de tablas publicado a los lectores.
+     */
+    private static final class Tables {
+        private final AliasTable blocks;
+        private final AliasTable[] cards;
+        private final double[] totals;
+
+        private Tables(AliasTable blocks, AliasTable[] cards, double[] totals) {
+            this.blocks = blocks;
+            this.cards = cards;
+            this.totals = totals;
+        }
+    }
+
+    /**
+     * Tabla alias inmutable sobre un arreglo de pesos.
+     */
+    static final class AliasTable {
+        private final double[] probability;
+        private final int[] alias;
+        private final boolean empty;
+
+        AliasTable(double[] weights) {
+            int n = weights.length;
+            this.probability = new double[n];
+            this.alias = new int[n];
+
+            double total = 0;
+            for (double weight : weights) {
+                total += weight;
+            }
+            this.empty = n == 0 || total <= 0;
+            if (empty) return;
+
+            // Pesos escalados a media 1: los menores de 1 se completan con un alias mayor
+            double[] scaled = new double[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[i] * n / total;
+                if (scaled[i] < 1) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] = (scaled[more] + scaled[less]) - 1;
+                if (scaled[more] < 1) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            while (largeCount > 0) {
+                probability[large[--largeCount]] = 1;
+            }
+            while (smallCount > 0) {
+                probability[small[--smallCount]] = 1;
+            }
+        }
+
+        /**
+         * @return Índice extraído o -1 si la tabla no tiene peso
+         */
+        int sample(RandomGenerator random) {
+            if (empty) return -1;
+            int column = random.nextInt(probability.length);
+            return random.nextDouble() < probability[column] ? column : alias[column];
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.cli;
+
+import org.example.api.YgoApiClient;
+import org.example.catalog.CardCatalog;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Utilidades comunes de los puntos de entrada sin interfaz: opciones {@code --clave=valor}
+ * y carga del catálogo según {@code --source}.
+ */
+public final class CliOptions {
+
+    private CliOptions() {
+    }
+
+    /**
+     * Lee opciones de la forma {@code --clave=valor} o {@code --clave} (valor vacío).
+     * @param args Argumentos de la línea de comandos
+     * @return Valor de cada opción por clave
+     * @throws IllegalArgumentException Si algún argumento no empieza por {@code --}
+     */
+    public static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Opción inválida: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Carga las cartas de un origen.
+     * @param source fallback | api | snapshot:archivo
+     * @return Catálogo cargado
+     * @throws IOException Si no se puede leer el snapshot
+     */
+    public static CardCatalog loadCatalog(String source) throws IOException {
+        if (source.equals("fallback")) {
+            return new YgoApiClient().getFallbackCatalog();
+        } else if (source.equals("api")) {
+            return new YgoApiClient().getMonsterCatalog();
+        } else if (source.startsWith("snapshot:")) {
+            return CardCatalog.load(Paths.get(source.substring("snapshot:".length())));
+        }
+        throw new IllegalArgumentException("Origen de cartas desconocido: " + source
+                + " (fallback | api | snapshot:archivo)");
+    }
+}
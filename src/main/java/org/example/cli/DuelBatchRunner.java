@@ -0,0 +1,262 @@
+package org.example.cli;
+
+import org.example.catalog.BalancedPoolGenerator;
+import org.example.catalog.CardCatalog;
+import org.example.catalog.WeightedCardSampler;
+import org.example.duel.DuelPolicies;
+import org.example.duel.DuelPolicy;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.MetricsServer;
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+import org.example.random.RandomStreams;
+import org.example.rating.CardRatings;
+import org.example.replay.ReplayRecorder;
+import org.example.replay.ReplayWriter;
+import org.example.simulation.DuelSimulator;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ejecuta duelos en lote sin interfaz gráfica y muestra estadísticas de rendimiento y resultados.
+ * Pensado para ejecuciones nocturnas en CI headless y análisis de balance.
+ *
+ * Uso: {@code java -cp ... org.example.cli.DuelBatchRunner [opciones]}
+ * <pre>
+ *   --duels=N          Duelos medidos (10000)
+ *   --warmup=N         Duelos de calentamiento no medidos (1000)
+ *   --threads=N        Hilos en paralelo, cada uno con su propio duelo (1)
+ *   --source=S         fallback | api | snapshot:archivo (fallback)
+ *   --pool=P           random | balanced (random)
+ *   --player=E         Estrategia del jugador: random | strongest | counter (random)
+ *   --ai=E             Estrategia de la máquina (random)
+ *   --seed=N           Semilla de toda la ejecución: reparto, turnos y estrategias (aleatoria)
+ *   --metrics=PUERTO   Expone las métricas en formato Prometheus durante la ejecución
+ *   --record=ARCHIVO   Graba los duelos medidos para repetirlos con {@link ReplayRunner}
+ *   --ratings=ARCHIVO  Valora las cartas con cada batalla (continúa las guardadas en el archivo);
+ *                      con --pool=balanced las manos se equilibran también por valoración
+ * </pre>
+ */
+public class DuelBatchRunner {
+    private static final int HAND_SIZE = BalancedPoolGenerator.HAND_SIZE;
+
+    // Intervalo entre guardados de las valoraciones
+    private static final long RATINGS_CHECKPOINT_MILLIS = 30_000;
+
+    private final CardCatalog catalog;
+    private final String poolMode;
+    private final DuelPolicy playerPolicy;
+    private final DuelPolicy aiPolicy;
+    // Raíz de los flujos aleatorios: cada hilo recibe uno independiente
+    private final SplittableRandom seedRoot;
+
+    // Destino de las repeticiones (null = no se graban)
+    private volatile ReplayWriter replayWriter;
+
+    // Valoraciones de las cartas (null = no se valoran)
+    private volatile CardRatings ratings;
+
+    // Resultados de la ejecución medida
+    private final LatencyHistogram duelLatency = new LatencyHistogram("duel");
+    private final LongAdder playerWins = new LongAdder();
+    private final LongAdder aiWins = new LongAdder();
+    private final LongAdder ties = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+
+    /**
+     * @param catalog      Cartas disponibles (al menos 6)
+     * @param poolMode     "random" o "balanced"
+     * @param playerPolicy Estrategia del jugador
+     * @param aiPolicy     Estrategia de la máquina
+     * @param seed         Semilla de la ejecución (con un hilo, los resultados se repiten exactamente)
+     */
+    public DuelBatchRunner(CardCatalog catalog, String poolMode, DuelPolicy playerPolicy,
+                           DuelPolicy aiPolicy, long seed) {
+        if (catalog.size() < 2 * HAND_SIZE) {
+            throw new IllegalArgumentException("El catálogo necesita al menos " + 2 * HAND_SIZE + " cartas");
+        }
+        if (!poolMode.equals("random") && !poolMode.equals("balanced")) {
+            throw new IllegalArgumentException("Reparto desconocido: " + poolMode + " (random | balanced)");
+        }
+        this.catalog = catalog;
+        this.poolMode = poolMode;
+        this.playerPolicy = playerPolicy;
+        this.aiPolicy = aiPolicy;
+        this.seedRoot = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Sin ventana y, salvo que se pida otro nivel, sin log por duelo
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("ygo.log.level") == null) {
+            System.setProperty("ygo.log.level", "WARN");
+        }
+
+        Map<String, String> options = CliOptions.parse(args);
+        int duels = Integer.parseInt(options.getOrDefault("duels", "10000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1000"));
+        int threads = Math.max(1, Integer.parseInt(options.getOrDefault("threads", "1")));
+        long seed = options.containsKey("seed") ? Long.parseLong(options.get("seed")) : RandomStreams.getRootSeed();
+        String source = options.getOrDefault("source", "fallback");
+        String pool = options.getOrDefault("pool", "random");
+        String player = options.getOrDefault("player", "random");
+        String ai = options.getOrDefault("ai", "random");
+
+        MetricsServer metricsServer = options.containsKey("metrics")
+                ? MetricsServer.start(Integer.parseInt(options.get("metrics")))
+                : null;
+
+        CardCatalog catalog = CliOptions.loadCatalog(source);
+        DuelBatchRunner runner = new DuelBatchRunner(catalog, pool,
+                DuelPolicies.byName(player), DuelPolicies.byName(ai), seed);
+
+        System.out.printf("Catálogo: %s (%d cartas) | Reparto: %s | Jugador: %s | Máquina: %s | Semilla: %d%n",
+                source, catalog.size(), pool, player, ai, seed);
+
+        if (options.containsKey("ratings")) {
+            runner.ratings = CardRatings.open(Paths.get(options.get("ratings")),
+                    CardRatings.DEFAULT_CAPACITY, CardRatings.DEFAULT_K_FACTOR);
+            runner.ratings.startCheckpoints(Paths.get(options.get("ratings")), RATINGS_CHECKPOINT_MILLIS);
+        }
+
+        if (warmup > 0) {
+            runner.run(warmup, threads);
+            runner.resetStatistics();
+        }
+
+        if (options.containsKey("record")) {
+            runner.replayWriter = new ReplayWriter(Paths.get(options.get("record")), 1024);
+        }
+
+        long start = System.nanoTime();
+        runner.run(duels, threads);
+        long elapsed = System.nanoTime() - start;
+
+        runner.printReport(duels, threads, elapsed);
+
+        if (options.containsKey("record")) {
+            ReplayWriter writer = runner.replayWriter;
+            writer.close();
+            System.out.printf("Repeticiones: %d grabadas en %s (%d descartadas)%n",
+                    writer.getWrittenReplays(), writer.getFile(), writer.getDroppedReplays());
+        }
+
+        if (runner.ratings != null) {
+            CardRatings ratings = runner.ratings;
+            ratings.close();
+            System.out.printf("Valoraciones: %d cartas, %,d batallas en total, guardadas en %s%n",
+                    ratings.getRatedCards(), ratings.getTotalBattles(), options.get("ratings"));
+            for (CardRatings.Rating rating : ratings.getTop(5)) {
+                Card card = CardRegistry.get(rating.getCardId());
+                System.out.printf("  %7.1f  %s (%,d batallas)%n", rating.getRating(),
+                        card != null ? card.getName() : String.valueOf(rating.getCardId()), rating.getBattles());
+            }
+        }
+
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
+    }
+
+    /**
+     * Juega {@code duels} duelos repartidos entre {@code threads} hilos.
+     * @param duels   Número total de duelos
+     * @param threads Hilos en paralelo
+     * @throws InterruptedException Si se interrumpe la espera de los hilos
+     */
+    public void run(int duels, int threads) throws InterruptedException {
+        AtomicLong remaining = new AtomicLong(duels);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = seedRoot.split();
+            Thread worker = new Thread(() -> runWorker(remaining, random), "duel-runner-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    /**
+     * Vacía las estadísticas (tras el calentamiento).
+     */
+    public void resetStatistics() {
+        duelLatency.reset();
+        playerWins.reset();
+        aiWins.reset();
+        ties.reset();
+        rounds.reset();
+    }
+
+    private void runWorker(AtomicLong remaining, SplittableRandom random) {
+        DuelSimulator simulator = new DuelSimulator(playerPolicy, aiPolicy, random);
+        ReplayWriter writer = replayWriter;
+        ReplayRecorder recorder = writer != null ? new ReplayRecorder(writer, 64 * 1024) : null;
+        simulator.setReplayRecorder(recorder);
+        simulator.setRatings(ratings);
+
+        BalancedPoolGenerator balanced = poolMode.equals("balanced")
+                ? new BalancedPoolGenerator(catalog, 0.1, 0.15, random)
+                : null;
+        if (balanced != null) {
+            balanced.setRatings(ratings);
+        }
+        WeightedCardSampler sampler = catalog.getSampler("uniform", WeightedCardSampler.uniform());
+
+        while (remaining.getAndDecrement() > 0) {
+            List<Card> playerHand;
+            List<Card> aiHand;
+            if (balanced != null) {
+                BalancedPoolGenerator.Hands hands = balanced.generate();
+                playerHand = hands.getPlayerCards();
+                aiHand = hands.getAiCards();
+            } else {
+                List<Card> pool = sampler.drawDistinct(2 * HAND_SIZE, random);
+                playerHand = pool.subList(0, HAND_SIZE);
+                aiHand = pool.subList(HAND_SIZE, 2 * HAND_SIZE);
+            }
+
+            long start = System.nanoTime();
+            int result = simulator.play(playerHand, aiHand);
+            duelLatency.recordNanos(System.nanoTime() - start);
+
+            if (result > 0) {
+                playerWins.increment();
+            } else if (result < 0) {
+                aiWins.increment();
+            } else {
+                ties.increment();
+            }
+            rounds.add(simulator.getRounds());
+        }
+
+        if (recorder != null) {
+            recorder.flush();
+        }
+    }
+
+    private void printReport(int duels, int threads, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long total = playerWins.sum() + aiWins.sum() + ties.sum();
+
+        System.out.printf("%nDuelos: %d en %.3f s con %d hilo(s)%n", duels, seconds, threads);
+        System.out.printf("Rendimiento: %,.0f duelos/s%n", duels / seconds);
+        System.out.printf("Latencia por duelo (µs): p50=%d p95=%d p99=%d max=%d media=%.1f%n",
+                duelLatency.getPercentileMicros(50), duelLatency.getPercentileMicros(95),
+                duelLatency.getPercentileMicros(99), duelLatency.getMaxMicros(), duelLatency.getMeanMicros());
+        System.out.printf("Resultados: Jugador %.1f%% | Máquina %.1f%% | Empate %.1f%%%n",
+                percent(playerWins.sum(), total), percent(aiWins.sum(), total), percent(ties.sum(), total));
+        System.out.printf("Rondas por duelo: %.2f%n", total == 0 ? 0 : (double) rounds.sum() / total);
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+}
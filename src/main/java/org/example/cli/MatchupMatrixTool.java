@@ -0,0 +1,119 @@
+package org.example.cli;
+
+import org.example.catalog.CardCatalog;
+import org.example.catalog.MatchupMatrix;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Calcula la tabla de enfrentamientos de un catálogo o consulta una ya calculada.
+ *
+ * Uso: {@code java -cp ... org.example.cli.MatchupMatrixTool [opciones]}
+ * <pre>
+ *   --source=S         fallback | api | snapshot:archivo (fallback)
+ *   --out=ARCHIVO      Archivo de la tabla (matchups.ymm)
+ *   --threads=N        Hilos de cálculo (uno por núcleo)
+ *   --open             No recalcula: abre la tabla existente de --out
+ *   --query=ID1,ID2    Muestra los cuatro resultados de ID1 contra ID2
+ *   --benchmark        Mide la latencia media de una consulta
+ * </pre>
+ */
+public class MatchupMatrixTool {
+    // Consultas aleatorias para medir la latencia
+    private static final int BENCHMARK_LOOKUPS = 10_000_000;
+
+    private static final String[] MODE_NAMES = {"ATK/ATK", "ATK/DEF", "DEF/ATK", "DEF/DEF"};
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("ygo.log.level") == null) {
+            System.setProperty("ygo.log.level", "WARN");
+        }
+
+        Map<String, String> options = CliOptions.parse(args);
+        Path file = Paths.get(options.getOrDefault("out", "matchups.ymm"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int[] query = options.containsKey("query") ? parseQuery(options.get("query")) : null;
+
+        MatchupMatrix matrix;
+        if (options.containsKey("open")) {
+            long start = System.nanoTime();
+            matrix = MatchupMatrix.open(file);
+            System.out.printf("Tabla %s abierta: %d cartas en %.3f s%n",
+                    file, matrix.size(), (System.nanoTime() - start) / 1e9);
+        } else {
+            String source = options.getOrDefault("source", "fallback");
+            CardCatalog catalog = CliOptions.loadCatalog(source);
+            long start = System.nanoTime();
+            matrix = MatchupMatrix.compute(catalog, file, threads);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long pairs = (long) matrix.size() * matrix.size();
+            System.out.printf("Tabla %s: %d cartas, %,d pares en %.3f s con %d hilo(s) (%,.0f pares/s)%n",
+                    file, matrix.size(), pairs, seconds, threads, pairs / Math.max(seconds, 1e-9));
+        }
+
+        if (query != null) {
+            int row = matrix.positionOf(query[0]);
+            int column = matrix.positionOf(query[1]);
+            if (row < 0 || column < 0) {
+                System.err.printf("Carta no encontrada en la tabla: %d%n", row < 0 ? query[0] : query[1]);
+                System.exit(1);
+            }
+            for (int mode = 0; mode < MODE_NAMES.length; mode++) {
+                int outcome = matrix.outcome(row, column, mode < 2, mode % 2 == 0);
+                System.out.printf("%s: %s%n", MODE_NAMES[mode],
+                        outcome > 0 ? "gana " + query[0] : outcome < 0 ? "gana " + query[1] : "empate");
+            }
+        }
+
+        if (options.containsKey("benchmark") && matrix.size() > 0) {
+            benchmark(matrix);
+        }
+    }
+
+    /**
+     * Lee los dos passcodes de {@code --query}; si no son exactamente dos números, muestra el
+     * uso y termina.
+     */
+    private static int[] parseQuery(String value) {
+        String[] ids = value.split(",");
+        if (ids.length == 2) {
+            try {
+                return new int[]{Integer.parseInt(ids[0].trim()), Integer.parseInt(ids[1].trim())};
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        System.err.printf("Consulta inválida: '%s'. Uso: --query=ID1,ID2%n", value);
+        System.exit(1);
+        return null;
+    }
+
+    private static void benchmark(MatchupMatrix matrix) {
+        int n = matrix.size();
+        SplittableRandom random = new SplittableRandom(1);
+        int[] rows = new int[1024];
+        int[] columns = new int[1024];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = random.nextInt(n);
+            columns[i] = random.nextInt(n);
+        }
+
+        // Una pasada de calentamiento y otra medida
+        long sink = 0;
+        long elapsed = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < BENCHMARK_LOOKUPS; i++) {
+                int k = i & 1023;
+                sink += matrix.outcome(rows[k], columns[k], (i & 1) == 0, (i & 2) == 0);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        System.out.printf("Consulta: %.1f ns de media en %,d consultas (control %d)%n",
+                (double) elapsed / BENCHMARK_LOOKUPS, BENCHMARK_LOOKUPS, sink);
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.cli;
+
+import org.example.api.YgoApiClient;
+import org.example.catalog.CardCatalog;
+import org.example.listeners.BattleListener;
+import org.example.replay.DuelReplay;
+import org.example.replay.ReplayFile;
+import org.example.replay.ReplayPlayer;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reproduce sin interfaz un archivo de repeticiones y comprueba que cada duelo se repite igual.
+ *
+ * Uso: {@code java -cp ... org.example.cli.ReplayRunner --file=replays/sesion.ydr [opciones]}
+ * <pre>
+ *   --file=ARCHIVO      Archivo de repeticiones (obligatorio)
+ *   --index=N           Reproduce solo el duelo N (desde 0) mostrando todos sus eventos
+ *   --snapshot=ARCHIVO  Snapshot de catálogo con las cartas de la API usadas en los duelos
+ * </pre>
+ * Las cartas se buscan por id; las del catálogo de respaldo siempre están disponibles.
+ */
+public class ReplayRunner {
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("ygo.log.level") == null) {
+            System.setProperty("ygo.log.level", "WARN");
+        }
+
+        Map<String, String> options = CliOptions.parse(args);
+        String file = options.get("file");
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Falta --file=archivo");
+        }
+
+        // Registrar las cartas que pueden aparecer en las repeticiones
+        new YgoApiClient().getFallbackCatalog();
+        if (options.containsKey("snapshot")) {
+            CardCatalog.load(Paths.get(options.get("snapshot")));
+        }
+
+        List<DuelReplay> replays = ReplayFile.readAll(Paths.get(file));
+        ReplayPlayer player = new ReplayPlayer();
+
+        if (options.containsKey("index")) {
+            int index = Integer.parseInt(options.get("index"));
+            DuelReplay replay = replays.get(index);
+            System.out.println(replay);
+            DuelReplay played = player.play(replay, new PrintingListener());
+            System.out.println(played.equals(replay) ? "Repetición idéntica" : "Repetición distinta: " + played);
+            return;
+        }
+
+        int mismatches = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < replays.size(); i++) {
+            try {
+                DuelReplay played = player.play(replays.get(i), null);
+                if (!played.equals(replays.get(i))) {
+                    mismatches++;
+                    System.err.printf("Duelo %d distinto: %s%n", i, played);
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                mismatches++;
+                System.err.printf("Duelo %d: %s%n", i, e.getMessage());
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Duelos reproducidos: %d en %.3f s (%,.0f duelos/s)%n",
+                replays.size(), seconds, replays.size() / Math.max(seconds, 1e-9));
+        System.out.printf("Distintos: %d%n", mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Muestra cada evento del duelo en la salida estándar.
+     */
+    private static class PrintingListener implements BattleListener {
+        @Override
+        public void onTurn(String playerCard, String aiCard, String winner, String battleLog) {
+            System.out.printf("  Batalla: %s vs %s -> %s%n", playerCard, aiCard, winner);
+            for (String line : battleLog.split("\n")) {
+                if (!line.trim().isEmpty()) {
+                    System.out.println("    > " + line);
+                }
+            }
+        }
+
+        @Override
+        public void onScoreChanged(int playerScore, int aiScore) {
+            System.out.printf("  Marcador: Jugador %d - %d Máquina%n", playerScore, aiScore);
+        }
+
+        @Override
+        public void onDuelEnded(String winner) {
+            System.out.println("  Duelo terminado: " + winner);
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            System.out.println("  ERROR: " + errorMessage);
+        }
+
+        @Override
+        public void onCardsLoaded() {
+        }
+
+        @Override
+        public void onDuelStarted(String starter, int roundNumber) {
+            System.out.println("  Duelo iniciado, comienza: " + starter);
+        }
+
+        @Override
+        public void onCardSelected(String playerName, String cardName, int cardIndex) {
+            System.out.printf("  %s selecciona %s%n", playerName, cardName);
+        }
+
+        @Override
+        public void onRoundStarted(int roundNumber, int playerScore, int aiScore) {
+            System.out.println("Ronda " + roundNumber);
+        }
+
+        @Override
+        public void onTurnStarted(String playerName, boolean isPlayerTurn) {
+            System.out.println("  Turno del " + playerName);
+        }
+
+        @Override
+        public void onCardLoaded(int cardsLoaded, int totalCards, String cardName) {
+        }
+
+        @Override
+        public void onStatusUpdate(String statusMessage, boolean isError) {
+        }
+
+        @Override
+        public void onDuelReset() {
+        }
+
+        @Override
+        public void onBattleModeSet(String playerName, boolean isAttackMode) {
+            System.out.printf("  %s en modo %s%n", playerName, isAttackMode ? "ATAQUE" : "DEFENSA");
+        }
+    }
+}
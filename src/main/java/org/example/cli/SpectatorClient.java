@@ -0,0 +1,94 @@
+package org.example.cli;
+
+import org.example.broadcast.SpectatorFrame;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+
+/**
+ * Espectador de un duelo del servidor ({@code DuelServer --spectate=PUERTO}).
+ * Con un cliente muestra los eventos; con varios solo los cuenta (prueba de carga).
+ *
+ * Uso: {@code java -cp ... org.example.cli.SpectatorClient --port=9000 --duel=1 [opciones]}
+ * <pre>
+ *   --host=H        Servidor (localhost)
+ *   --port=N        Puerto de espectadores (obligatorio)
+ *   --duel=ID       Sesión a seguir (obligatorio)
+ *   --clients=N     Conexiones simultáneas (1)
+ *   --seconds=N     Termina tras N segundos (sin límite)
+ * </pre>
+ */
+public class SpectatorClient {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = CliOptions.parse(args);
+        if (!options.containsKey("port") || !options.containsKey("duel")) {
+            throw new IllegalArgumentException("Faltan --port=N y --duel=ID");
+        }
+        String host = options.getOrDefault("host", "localhost");
+        int port = Integer.parseInt(options.get("port"));
+        long duelId = Long.parseLong(options.get("duel"));
+        int clients = Math.max(1, Integer.parseInt(options.getOrDefault("clients", "1")));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "0"));
+
+        Selector selector = Selector.open();
+        for (int i = 0; i < clients; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, duelId));
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, ByteBuffer.allocate(64 * 1024));
+        }
+        System.out.printf("%d espectador(es) conectados al duelo %d%n", clients, duelId);
+
+        long deadline = seconds > 0 ? System.currentTimeMillis() + seconds * 1000 : Long.MAX_VALUE;
+        long frames = 0;
+        long lastReport = System.currentTimeMillis();
+        long framesAtLastReport = 0;
+        int open = clients;
+
+        while (open > 0 && System.currentTimeMillis() < deadline) {
+            selector.select(1000);
+            for (SelectionKey key : selector.selectedKeys()) {
+                SocketChannel channel = (SocketChannel) key.channel();
+                ByteBuffer buffer = (ByteBuffer) key.attachment();
+                if (channel.read(buffer) < 0) {
+                    key.cancel();
+                    channel.close();
+                    open--;
+                    continue;
+                }
+                buffer.flip();
+                // Frames completos: u16 longitud + contenido
+                while (buffer.remaining() >= 2 && buffer.remaining() >= 2 + (buffer.getShort(buffer.position()) & 0xFFFF)) {
+                    int length = buffer.getShort() & 0xFFFF;
+                    ByteBuffer frame = buffer.slice();
+                    frame.limit(length);
+                    buffer.position(buffer.position() + length);
+                    frames++;
+                    if (clients == 1) {
+                        System.out.println(SpectatorFrame.describe(frame));
+                    }
+                }
+                buffer.compact();
+            }
+            selector.selectedKeys().clear();
+
+            long now = System.currentTimeMillis();
+            if (clients > 1 && now - lastReport >= 1000) {
+                System.out.printf("Frames: %,d (%,.0f/s) | conexiones abiertas: %d%n", frames,
+                        (frames - framesAtLastReport) * 1000.0 / (now - lastReport), open);
+                lastReport = now;
+                framesAtLastReport = frames;
+            }
+        }
+
+        System.out.printf("Total: %,d frames recibidos | conexiones cerradas por el servidor: %d%n",
+                frames, clients - open);
+        selector.close();
+    }
+}
@@ -2,16 +2,27 @@ package org.example.duel;
 
 import org.example.model.Card;
 import org.example.listeners.BattleListener;
-import javax.swing.*;
+import org.example.log.Log;
+import org.example.log.LogLevel;
+import org.example.log.Logger;
+import org.example.metrics.Metrics;
+import org.example.profiling.BattleResolvedEvent;
+import org.example.random.RandomStreams;
+import org.example.rating.CardRatings;
+import org.example.replay.ReplayRecorder;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SwingScheduler;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * ¡Maneja la lógica principal del duelo de Yu-Gi-Oh!
  * Implementa las reglas del juego, turnos, y resolución de batallas.
  */
 public class Duel {
+    private static final Logger LOG = Log.getLogger(Duel.class);
+
     // Puntuación necesaria para ganar el duelo
     private static final int WINNING_SCORE = 2;
 
@@ -29,8 +40,18 @@ public class Duel {
     // Listener para eventos del duelo
     private BattleListener listener;
 
-    // Generador de números aleatorios
-    private Random random;
+    // Generador de números aleatorios (propio de este duelo, no compartido entre hilos)
+    private final SplittableRandom random;
+
+    // Semilla del duelo actual: decide quién empieza cada ronda (se guarda en las repeticiones)
+    private long duelSeed;
+    private SplittableRandom turnRandom;
+
+    // Grabación del duelo (null = no se graba)
+    private ReplayRecorder recorder;
+
+    // Valoraciones que se actualizan con cada batalla (null = no se valoran)
+    private CardRatings ratings;
 
     // Control de turnos
     private boolean playerTurn;
@@ -38,6 +59,17 @@ public class Duel {
     private boolean waitingForPlayer;
     private int currentRound;
 
+    // Estrategias: modo de batalla del jugador; carta y modo de la máquina
+    private DuelPolicy playerPolicy = DuelPolicies.RANDOM;
+    private DuelPolicy aiPolicy = DuelPolicies.RANDOM;
+
+    // Retardo antes de que la máquina juegue cuando inicia la ronda (ms)
+    private int aiThinkDelayMillis = 500;
+
+    // Reloj con el que se espera ese retardo y turno de la máquina pendiente
+    private Scheduler scheduler = new SwingScheduler();
+    private Scheduler.ScheduledTask pendingMachineTurn;
+
     // Modos de batalla: true = ataque, false = defensa
     private boolean playerAttackMode;
     private boolean aiAttackMode;
@@ -56,12 +88,21 @@ public class Duel {
 
     /**
      * Constructor que inicializa el estado del duelo.
-     * El turno inicial es aleatorio.
+     * El turno inicial es aleatorio; el generador sale de {@link RandomStreams}.
      */
     public Duel() {
+        this(RandomStreams.split());
+    }
+
+    /**
+     * Constructor con un generador dado: con el mismo generador y las mismas decisiones del
+     * jugador, los duelos se repiten igual.
+     * @param random Generador del duelo (no se comparte con otros hilos)
+     */
+    public Duel(SplittableRandom random) {
         this.playerCards = new ArrayList<>();
         this.aiCards = new ArrayList<>();
-        this.random = new Random();
+        this.random = random;
         this.playerScore = 0;
         this.aiScore = 0;
         this.gameStarted = false;
@@ -89,6 +130,60 @@ public class Duel {
         this.listener = listener;
     }
 
+    /**
+     * Cambia el retardo con el que la máquina juega cuando inicia la ronda.
+     * Con 0 la máquina juega de inmediato en el mismo hilo (simulaciones y benchmarks).
+     * @param delayMillis Retardo en milisegundos
+     */
+    public void setAiThinkDelay(int delayMillis) {
+        this.aiThinkDelayMillis = Math.max(delayMillis, 0);
+    }
+
+    /**
+     * Cambia el planificador con el que se espera el turno de la máquina.
+     * Por defecto es un temporizador de Swing; sin interfaz se puede usar
+     * {@link org.example.scheduler.RealTimeScheduler} o, para simular sin esperas,
+     * {@link org.example.scheduler.VirtualClockScheduler}.
+     * @param scheduler Planificador de tareas diferidas
+     */
+    public void setScheduler(Scheduler scheduler) {
+        cancelPendingMachineTurn();
+        this.scheduler = scheduler != null ? scheduler : new SwingScheduler();
+    }
+
+    /**
+     * Graba los duelos siguientes para poder repetirlos.
+     * @param recorder Grabador, o null para dejar de grabar
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Actualiza unas valoraciones con cada batalla resuelta.
+     * @param ratings Valoraciones de las cartas, o null para dejar de valorar
+     */
+    public void setRatings(CardRatings ratings) {
+        this.ratings = ratings;
+    }
+
+    /**
+     * Cambia la estrategia con la que el jugador elige su modo de batalla.
+     * La carta la sigue eligiendo quien llama a {@link #playerSelectsCard(int)}.
+     * @param policy Estrategia del jugador
+     */
+    public void setPlayerPolicy(DuelPolicy policy) {
+        this.playerPolicy = policy != null ? policy : DuelPolicies.RANDOM;
+    }
+
+    /**
+     * Cambia la estrategia con la que la máquina elige carta y modo de batalla.
+     * @param policy Estrategia de la máquina
+     */
+    public void setAiPolicy(DuelPolicy policy) {
+        this.aiPolicy = policy != null ? policy : DuelPolicies.RANDOM;
+    }
+
     /**
      * Asigna las cartas del jugador.
      * @param cards Lista de 3 cartas para el jugador
@@ -145,6 +240,15 @@ public class Duel {
      * Realiza un reset completo del estado y determina el turno inicial aleatorio.
      */
     public void startDuel() {
+        startDuel(random.nextLong());
+    }
+
+    /**
+     * Inicia el duelo con una semilla dada: con la misma semilla y las mismas jugadas
+     * el duelo se repite exactamente (ver {@link org.example.replay.ReplayPlayer}).
+     * @param seed Semilla del orden de turnos
+     */
+    public void startDuel(long seed) {
         // Reset completo del estado
         this.gameStarted = true;
         this.currentRound = 1;
@@ -156,13 +260,21 @@ public class Duel {
         this.aiSelectedCard = null;
 
         // Determinar turno aleatorio
-        this.playerTurn = random.nextBoolean();
+        this.duelSeed = seed;
+        this.turnRandom = new SplittableRandom(seed);
+        this.playerTurn = turnRandom.nextBoolean();
         this.waitingForPlayer = playerTurn;
 
-        System.out.println("=== DUELO INICIADO ===");
-        System.out.println("Primer turno: " + (playerTurn ? "JUGADOR" : "MÁQUINA"));
-        System.out.println("Cartas jugador: " + playerCards.size());
-        System.out.println("Cartas máquina: " + aiCards.size());
+        if (recorder != null) {
+            recorder.begin(seed, playerCards, aiCards);
+        }
+
+        Metrics.DUELS_STARTED.increment();
+        LOG.at(LogLevel.INFO)
+                .field("first", playerTurn ? "JUGADOR" : "MÁQUINA")
+                .field("playerCards", playerCards.size())
+                .field("aiCards", aiCards.size())
+                .log("Duelo iniciado");
 
         if (listener != null) {
             String starter = playerTurn ? "Jugador" : "Máquina";
@@ -173,7 +285,7 @@ public class Duel {
 
         // Si la máquina empieza, ejecutar su turno
         if (!playerTurn) {
-            System.out.println("Ejecutando turno inicial de la máquina...");
+            LOG.debug("Ejecutando turno inicial de la máquina");
             startMachineTurn();
         }
     }
@@ -182,19 +294,34 @@ public class Duel {
      * Maneja el turno de la máquina de forma controlada con un pequeño delay.
      */
     private void startMachineTurn() {
-        System.out.println("startMachineTurn() - Ronda " + currentRound);
+        LOG.trace("startMachineTurn() - Ronda {}", currentRound);
 
         if (playerTurn || aiHasSelected) {
-            System.out.println("ERROR: No es turno de la máquina y ya seleccionó");
+            LOG.warn("No es turno de la máquina o ya seleccionó");
+            return;
+        }
+
+        if (aiThinkDelayMillis == 0) {
+            aiPlaysTurn();
             return;
         }
 
         // Pequeño delay para simular "pensamiento"
-        Timer timer = new Timer(500, e -> {
+        cancelPendingMachineTurn();
+        pendingMachineTurn = scheduler.schedule(aiThinkDelayMillis, () -> {
+            pendingMachineTurn = null;
             aiPlaysTurn();
         });
-        timer.setRepeats(false);
-        timer.start();
+    }
+
+    /**
+     * Descarta el turno de la máquina programado y aún no jugado.
+     */
+    private void cancelPendingMachineTurn() {
+        if (pendingMachineTurn != null) {
+            pendingMachineTurn.cancel();
+            pendingMachineTurn = null;
+        }
     }
 
     /**
@@ -202,7 +329,7 @@ public class Duel {
      * @param cardIndex Índice de la carta seleccionada (0-2)
      */
     public void playerSelectsCard(int cardIndex) {
-        System.out.println("=== EL JUGADOR SELECCIONA LA CARTA ===");
+        LOG.trace("El jugador selecciona la carta {}", cardIndex);
 
         if (!gameStarted) {
             notifyError("El duelo no ha comenzado");
@@ -241,11 +368,18 @@ public class Duel {
         availablePlayerCards.remove(selectedCard);
         usedPlayerCards.add(selectedCard);
 
-        System.out.println("Jugador seleccionó: " + playerSelectedCard.getName() +
-                " - Cartas disponibles: " + availablePlayerCards.size());
+        LOG.at(LogLevel.DEBUG)
+                .field("card", playerSelectedCard.getName())
+                .field("available", availablePlayerCards.size())
+                .log("Jugador seleccionó carta");
 
-        // El jugador elige modo aleatorio
-        playerAttackMode = random.nextBoolean();
+        // El jugador elige modo según su estrategia (aleatorio por defecto)
+        playerAttackMode = playerPolicy.selectAttackMode(playerSelectedCard,
+                aiHasSelected ? aiSelectedCard : null, random);
+
+        if (recorder != null) {
+            recorder.recordMove(true, cardIndex, playerAttackMode);
+        }
 
         if (listener != null) {
             listener.onCardSelected("Jugador", playerSelectedCard.getName(), cardIndex);
@@ -257,10 +391,10 @@ public class Duel {
         this.waitingForPlayer = false;
 
         if (aiHasSelected) {
-            System.out.println("Máquina ya seleccionó - resolviendo batalla inmediata");
+            LOG.trace("Máquina ya seleccionó - resolviendo batalla inmediata");
             resolveBattle(playerSelectedCard, aiSelectedCard);
         } else {
-            System.out.println("Ejecutando turno de máquina...");
+            LOG.trace("Ejecutando turno de máquina");
             aiPlaysTurn();
         }
     }
@@ -270,10 +404,10 @@ public class Duel {
      * Selecciona una carta aleatoria y modo de batalla aleatorio.
      */
     private void aiPlaysTurn() {
-        System.out.println("=== LA MÁQUINA JUEGA POR TURNO ===");
+        LOG.trace("La máquina juega su turno");
 
         if (!gameStarted || playerTurn || aiHasSelected) {
-            System.out.println("Máquina: No puede jugar en este estado");
+            LOG.debug("Máquina: no puede jugar en este estado");
             return;
         }
 
@@ -283,8 +417,12 @@ public class Duel {
             return;
         }
 
-        // La máquina elige carta aleatoria inmediatamente
-        int aiCardIndex = random.nextInt(availableAiCards.size());
+        // La máquina elige carta según su estrategia (aleatoria por defecto)
+        Card opponentCard = playerHasSelected ? playerSelectedCard : null;
+        int aiCardIndex = aiPolicy.selectCard(availableAiCards, opponentCard, random);
+        if (aiCardIndex < 0 || aiCardIndex >= availableAiCards.size()) {
+            aiCardIndex = 0;
+        }
         aiSelectedCard = availableAiCards.get(aiCardIndex);
         aiHasSelected = true;
 
@@ -292,11 +430,16 @@ public class Duel {
         availableAiCards.remove(aiSelectedCard);
         usedAiCards.add(aiSelectedCard);
 
-        // La máquina elige modo aleatorio
-        aiAttackMode = random.nextBoolean();
+        aiAttackMode = aiPolicy.selectAttackMode(aiSelectedCard, opponentCard, random);
 
-        System.out.println("Máquina: Seleccionó - " + aiSelectedCard.getName() +
-                " - Cartas disponibles: " + availableAiCards.size());
+        if (recorder != null) {
+            recorder.recordMove(false, aiCards.indexOf(aiSelectedCard), aiAttackMode);
+        }
+
+        LOG.at(LogLevel.DEBUG)
+                .field("card", aiSelectedCard.getName())
+                .field("available", availableAiCards.size())
+                .log("Máquina seleccionó carta");
 
         if (listener != null) {
             listener.onCardSelected("Máquina", aiSelectedCard.getName(), -1);
@@ -306,10 +449,10 @@ public class Duel {
 
         // Forzar la resolución de batalla si el jugador ya seleccionó
         if (playerHasSelected) {
-            System.out.println("Jugador ya seleccionó - resolviendo batalla inmediata");
+            LOG.trace("Jugador ya seleccionó - resolviendo batalla inmediata");
             resolveBattle(playerSelectedCard, aiSelectedCard);
         } else {
-            System.out.println("Esperando que jugador seleccione...");
+            LOG.trace("Esperando que el jugador seleccione");
             // Cambiar turno al jugador
             this.playerTurn = true;
             this.waitingForPlayer = true;
@@ -324,6 +467,7 @@ public class Duel {
      * Reinicia el estado de cartas para nuevo duelo.
      */
     public void resetDuel() {
+        cancelPendingMachineTurn();
         this.gameStarted = false;
         this.currentRound = 1;
         this.playerScore = 0;
@@ -341,7 +485,7 @@ public class Duel {
         this.usedPlayerCards.clear();
         this.usedAiCards.clear();
 
-        System.out.println("Duelo reiniciado - Cartas reseteadas");
+        LOG.debug("Duelo reiniciado - Cartas reseteadas");
     }
 
     /**
@@ -355,6 +499,9 @@ public class Duel {
             return;
         }
 
+        BattleResolvedEvent event = new BattleResolvedEvent();
+        event.begin();
+
         // Determinar poderes según el modo de batalla
         int playerPower = playerAttackMode ? playerCard.getAtk() : playerCard.getDef();
         int aiPower = aiAttackMode ? aiCard.getAtk() : aiCard.getDef();
@@ -368,19 +515,22 @@ public class Duel {
 
         // Aplicar reglas según combinación de modos
         if (playerAttackMode && aiAttackMode) {
-            winner = resolveAttackVsAttack(playerCard, playerPower, aiCard, aiPower);
             ruleDescription = "Ambos en ataque → Gana mayor ATK";
         } else if (playerAttackMode && !aiAttackMode) {
-            winner = resolveAttackVsDefense(playerCard, playerPower, aiCard, aiPower, true);
             ruleDescription = "Ataque vs Defensa → Si ATK > DEF, gana atacante";
         } else if (!playerAttackMode && aiAttackMode) {
-            winner = resolveAttackVsDefense(aiCard, aiPower, playerCard, playerPower, false);
             ruleDescription = "Defensa vs Ataque → Si ATK > DEF, gana atacante";
         } else {
-            winner = resolveDefenseVsDefense();
             ruleDescription = "Ambos en defensa → Empate automático";
         }
 
+        int outcome = battleOutcome(playerPower, playerAttackMode, aiPower, aiAttackMode);
+        winner = outcome > 0 ? "Jugador" : outcome < 0 ? "Máquina" : "Empate";
+        Metrics.recordBattle(outcome);
+        if (ratings != null) {
+            ratings.record(playerCard, aiCard, outcome);
+        }
+
         battleLog = buildBattleLog(playerCard, playerPower, playerMode,
                 aiCard, aiPower, aiMode, winner, ruleDescription);
 
@@ -394,7 +544,23 @@ public class Duel {
             listener.onScoreChanged(playerScore, aiScore);
         }
 
-        System.out.println("Batalla resuelta: " + winner + " - Marcador: " + playerScore + "-" + aiScore);
+        event.end();
+        if (event.shouldCommit()) {
+            event.round = currentRound;
+            event.playerCard = playerCard.getName();
+            event.aiCard = aiCard.getName();
+            event.playerPower = playerPower;
+            event.aiPower = aiPower;
+            event.winner = winner;
+            event.commit();
+        }
+
+        LOG.at(LogLevel.DEBUG)
+                .field("round", currentRound)
+                .field("winner", winner)
+                .field("playerScore", playerScore)
+                .field("aiScore", aiScore)
+                .log("Batalla resuelta: {} vs {}", playerCard.getName(), aiCard.getName());
 
         // Verificar si el duelo ha terminado
         checkDuelEnd();
@@ -406,39 +572,39 @@ public class Duel {
     }
 
     /**
-     * Resuelve batalla cuando ambos están en modo ataque.
-     */
-    private String resolveAttackVsAttack(Card playerCard, int playerPower, Card aiCard, int aiPower) {
-        if (playerPower > aiPower) {
-            return "Jugador";
-        } else if (aiPower > playerPower) {
-            return "Máquina";
-        } else {
-            return "Empate";
-        }
-    }
-
-    /**
-     * Resuelve batalla cuando uno ataca y otro defiende.
+     * Aplica las reglas de batalla a dos poderes ya resueltos según su modo.
+     * Ambos en ataque: gana el mayor ATK. Ataque vs defensa: gana el atacante solo si ATK > DEF.
+     * ¡En Yu-Gi-Oh! Real: ambos en defensa → Empate (nadie gana)
+     * @param playerPower      ATK o DEF de la carta del jugador según su modo
+     * @param playerAttackMode true si el jugador está en ataque
+     * @param aiPower          ATK o DEF de la carta de la máquina según su modo
+     * @param aiAttackMode     true si la máquina está en ataque
+     * @return 1 si gana el jugador, -1 si gana la máquina, 0 si es empate
      */
-    private String resolveAttackVsDefense(Card attackerCard, int attackerPower,
-                                          Card defenderCard, int defenderPower,
-                                          boolean isPlayerAttacking) {
-        if (attackerPower > defenderPower) {
-            return isPlayerAttacking ? "Jugador" : "Máquina";
-        } else if (attackerPower < defenderPower) {
-            return "Empate";
-        } else {
-            return "Empate";
+    public static int battleOutcome(int playerPower, boolean playerAttackMode,
+                                    int aiPower, boolean aiAttackMode) {
+        if (playerAttackMode && aiAttackMode) {
+            return Integer.compare(playerPower, aiPower);
+        } else if (playerAttackMode) {
+            return playerPower > aiPower ? 1 : 0;
+        } else if (aiAttackMode) {
+            return aiPower > playerPower ? -1 : 0;
         }
+        return 0;
     }
 
     /**
-     * Resuelve batalla cuando ambos están en defensa.
-     * ¡En Yu-Gi-Oh! Real: ambos en defensa → Empate (nadie gana)
+     * Aplica las reglas de batalla a dos cartas según sus modos.
+     * @param playerCard       Carta del jugador
+     * @param playerAttackMode true si el jugador está en ataque
+     * @param aiCard           Carta de la máquina
+     * @param aiAttackMode     true si la máquina está en ataque
+     * @return 1 si gana el jugador, -1 si gana la máquina, 0 si es empate
      */
-    private String resolveDefenseVsDefense() {
-        return "Empate";
+    public static int battleOutcome(Card playerCard, boolean playerAttackMode,
+                                    Card aiCard, boolean aiAttackMode) {
+        return battleOutcome(playerCard.getPower(playerAttackMode), playerAttackMode,
+                aiCard.getPower(aiAttackMode), aiAttackMode);
     }
 
     /**
@@ -490,23 +656,22 @@ public class Duel {
         aiSelectedCard = null;
 
         // Determinar turno aleatorio para esta nueva ronda
-        playerTurn = random.nextBoolean();
+        playerTurn = turnRandom.nextBoolean();
         waitingForPlayer = playerTurn;
 
-        System.out.println("PREPARANDO RONDA " + currentRound +
-                " - Turno: " + (playerTurn ? "JUGADOR" : "MÁQUINA"));
+        LOG.debug("Preparando ronda {} - Turno: {}", currentRound, playerTurn ? "JUGADOR" : "MÁQUINA");
 
         if (listener != null) {
             listener.onRoundStarted(currentRound, playerScore, aiScore);
 
             String turnPlayer = playerTurn ? "Jugador" : "Máquina";
             listener.onTurnStarted(turnPlayer, playerTurn);
+        }
 
-            // Si la máquina empieza, que juegue inmediatamente
-            if (!playerTurn) {
-                System.out.println("Máquina comienza la ronda " + currentRound);
-                startMachineTurn();
-            }
+        // Si la máquina empieza, que juegue inmediatamente (también sin listener, en modo headless)
+        if (!playerTurn) {
+            LOG.trace("Máquina comienza la ronda {}", currentRound);
+            startMachineTurn();
         }
     }
 
@@ -524,7 +689,16 @@ public class Duel {
 
             String winner = getWinner();
 
-            System.out.println("DUELO TERMINADO - Ganador: " + winner);
+            Metrics.DUELS_FINISHED.increment();
+            LOG.at(LogLevel.INFO)
+                    .field("winner", winner)
+                    .field("playerScore", playerScore)
+                    .field("aiScore", aiScore)
+                    .log("Duelo terminado");
+
+            if (recorder != null) {
+                recorder.finish(playerScore, aiScore);
+            }
 
             if (listener != null) {
                 listener.onDuelEnded(winner);
@@ -568,20 +742,20 @@ public class Duel {
      */
     private void checkIfReadyForBattle() {
         if (playerHasSelected && aiHasSelected) {
-            System.out.println("¡AMBOS SELECCIONARON! Resolviendo batalla...");
+            LOG.trace("Ambos seleccionaron - resolviendo batalla");
             // Ambos han seleccionado, resolver batalla
             resolveBattle(playerSelectedCard, aiSelectedCard);
         } else if (!playerTurn && !aiHasSelected) {
-            System.out.println("Máquina debe jugar...");
+            LOG.trace("Máquina debe jugar");
             // Es turno de la máquina y aún no ha seleccionado
             aiPlaysTurn();
         } else if (playerTurn && !playerHasSelected) {
-            System.out.println("Esperando selección del jugador...");
+            LOG.trace("Esperando selección del jugador");
             // Turno del jugador, esperando que seleccione
         } else if (!playerTurn && aiHasSelected) {
-            System.out.println("Máquina ya jugó, esperando jugador...");
+            LOG.trace("Máquina ya jugó, esperando jugador");
         } else {
-            System.out.println("Estado inesperado");
+            LOG.warn("Estado inesperado");
         }
     }
 
@@ -637,6 +811,10 @@ public class Duel {
         return aiScore;
     }
 
+    public long getDuelSeed() {
+        return duelSeed;
+    }
+
     public int getCurrentRound() {
         return currentRound;
     }
@@ -653,6 +831,17 @@ public class Duel {
         return new ArrayList<>(availableAiCards);
     }
 
+    public List<Card> getAvailablePlayerCards() {
+        return new ArrayList<>(availablePlayerCards);
+    }
+
+    /**
+     * @return Carta jugada por la máquina en la ronda actual, o null si aún no jugó
+     */
+    public Card getAiSelectedCard() {
+        return aiHasSelected ? aiSelectedCard : null;
+    }
+
     public int getAvailablePlayerCardsCount() {
         return availablePlayerCards.size();
     }
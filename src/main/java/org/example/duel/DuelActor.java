@@ -0,0 +1,228 @@
+package org.example.duel;
+
+import org.example.log.Log;
+import org.example.log.Logger;
+import org.example.scheduler.Scheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Envoltorio tipo actor de {@link Duel}: cualquier hilo puede mandarle órdenes y todas se
+ * ejecutan de una en una, en orden de llegada, sobre el mismo duelo. Dentro del actor no hay
+ * cerrojos; el duelo solo lo toca quien vacía el buzón.
+ *
+ * El buzón es una cola enlazada de varios productores y un solo consumidor: los productores
+ * enlazan su nodo con un {@code getAndSet} sobre la cola y el consumidor avanza la cabeza sin
+ * sincronización. El actor no tiene hilo propio: cuando llegan órdenes se programa una pasada
+ * en el {@link Executor}, así que miles de actores inactivos no cuestan hilos.
+ *
+ * Los temporizadores del duelo (turno diferido de la máquina) también pasan por el buzón.
+ */
+public class DuelActor {
+    private static final Logger LOG = Log.getLogger(DuelActor.class);
+
+    // Órdenes por pasada antes de ceder el hilo a otros actores
+    private static final int BATCH_SIZE = 64;
+
+    private final Duel duel;
+    private final Executor executor;
+
+    // Buzón: el consumidor es dueño de head; los productores solo tocan tail
+    private final AtomicReference<Node> tail;
+    private Node head;
+
+    // true mientras hay una pasada programada o en curso
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    /**
+     * @param duel     Duelo a encapsular; a partir de aquí solo debe usarse a través del actor
+     * @param executor Ejecutor de las pasadas por el buzón (p. ej. un hilo virtual por tarea)
+     * @param timer    Reloj de los retardos del duelo; sus tareas se reenvían al buzón
+     */
+    public DuelActor(Duel duel, Executor executor, Scheduler timer) {
+        this.duel = duel;
+        this.executor = executor;
+        this.head = new Node(null);
+        this.tail = new AtomicReference<>(head);
+        duel.setScheduler(confine(timer));
+    }
+
+    /**
+     * Ejecuta una orden sobre el duelo y devuelve su resultado.
+     * @param command Orden; recibe el duelo y corre en el actor
+     * @return Resultado, o la excepción de la orden; falla si el actor está detenido
+     */
+    public <T> CompletableFuture<T> ask(Function<Duel, T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (stopped) {
+            result.completeExceptionally(new IllegalStateException("El actor del duelo está detenido"));
+            return result;
+        }
+        enqueue(() -> {
+            if (stopped) {
+                result.completeExceptionally(new IllegalStateException("El actor del duelo está detenido"));
+                return;
+            }
+            try {
+                result.complete(command.apply(duel));
+            } catch (Throwable e) {
+                // También los Error: quien espera la respuesta no debe quedarse colgado
+                result.completeExceptionally(e);
+                if (e instanceof Error) {
+                    throw (Error) e;
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Ejecuta una orden sin resultado.
+     * @param command Orden; recibe el duelo y corre en el actor
+     * @return Se completa cuando la orden termina
+     */
+    public CompletableFuture<Void> tell(Consumer<Duel> command) {
+        return ask(d -> {
+            command.accept(d);
+            return null;
+        });
+    }
+
+    /**
+     * @see Duel#startDuel()
+     */
+    public CompletableFuture<Void> startDuel() {
+        return tell(Duel::startDuel);
+    }
+
+    /**
+     * @see Duel#playerSelectsCard(int)
+     */
+    public CompletableFuture<Void> playerSelectsCard(int cardIndex) {
+        return tell(d -> d.playerSelectsCard(cardIndex));
+    }
+
+    /**
+     * Detiene el actor tras las órdenes ya encoladas; las siguientes fallan.
+     * @return Se completa cuando el actor se ha detenido
+     */
+    public CompletableFuture<Void> stop() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(() -> {
+            if (!stopped) {
+                stopped = true;
+                duel.resetDuel();
+            }
+            done.complete(null);
+        });
+        return done;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Envuelve un planificador para que sus tareas se ejecuten en el actor.
+     * Una tarea cancelada desde el actor ya no se ejecuta aunque ya estuviera en el buzón.
+     * @param delegate Planificador real
+     * @return Planificador confinado al actor
+     */
+    private Scheduler confine(Scheduler delegate) {
+        return new Scheduler() {
+            @Override
+            public ScheduledTask schedule(long delayMillis, Runnable task) {
+                ConfinedTask confined = new ConfinedTask(task);
+                ScheduledTask timer = delegate.schedule(delayMillis, () -> enqueue(confined));
+                return () -> {
+                    confined.cancelled = true;
+                    timer.cancel();
+                };
+            }
+
+            @Override
+            public long currentTimeMillis() {
+                return delegate.currentTimeMillis();
+            }
+        };
+    }
+
+    private void enqueue(Runnable task) {
+        Node node = new Node(task);
+        Node previous = tail.getAndSet(node);
+        previous.next = node;
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Una pasada por el buzón; solo hay una a la vez gracias a {@link #scheduled}.
+     */
+    private void drain() {
+        try {
+            int processed = 0;
+            Node next;
+            while (processed < BATCH_SIZE && (next = head.next) != null) {
+                head = next;
+                Runnable task = next.task;
+                next.task = null;
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Error en el actor del duelo: {}", e.getMessage());
+                }
+                processed++;
+            }
+        } finally {
+            // Aunque una orden lance un Error, el actor no se queda bloqueado
+            scheduled.set(false);
+
+            // Un productor pudo encolar justo antes de liberar la marca
+            if (tail.get() != head) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /**
+     * Nodo del buzón.
+     */
+    private static final class Node {
+        private Runnable task;
+        private volatile Node next;
+
+        private Node(Runnable task) {
+            this.task = task;
+        }
+    }
+
+    /**
+     * Tarea diferida del duelo que se puede anular desde el actor.
+     */
+    private static final class ConfinedTask implements Runnable {
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private ConfinedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!cancelled) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.duel;
+
+import org.example.model.Card;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Estrategias de juego incluidas, seleccionables por nombre.
+ */
+public final class DuelPolicies {
+
+    /**
+     * Carta y modo aleatorios (comportamiento original de la máquina).
+     */
+    public static final DuelPolicy RANDOM = new DuelPolicy() {
+        @Override
+        public int selectCard(List<Card> available, Card opponentCard, RandomGenerator random) {
+            return random.nextInt(available.size());
+        }
+
+        @Override
+        public boolean selectAttackMode(Card card, Card opponentCard, RandomGenerator random) {
+            return random.nextBoolean();
+        }
+    };
+
+    /**
+     * Juega la carta con más poder en su mejor stat, atacando si su ATK es mayor o igual que su DEF.
+     */
+    public static final DuelPolicy STRONGEST = new DuelPolicy() {
+        @Override
+        public int selectCard(List<Card> available, Card opponentCard, RandomGenerator random) {
+            int best = 0;
+            for (int i = 1; i < available.size(); i++) {
+                if (power(available.get(i)) > power(available.get(best))) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        @Override
+        public boolean selectAttackMode(Card card, Card opponentCard, RandomGenerator random) {
+            return card.getAtk() >= card.getDef();
+        }
+    };
+
+    /**
+     * Si el rival ya jugó, elige la carta y el modo con mejor resultado en el peor caso
+     * (el rival puede estar en ataque o en defensa); si no, juega como {@link #STRONGEST}.
+     */
+    public static final DuelPolicy COUNTER = new DuelPolicy() {
+        @Override
+        public int selectCard(List<Card> available, Card opponentCard, RandomGenerator random) {
+            if (opponentCard == null) {
+                return STRONGEST.selectCard(available, null, random);
+            }
+            int best = 0;
+            int bestScore = Integer.MIN_VALUE;
+            for (int i = 0; i < available.size(); i++) {
+                Card card = available.get(i);
+                int score = Math.max(worstCase(card, true, opponentCard), worstCase(card, false, opponentCard));
+                // Desempate: guardar la carta más fuerte para rondas posteriores
+                if (score > bestScore || (score == bestScore && power(card) < power(available.get(best)))) {
+                    best = i;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        @Override
+        public boolean selectAttackMode(Card card, Card opponentCard, RandomGenerator random) {
+            if (opponentCard == null) {
+                return STRONGEST.selectAttackMode(card, null, random);
+            }
+            return worstCase(card, true, opponentCard) >= worstCase(card, false, opponentCard);
+        }
+    };
+
+    private static final Map<String, DuelPolicy> BY_NAME = new LinkedHashMap<>();
+
+    static {
+        BY_NAME.put("random", RANDOM);
+        BY_NAME.put("strongest", STRONGEST);
+        BY_NAME.put("counter", COUNTER);
+    }
+
+    private DuelPolicies() {
+    }
+
+    /**
+     * @param name Nombre de la estrategia (random, strongest, counter)
+     * @return Estrategia correspondiente
+     * @throws IllegalArgumentException Si el nombre no existe
+     */
+    public static DuelPolicy byName(String name) {
+        DuelPolicy policy = BY_NAME.get(name.toLowerCase());
+        if (policy == null) {
+            throw new IllegalArgumentException("Estrategia desconocida: " + name + " (disponibles: " + names() + ")");
+        }
+        return policy;
+    }
+
+    /**
+     * @return Nombres de las estrategias disponibles
+     */
+    public static Set<String> names() {
+        return BY_NAME.keySet();
+    }
+
+    private static int power(Card card) {
+        return Math.max(card.getAtk(), card.getDef());
+    }
+
+    /**
+     * Resultado de jugar la carta en el modo indicado contra el peor modo posible del rival.
+     */
+    private static int worstCase(Card card, boolean attackMode, Card opponentCard) {
+        return Math.min(Duel.battleOutcome(card, attackMode, opponentCard, true),
+                Duel.battleOutcome(card, attackMode, opponentCard, false));
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.duel;
+
+import org.example.model.Card;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Estrategia de juego de un lado del duelo: qué carta jugar y en qué modo.
+ * Ver {@link DuelPolicies} para las estrategias incluidas.
+ */
+public interface DuelPolicy {
+
+    /**
+     * Elige la carta a jugar en la ronda.
+     * @param available    Cartas aún disponibles (no vacía)
+     * @param opponentCard Carta ya jugada por el rival en esta ronda, o null si aún no jugó
+     * @param random       Generador aleatorio del duelo
+     * @return Índice dentro de {@code available}
+     */
+    int selectCard(List<Card> available, Card opponentCard, RandomGenerator random);
+
+    /**
+     * Elige el modo de batalla de la carta jugada.
+     * @param card         Carta jugada
+     * @param opponentCard Carta ya jugada por el rival en esta ronda, o null si aún no jugó
+     * @param random       Generador aleatorio del duelo
+     * @return true para ataque, false para defensa
+     */
+    boolean selectAttackMode(Card card, Card opponentCard, RandomGenerator random);
+}
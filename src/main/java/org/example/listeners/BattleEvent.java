@@ -0,0 +1,106 @@
+package org.example.listeners;
+
+/**
+ * Evento de duelo reutilizable, equivalente a una llamada a {@link BattleListener}.
+ * Las ranuras del {@link BattleEventBus} se preasignan y se sobrescriben en cada
+ * publicación, por lo que publicar no crea objetos nuevos.
+ */
+public final class BattleEvent {
+
+    /**
+     * Método de {@link BattleListener} al que corresponde el evento.
+     */
+    public enum Type {
+        TURN, SCORE_CHANGED, DUEL_ENDED, ERROR, CARDS_LOADED, DUEL_STARTED, CARD_SELECTED,
+        ROUND_STARTED, TURN_STARTED, CARD_LOADED, STATUS_UPDATE, DUEL_RESET, BATTLE_MODE_SET
+    }
+
+    Type type;
+    String text1;
+    String text2;
+    String text3;
+    String text4;
+    int number1;
+    int number2;
+    int number3;
+    boolean flag;
+
+    /**
+     * @return Tipo del evento
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Rellena la ranura con los datos de un evento.
+     */
+    void set(Type type, String text1, String text2, String text3, String text4,
+             int number1, int number2, int number3, boolean flag) {
+        this.type = type;
+        this.text1 = text1;
+        this.text2 = text2;
+        this.text3 = text3;
+        this.text4 = text4;
+        this.number1 = number1;
+        this.number2 = number2;
+        this.number3 = number3;
+        this.flag = flag;
+    }
+
+    /**
+     * Copia los datos de otra ranura.
+     */
+    void copyFrom(BattleEvent other) {
+        set(other.type, other.text1, other.text2, other.text3, other.text4,
+                other.number1, other.number2, other.number3, other.flag);
+    }
+
+    /**
+     * Entrega el evento al método correspondiente del listener.
+     * @param listener Listener destino
+     */
+    public void dispatchTo(BattleListener listener) {
+        switch (type) {
+            case TURN:
+                listener.onTurn(text1, text2, text3, text4);
+                break;
+            case SCORE_CHANGED:
+                listener.onScoreChanged(number1, number2);
+                break;
+            case DUEL_ENDED:
+                listener.onDuelEnded(text1);
+                break;
+            case ERROR:
+                listener.onError(text1);
+                break;
+            case CARDS_LOADED:
+                listener.onCardsLoaded();
+                break;
+            case DUEL_STARTED:
+                listener.onDuelStarted(text1, number1);
+                break;
+            case CARD_SELECTED:
+                listener.onCardSelected(text1, text2, number1);
+                break;
+            case ROUND_STARTED:
+                listener.onRoundStarted(number1, number2, number3);
+                break;
+            case TURN_STARTED:
+                listener.onTurnStarted(text1, flag);
+                break;
+            case CARD_LOADED:
+                listener.onCardLoaded(number1, number2, text1);
+                break;
+            case STATUS_UPDATE:
+                listener.onStatusUpdate(text1, flag);
+                break;
+            case DUEL_RESET:
+                listener.onDuelReset();
+                break;
+            case BATTLE_MODE_SET:
+                listener.onBattleModeSet(text1, flag);
+                break;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package org.example.listeners;
+
+import org.example.log.Log;
+import org.example.log.LogLevel;
+import org.example.log.Logger;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bus de eventos asíncrono entre {@link org.example.duel.Duel} y cualquier número de listeners.
+ * Es un buffer circular sin locks: el duelo publica copiando el evento en una ranura
+ * preasignada y cada suscriptor la lee desde su propio hilo con su propio cursor, por lo
+ * que un listener lento (ej: diálogos modales) no detiene la lógica del juego.
+ *
+ * Uso: {@code duel.setBattleListener(bus); bus.subscribe("ui", frame, Backpressure.BLOCK, 64);}
+ */
+public class BattleEventBus implements BattleListener, AutoCloseable {
+    private static final Logger LOG = Log.getLogger(BattleEventBus.class);
+
+    /**
+     * Política cuando un suscriptor se queda atrás y el buffer se llena.
+     */
+    public enum Backpressure {
+        // El publicador espera a que el suscriptor libere espacio (no se pierden eventos)
+        BLOCK,
+        // El suscriptor pierde los eventos más antiguos (el publicador nunca espera)
+        DROP
+    }
+
+    // Marca de ranura en escritura
+    private static final long WRITING = Long.MIN_VALUE;
+
+    private final Slot[] slots;
+    private final int mask;
+
+    // Última secuencia reclamada por un publicador
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    // Suscriptores actuales (copy-on-write)
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    // Mínimo cursor conocido de los suscriptores BLOCK (caché para no recorrerlos en cada publicación)
+    private volatile long gatingCache = Long.MAX_VALUE;
+
+    private volatile boolean closed;
+
+    /**
+     * @param capacity Número de ranuras (se redondea a potencia de 2)
+     */
+    public BattleEventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Suscribe un listener con su propio hilo consumidor.
+     * @param name         Nombre del suscriptor (para el hilo y los logs)
+     * @param listener     Listener que recibirá los eventos
+     * @param backpressure Política si el suscriptor se queda atrás
+     * @param batchSize    Máximo de eventos procesados antes de publicar el cursor
+     * @return Suscripción, para cancelarla o consultar eventos perdidos
+     */
+    public synchronized Subscription subscribe(String name, BattleListener listener,
+                                               Backpressure backpressure, int batchSize) {
+        if (closed) {
+            throw new IllegalStateException("El bus de eventos está cerrado");
+        }
+        Subscription subscription = new Subscription(name, listener, backpressure,
+                Math.max(batchSize, 1), claimed.get());
+        Subscription[] updated = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        updated[updated.length - 1] = subscription;
+        subscriptions = updated;
+        gatingCache = Long.MIN_VALUE;
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Espera a que todos los suscriptores hayan procesado los eventos publicados hasta ahora.
+     * @param timeoutMillis Tiempo máximo de espera
+     * @return true si se vaciaron a tiempo
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Subscription subscription : subscriptions) {
+            while (subscription.cursor < target && subscription.running) {
+                if (System.nanoTime() > deadline) return false;
+                LockSupport.parkNanos(50_000);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Detiene todos los hilos consumidores.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.stop();
+        }
+        subscriptions = new Subscription[0];
+    }
+
+    /**
+     * Publica un evento. Solo espera si un suscriptor BLOCK tiene el buffer lleno.
+     */
+    private void publish(BattleEvent.Type type, String text1, String text2, String text3, String text4,
+                         int number1, int number2, int number3, boolean flag) {
+        if (closed) return;
+
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint >= gatingCache) {
+            waitForCapacity(wrapPoint);
+        }
+
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.sequence = WRITING;
+        VarHandle.storeStoreFence();
+        slot.event.set(type, text1, text2, text3, text4, number1, number2, number3, flag);
+        slot.sequence = sequence;
+    }
+
+    private void waitForCapacity(long wrapPoint) {
+        int idle = 0;
+        long gate;
+        while (wrapPoint >= (gate = minimumBlockingCursor())) {
+            if (closed) return;
+            idle = backoff(idle);
+        }
+        gatingCache = gate;
+    }
+
+    private long minimumBlockingCursor() {
+        long minimum = Long.MAX_VALUE;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.backpressure == Backpressure.BLOCK && subscription.running) {
+                minimum = Math.min(minimum, subscription.cursor);
+            }
+        }
+        return minimum;
+    }
+
+    private synchronized void remove(Subscription subscription) {
+        Subscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                Subscription[] updated = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscriptions = updated;
+                gatingCache = Long.MIN_VALUE;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Espera progresiva: spin, yield y finalmente park hasta 1 ms.
+     */
+    private static int backoff(int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(1_000_000L, 1_000L << Math.min(idle - 200, 10)));
+        }
+        return idle + 1;
+    }
+
+    /**
+     * Ranura del buffer: secuencia publicada y datos del evento.
+     */
+    private static final class Slot {
+        private volatile long sequence = -1;
+        private final BattleEvent event = new BattleEvent();
+    }
+
+    /**
+     * Suscriptor con su propio cursor e hilo consumidor.
+     */
+    public final class Subscription {
+        private final String name;
+        private final BattleListener listener;
+        private final Backpressure backpressure;
+        private final int batchSize;
+        private final Thread thread;
+
+        // Última secuencia procesada
+        private volatile long cursor;
+        private volatile boolean running = true;
+
+        // Eventos perdidos por política DROP
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Subscription(String name, BattleListener listener, Backpressure backpressure,
+                             int batchSize, long startCursor) {
+            this.name = name;
+            this.listener = listener;
+            this.backpressure = backpressure;
+            this.batchSize = batchSize;
+            this.cursor = startCursor;
+            this.thread = new Thread(this::consume, "battle-bus-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * @return Eventos perdidos porque el suscriptor no alcanzó al publicador
+         */
+        public long getDroppedEvents() {
+            return dropped.get();
+        }
+
+        /**
+         * @return Eventos publicados pendientes de procesar por este suscriptor
+         */
+        public long getLag() {
+            return Math.max(claimed.get() - cursor, 0);
+        }
+
+        /**
+         * Cancela la suscripción y detiene su hilo.
+         */
+        public void unsubscribe() {
+            remove(this);
+            stop();
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        private void consume() {
+            BattleEvent local = new BattleEvent();
+            long next = cursor + 1;
+            int idle = 0;
+
+            while (running) {
+                int processed = 0;
+                while (processed < batchSize) {
+                    Slot slot = slots[(int) (next & mask)];
+                    long published = slot.sequence;
+
+                    if (published == next) {
+                        local.copyFrom(slot.event);
+                        VarHandle.loadLoadFence();
+                        if (slot.sequence == next) {
+                            deliver(local);
+                            next++;
+                            processed++;
+                            continue;
+                        }
+                    } else if (published != WRITING && published < next) {
+                        break; // Aún no publicado
+                    } else if (published == WRITING && claimed.get() - slots.length < next) {
+                        break; // Se está escribiendo nuestro evento
+                    }
+
+                    // El publicador sobrescribió la ranura: saltar a los eventos aún disponibles
+                    long resume = claimed.get() - slots.length + 1;
+                    if (resume > next) {
+                        dropped.addAndGet(resume - next);
+                        next = resume;
+                    } else {
+                        break;
+                    }
+                }
+
+                if (processed > 0) {
+                    cursor = next - 1;
+                    idle = 0;
+                } else {
+                    cursor = next - 1;
+                    idle = backoff(idle);
+                }
+            }
+        }
+
+        private void deliver(BattleEvent event) {
+            try {
+                event.dispatchTo(listener);
+            } catch (RuntimeException e) {
+                LOG.at(LogLevel.WARN).error(e).log("Error en suscriptor {} ({})", name, event.getType());
+            }
+        }
+    }
+
+    @Override
+    public void onTurn(String playerCard, String aiCard, String winner, String battleLog) {
+        publish(BattleEvent.Type.TURN, playerCard, aiCard, winner, battleLog, 0, 0, 0, false);
+    }
+
+    @Override
+    public void onScoreChanged(int playerScore, int aiScore) {
+        publish(BattleEvent.Type.SCORE_CHANGED, null, null, null, null, playerScore, aiScore, 0, false);
+    }
+
+    @Override
+    public void onDuelEnded(String winner) {
+        publish(BattleEvent.Type.DUEL_ENDED, winner, null, null, null, 0, 0, 0, false);
+    }
+
+    @Override
+    public void onError(String errorMessage) {
+        publish(BattleEvent.Type.ERROR, errorMessage, null, null, null, 0, 0, 0, false);
+    }
+
+    @Override
+    public void onCardsLoaded() {
+        publish(BattleEvent.Type.CARDS_LOADED, null, null, null, null, 0, 0, 0, false);
+    }
+
+    @Override
+    public void onDuelStarted(String starter, int roundNumber) {
+        publish(BattleEvent.Type.DUEL_STARTED, starter, null, null, null, roundNumber, 0, 0, false);
+    }
+
+    @Override
+    public void onCardSelected(String playerName, String cardName, int cardIndex) {
+        publish(BattleEvent.Type.CARD_SELECTED, playerName, cardName, null, null, cardIndex, 0, 0, false);
+    }
+
+    @Override
+    public void onRoundStarted(int roundNumber, int playerScore, int aiScore) {
+        publish(BattleEvent.Type.ROUND_STARTED, null, null, null, null, roundNumber, playerScore, aiScore, false);
+    }
+
+    @Override
+    public void onTurnStarted(String playerName, boolean isPlayerTurn) {
+        publish(BattleEvent.Type.TURN_STARTED, playerName, null, null, null, 0, 0, 0, isPlayerTurn);
+    }
+
+    @Override
+    public void onCardLoaded(int cardsLoaded, int totalCards, String cardName) {
+        publish(BattleEvent.Type.CARD_LOADED, cardName, null, null, null, cardsLoaded, totalCards, 0, false);
+    }
+
+    @Override
+    public void onStatusUpdate(String statusMessage, boolean isError) {
+        publish(BattleEvent.Type.STATUS_UPDATE, statusMessage, null, null, null, 0, 0, 0, isError);
+    }
+
+    @Override
+    public void onDuelReset() {
+        publish(BattleEvent.Type.DUEL_RESET, null, null, null, null, 0, 0, 0, false);
+    }
+
+    @Override
+    public void onBattleModeSet(String playerName, boolean isAttackMode) {
+        publish(BattleEvent.Type.BATTLE_MODE_SET, playerName, null, null, null, 0, 0, 0, isAttackMode);
+    }
+}
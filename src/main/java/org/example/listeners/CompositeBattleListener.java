@@ -0,0 +1,115 @@
+package org.example.listeners;
+
+/**
+ * Reenvía cada evento a varios listeners, en orden y en el mismo hilo.
+ * Sirve para que un duelo, que admite un solo listener, alimente a varios consumidores.
+ */
+public class CompositeBattleListener implements BattleListener {
+    private final BattleListener[] listeners;
+
+    /**
+     * @param listeners Destinos de los eventos (se ignoran los null)
+     */
+    public CompositeBattleListener(BattleListener... listeners) {
+        int count = 0;
+        for (BattleListener listener : listeners) {
+            if (listener != null) count++;
+        }
+        this.listeners = new BattleListener[count];
+        int i = 0;
+        for (BattleListener listener : listeners) {
+            if (listener != null) this.listeners[i++] = listener;
+        }
+    }
+
+    @Override
+    public void onTurn(String playerCard, String aiCard, String winner, String battleLog) {
+        for (BattleListener listener : listeners) {
+            listener.onTurn(playerCard, aiCard, winner, battleLog);
+        }
+    }
+
+    @Override
+    public void onScoreChanged(int playerScore, int aiScore) {
+        for (BattleListener listener : listeners) {
+            listener.onScoreChanged(playerScore, aiScore);
+        }
+    }
+
+    @Override
+    public void onDuelEnded(String winner) {
+        for (BattleListener listener : listeners) {
+            listener.onDuelEnded(winner);
+        }
+    }
+
+    @Override
+    public void onError(String errorMessage) {
+        for (BattleListener listener : listeners) {
+            listener.onError(errorMessage);
+        }
+    }
+
+    @Override
+    public void onCardsLoaded() {
+        for (BattleListener listener : listeners) {
+            listener.onCardsLoaded();
+        }
+    }
+
+    @Override
+    public void onDuelStarted(String starter, int roundNumber) {
+        for (BattleListener listener : listeners) {
+            listener.onDuelStarted(starter, roundNumber);
+        }
+    }
+
+    @Override
+    public void onCardSelected(String playerName, String cardName, int cardIndex) {
+        for (BattleListener listener : listeners) {
+            listener.onCardSelected(playerName, cardName, cardIndex);
+        }
+    }
+
+    @Override
+    public void onRoundStarted(int roundNumber, int playerScore, int aiScore) {
+        for (BattleListener listener : listeners) {
+            listener.onRoundStarted(roundNumber, playerScore, aiScore);
+        }
+    }
+
+    @Override
+    public void onTurnStarted(String playerName, boolean isPlayerTurn) {
+        for (BattleListener listener : listeners) {
+            listener.onTurnStarted(playerName, isPlayerTurn);
+        }
+    }
+
+    @Override
+    public void onCardLoaded(int cardsLoaded, int totalCards, String cardName) {
+        for (BattleListener listener : listeners) {
+            listener.onCardLoaded(cardsLoaded, totalCards, cardName);
+        }
+    }
+
+    @Override
+    public void onStatusUpdate(String statusMessage, boolean isError) {
+        for (BattleListener listener : listeners) {
+            listener.onStatusUpdate(statusMessage, isError);
+        }
+    }
+
+    @Override
+    public void onDuelReset() {
+        for (BattleListener listener : listeners) {
+            listener.onDuelReset();
+        }
+    }
+
+    @Override
+    public void onBattleModeSet(String playerName, boolean isAttackMode) {
+        for (BattleListener listener : listeners) {
+            listener.onBattleModeSet(playerName, isAttackMode);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envía los eventos a otro appender desde un hilo en segundo plano.
+ * El hilo que registra solo encola el evento (el formateo y la escritura, que están
+ * sincronizados en la consola, salen del camino crítico). Si la cola está llena
+ * el evento se descarta y se cuenta, salvo los de nivel ERROR, que esperan.
+ */
+public class AsyncAppender implements LogAppender {
+    private static final int BATCH_SIZE = 128;
+
+    private final LogAppender delegate;
+    private final BlockingQueue<LogEvent> queue;
+    private final Thread thread;
+
+    // Eventos descartados por cola llena
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param delegate      Appender que escribe los eventos
+     * @param queueCapacity Eventos pendientes como máximo
+     */
+    public AsyncAppender(LogAppender delegate, int queueCapacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::run, "log-appender");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        if (!running) {
+            delegate.append(event);
+            return;
+        }
+        if (queue.offer(event)) return;
+
+        if (event.getLevel() == LogLevel.ERROR) {
+            try {
+                queue.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return Eventos descartados porque la cola estaba llena
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Escribe los eventos pendientes y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    private void run() {
+        List<LogEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                LogEvent first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // close(): vaciar lo pendiente y terminar
+            }
+            queue.drainTo(batch, BATCH_SIZE - batch.size());
+            for (LogEvent event : batch) {
+                try {
+                    delegate.append(event);
+                } catch (RuntimeException e) {
+                    System.err.printf("Error escribiendo log: %s%n", e.getMessage());
+                }
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.log;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escribe los eventos en la consola, uno por línea:
+ * {@code HH:mm:ss.SSS NIVEL [hilo] logger - mensaje clave=valor ...}.
+ * WARN y ERROR van a {@code System.err}; el resto a {@code System.out}.
+ */
+public class ConsoleAppender implements LogAppender {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    @Override
+    public void append(LogEvent event) {
+        PrintStream out = event.getLevel().compareTo(LogLevel.WARN) >= 0 ? System.err : System.out;
+        out.println(format(event));
+        if (event.getError() != null) {
+            event.getError().printStackTrace(out);
+        }
+    }
+
+    /**
+     * @return Línea de texto del evento (sin salto de línea)
+     */
+    public static String format(LogEvent event) {
+        LocalTime time = LocalTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()), ZoneId.systemDefault());
+        StringBuilder line = new StringBuilder(128)
+                .append(TIME_FORMAT.format(time)).append(' ')
+                .append(String.format("%-5s", event.getLevel())).append(" [")
+                .append(event.getThreadName()).append("] ")
+                .append(event.getLoggerName()).append(" - ")
+                .append(event.getMessage());
+        for (int i = 0; i < event.getFieldCount(); i++) {
+            line.append(' ').append(event.getFieldKey(i)).append('=').append(event.getFieldValue(i));
+        }
+        return line.toString();
+    }
+}
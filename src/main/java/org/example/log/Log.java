@@ -0,0 +1,77 @@
+package org.example.log;
+
+import java.util.Locale;
+
+/**
+ * Punto de entrada del logging: crea loggers y reparte los eventos al appender actual.
+ *
+ * El nivel mínimo se fija al arrancar con {@code -Dygo.log.level=DEBUG|INFO|WARN|ERROR|OFF}
+ * (INFO por defecto) y es constante durante la ejecución, de modo que los niveles
+ * desactivados no tienen coste. Con {@code -Dygo.log.async=false} se escribe en el
+ * mismo hilo (útil para depurar).
+ */
+public final class Log {
+    // Umbral mínimo (ordinal de LogLevel), constante para el JIT
+    static final int THRESHOLD = parseLevel(System.getProperty("ygo.log.level")).ordinal();
+
+    private static volatile LogAppender appender = createDefaultAppender();
+
+    private Log() {
+    }
+
+    /**
+     * @param type Clase propietaria del logger
+     * @return Logger con el nombre simple de la clase
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    /**
+     * @return Nivel mínimo activo
+     */
+    public static LogLevel getLevel() {
+        return LogLevel.values()[THRESHOLD];
+    }
+
+    /**
+     * Sustituye el appender actual, cerrando el anterior.
+     * @param newAppender Nuevo destino de los eventos
+     */
+    public static void setAppender(LogAppender newAppender) {
+        LogAppender previous = appender;
+        appender = newAppender;
+        if (previous != null && previous != newAppender) {
+            previous.close();
+        }
+    }
+
+    static void dispatch(LogEvent event) {
+        try {
+            appender.append(event);
+        } catch (RuntimeException e) {
+            System.err.printf("Error en appender de log: %s%n", e.getMessage());
+        }
+    }
+
+    private static LogAppender createDefaultAppender() {
+        LogAppender console = new ConsoleAppender();
+        if (THRESHOLD == LogLevel.OFF.ordinal()
+                || "false".equalsIgnoreCase(System.getProperty("ygo.log.async"))) {
+            return console;
+        }
+        AsyncAppender async = new AsyncAppender(console, 4096);
+        Runtime.getRuntime().addShutdownHook(new Thread(async::close, "log-appender-close"));
+        return async;
+    }
+
+    private static LogLevel parseLevel(String value) {
+        if (value == null || value.isBlank()) return LogLevel.INFO;
+        try {
+            return LogLevel.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.printf("Nivel de log desconocido '%s', usando INFO%n", value);
+            return LogLevel.INFO;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.log;
+
+/**
+ * Destino de los eventos de log.
+ */
+public interface LogAppender extends AutoCloseable {
+
+    /**
+     * Procesa un evento. Puede llamarse desde cualquier hilo.
+     * @param event Evento ya filtrado por nivel
+     */
+    void append(LogEvent event);
+
+    /**
+     * Libera los recursos del destino.
+     */
+    @Override
+    default void close() {
+    }
+}
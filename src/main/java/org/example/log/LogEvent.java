@@ -0,0 +1,89 @@
+package org.example.log;
+
+/**
+ * Evento de log inmutable. Guarda el mensaje como plantilla con parámetros {@code {}}
+ * y los campos estructurados por separado; el texto solo se construye al escribirlo.
+ */
+public final class LogEvent {
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final String[] NO_KEYS = new String[0];
+
+    private final long timestamp;
+    private final LogLevel level;
+    private final String loggerName;
+    private final String threadName;
+    private final String template;
+    private final Object[] args;
+    private final String[] fieldKeys;
+    private final Object[] fieldValues;
+    private final Throwable error;
+
+    LogEvent(LogLevel level, String loggerName, String template, Object[] args,
+             String[] fieldKeys, Object[] fieldValues, Throwable error) {
+        this.timestamp = System.currentTimeMillis();
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = Thread.currentThread().getName();
+        this.template = template != null ? template : "";
+        this.args = args != null ? args : NO_ARGS;
+        this.fieldKeys = fieldKeys != null ? fieldKeys : NO_KEYS;
+        this.fieldValues = fieldValues != null ? fieldValues : NO_ARGS;
+        this.error = error;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return Número de campos estructurados
+     */
+    public int getFieldCount() {
+        return fieldKeys.length;
+    }
+
+    public String getFieldKey(int index) {
+        return fieldKeys[index];
+    }
+
+    public Object getFieldValue(int index) {
+        return fieldValues[index];
+    }
+
+    /**
+     * @return Excepción asociada o null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Sustituye cada {@code {}} de la plantilla por el siguiente parámetro.
+     * @return Mensaje formateado
+     */
+    public String getMessage() {
+        if (args.length == 0) return template;
+
+        StringBuilder text = new StringBuilder(template.length() + 16 * args.length);
+        int from = 0;
+        int arg = 0;
+        int at;
+        while (arg < args.length && (at = template.indexOf("{}", from)) >= 0) {
+            text.append(template, from, at).append(args[arg++]);
+            from = at + 2;
+        }
+        return text.append(template, from, template.length()).toString();
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.log;
+
+/**
+ * Niveles de log, de más a menos detallado. {@link #OFF} desactiva todo.
+ */
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,224 @@
+package org.example.log;
+
+import java.util.Arrays;
+
+/**
+ * Logger con nombre. Las comprobaciones de nivel comparan con un umbral {@code static final}
+ * ({@link Log#THRESHOLD}), que el JIT pliega como constante: con el nivel desactivado una
+ * llamada no formatea ni crea objetos. Los mensajes usan {@code {}} como parámetro.
+ *
+ * Uso: {@code LOG.debug("Carta {} (ATK: {})", name, atk);}
+ * o con campos: {@code LOG.at(LogLevel.INFO).field("card", name).field("ms", ms).log("Carta obtenida");}
+ */
+public final class Logger {
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level != LogLevel.OFF && level.ordinal() >= Log.THRESHOLD;
+    }
+
+    public boolean isTraceEnabled() {
+        return Log.THRESHOLD <= LogLevel.TRACE.ordinal();
+    }
+
+    public boolean isDebugEnabled() {
+        return Log.THRESHOLD <= LogLevel.DEBUG.ordinal();
+    }
+
+    public boolean isInfoEnabled() {
+        return Log.THRESHOLD <= LogLevel.INFO.ordinal();
+    }
+
+    public boolean isWarnEnabled() {
+        return Log.THRESHOLD <= LogLevel.WARN.ordinal();
+    }
+
+    public boolean isErrorEnabled() {
+        return Log.THRESHOLD <= LogLevel.ERROR.ordinal();
+    }
+
+    // TRACE
+
+    public void trace(String message) {
+        if (isTraceEnabled()) emit(LogLevel.TRACE, message, null, null);
+    }
+
+    public void trace(String message, Object arg) {
+        if (isTraceEnabled()) emit(LogLevel.TRACE, message, new Object[]{arg}, null);
+    }
+
+    public void trace(String message, Object arg1, Object arg2) {
+        if (isTraceEnabled()) emit(LogLevel.TRACE, message, new Object[]{arg1, arg2}, null);
+    }
+
+    public void trace(String message, Object... args) {
+        if (isTraceEnabled()) emit(LogLevel.TRACE, message, args, null);
+    }
+
+    // DEBUG
+
+    public void debug(String message) {
+        if (isDebugEnabled()) emit(LogLevel.DEBUG, message, null, null);
+    }
+
+    public void debug(String message, Object arg) {
+        if (isDebugEnabled()) emit(LogLevel.DEBUG, message, new Object[]{arg}, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isDebugEnabled()) emit(LogLevel.DEBUG, message, new Object[]{arg1, arg2}, null);
+    }
+
+    public void debug(String message, Object... args) {
+        if (isDebugEnabled()) emit(LogLevel.DEBUG, message, args, null);
+    }
+
+    // INFO
+
+    public void info(String message) {
+        if (isInfoEnabled()) emit(LogLevel.INFO, message, null, null);
+    }
+
+    public void info(String message, Object arg) {
+        if (isInfoEnabled()) emit(LogLevel.INFO, message, new Object[]{arg}, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        if (isInfoEnabled()) emit(LogLevel.INFO, message, new Object[]{arg1, arg2}, null);
+    }
+
+    public void info(String message, Object... args) {
+        if (isInfoEnabled()) emit(LogLevel.INFO, message, args, null);
+    }
+
+    // WARN
+
+    public void warn(String message) {
+        if (isWarnEnabled()) emit(LogLevel.WARN, message, null, null);
+    }
+
+    public void warn(String message, Object arg) {
+        if (isWarnEnabled()) emit(LogLevel.WARN, message, new Object[]{arg}, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        if (isWarnEnabled()) emit(LogLevel.WARN, message, new Object[]{arg1, arg2}, null);
+    }
+
+    public void warn(String message, Object... args) {
+        if (isWarnEnabled()) emit(LogLevel.WARN, message, args, null);
+    }
+
+    public void warn(String message, Throwable error) {
+        if (isWarnEnabled()) emit(LogLevel.WARN, message, null, error);
+    }
+
+    // ERROR
+
+    public void error(String message) {
+        if (isErrorEnabled()) emit(LogLevel.ERROR, message, null, null);
+    }
+
+    public void error(String message, Object arg) {
+        if (isErrorEnabled()) emit(LogLevel.ERROR, message, new Object[]{arg}, null);
+    }
+
+    public void error(String message, Object arg1, Object arg2) {
+        if (isErrorEnabled()) emit(LogLevel.ERROR, message, new Object[]{arg1, arg2}, null);
+    }
+
+    public void error(String message, Object... args) {
+        if (isErrorEnabled()) emit(LogLevel.ERROR, message, args, null);
+    }
+
+    public void error(String message, Throwable error) {
+        if (isErrorEnabled()) emit(LogLevel.ERROR, message, null, error);
+    }
+
+    /**
+     * Inicia un evento con campos estructurados. Si el nivel está desactivado devuelve
+     * un constructor vacío compartido que ignora todas las llamadas.
+     * @param level Nivel del evento
+     * @return Constructor del evento
+     */
+    public EventBuilder at(LogLevel level) {
+        return isEnabled(level) ? new EventBuilder(this, level) : EventBuilder.DISABLED;
+    }
+
+    private void emit(LogLevel level, String message, Object[] args, Throwable error) {
+        Log.dispatch(new LogEvent(level, name, message, args, null, null, error));
+    }
+
+    /**
+     * Constructor de eventos con campos clave-valor (ej: card, latencyMs, attempt).
+     */
+    public static final class EventBuilder {
+        static final EventBuilder DISABLED = new EventBuilder(null, LogLevel.OFF);
+
+        private final Logger logger;
+        private final LogLevel level;
+        private String[] keys;
+        private Object[] values;
+        private int count;
+        private Throwable error;
+
+        private EventBuilder(Logger logger, LogLevel level) {
+            this.logger = logger;
+            this.level = level;
+        }
+
+        /**
+         * Añade un campo estructurado.
+         */
+        public EventBuilder field(String key, Object value) {
+            if (logger == null) return this;
+            if (keys == null) {
+                keys = new String[4];
+                values = new Object[4];
+            } else if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            keys[count] = key;
+            values[count] = value;
+            count++;
+            return this;
+        }
+
+        /**
+         * Añade un campo numérico (solo se convierte a objeto si el nivel está activo).
+         */
+        public EventBuilder field(String key, long value) {
+            return logger == null ? this : field(key, (Object) value);
+        }
+
+        /**
+         * Asocia una excepción al evento.
+         */
+        public EventBuilder error(Throwable error) {
+            this.error = error;
+            return this;
+        }
+
+        /**
+         * Emite el evento.
+         * @param message Plantilla del mensaje
+         * @param args    Parámetros de la plantilla
+         */
+        public void log(String message, Object... args) {
+            if (logger == null) return;
+            Log.dispatch(new LogEvent(level, logger.name, message, args,
+                    keys != null ? Arrays.copyOf(keys, count) : null,
+                    values != null ? Arrays.copyOf(values, count) : null,
+                    error));
+        }
+    }
+}
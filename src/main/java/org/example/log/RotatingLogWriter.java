@@ -0,0 +1,191 @@
+package org.example.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escribe líneas de texto en un archivo desde un hilo en segundo plano, rotando el archivo
+ * al alcanzar un tamaño máximo (archivo.log → archivo.log.1 → ... → archivo.log.N).
+ * Quien escribe solo encola la línea; si la cola está llena la línea se descarta y se cuenta.
+ */
+public class RotatingLogWriter implements AutoCloseable {
+    // Líneas escritas por lote antes de hacer flush
+    private static final int BATCH_SIZE = 256;
+
+    // Marca de cierre: despierta al hilo sin interrumpirlo (una interrupción cerraría el
+    // FileChannel del archivo con ClosedByInterruptException y se perderían las líneas pendientes)
+    private static final String CLOSE_MARK = new String("");
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxBackups;
+    private final BlockingQueue<String> queue;
+    private final Thread thread;
+
+    // Líneas descartadas por cola llena
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+    private BufferedWriter writer;
+    private long currentBytes;
+
+    /**
+     * @param file          Archivo de log
+     * @param maxBytes      Tamaño a partir del cual se rota
+     * @param maxBackups    Número de archivos antiguos que se conservan
+     * @param queueCapacity Líneas pendientes como máximo
+     */
+    public RotatingLogWriter(Path file, long maxBytes, int maxBackups, int queueCapacity) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxBackups = maxBackups;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::run, "log-writer-" + file.getFileName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Encola una línea para escribirla en el archivo.
+     * @param line Línea sin salto de línea final
+     */
+    public void write(String line) {
+        if (!running || !queue.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return Líneas descartadas porque la cola estaba llena
+     */
+    public long getDroppedLines() {
+        return dropped.get();
+    }
+
+    /**
+     * Escribe las líneas pendientes y cierra el archivo.
+     */
+    @Override
+    public void close() {
+        running = false;
+        // Si la cola está llena el hilo ya está escribiendo y verá running = false al vaciarla
+        queue.offer(CLOSE_MARK);
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            open();
+            while (running || !queue.isEmpty()) {
+                try {
+                    String first = queue.poll(500, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                } catch (InterruptedException e) {
+                    // Nadie interrumpe este hilo; por si acaso, se termina tras vaciar la cola
+                    running = false;
+                }
+                queue.drainTo(batch, BATCH_SIZE - batch.size());
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (IOException e) {
+            System.err.printf("Error escribiendo log %s: %s%n", file, e.getMessage());
+        } finally {
+            closeWriter();
+        }
+    }
+
+    private void writeBatch(List<String> batch) throws IOException {
+        for (String line : batch) {
+            if (line == CLOSE_MARK) continue;
+            if (currentBytes >= maxBytes) {
+                rotate();
+            }
+            writer.write(line);
+            writer.newLine();
+            currentBytes += utf8Length(line) + 1L;
+        }
+        writer.flush();
+    }
+
+    /**
+     * @return Bytes de la línea en UTF-8, sin codificarla (los acentos ocupan 2 bytes)
+     */
+    static int utf8Length(String line) {
+        int bytes = line.length();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < line.length()
+                        && Character.isLowSurrogate(line.charAt(i + 1))) {
+                    // Par suplente: 4 bytes por 2 chars
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        currentBytes = Files.size(file);
+    }
+
+    private void rotate() throws IOException {
+        closeWriter();
+        for (int i = maxBackups - 1; i >= 1; i--) {
+            Path older = backup(i);
+            if (Files.exists(older)) {
+                Files.move(older, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxBackups > 0) {
+            Files.move(file, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        open();
+    }
+
+    private Path backup(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.printf("Error cerrando log %s: %s%n", file, e.getMessage());
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con buckets log-lineales (estilo HdrHistogram).
+ * Los valores se guardan en microsegundos: exactos hasta 64 µs y, por encima,
+ * 32 buckets por cada potencia de 2 (error relativo &lt; 3%). Registrar un valor
+ * es un incremento atómico, sin locks ni objetos nuevos.
+ */
+public class LatencyHistogram {
+    // Buckets exactos para valores pequeños (2 * SUB_BUCKETS)
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+    // Máximo registrable: ~1 hora en µs (se recorta por encima)
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int BUCKET_COUNT = indexOf(MAX_MICROS) + 1;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param name Nombre del histograma (ej: "card_fetch")
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Registra una duración medida con {@link System#nanoTime()}.
+     * @param nanos Duración en nanosegundos
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    /**
+     * Registra una duración.
+     * @param micros Duración en microsegundos
+     */
+    public void recordMicros(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_MICROS);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        totalMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    /**
+     * @return Número de valores registrados
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return Media en microsegundos (0 si está vacío)
+     */
+    public double getMeanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalMicros.sum() / n;
+    }
+
+    /**
+     * @return Suma de todos los valores en microsegundos
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    /**
+     * Cuenta los valores menores o iguales a cada límite (para exportar buckets acumulados).
+     * Los límites se redondean al bucket interno que los contiene.
+     * @param boundsMicros Límites en microsegundos, en orden creciente
+     * @return Conteos acumulados por límite; la última posición es el total
+     */
+    public long[] getCumulativeCounts(long[] boundsMicros) {
+        long[] result = new long[boundsMicros.length + 1];
+        long seen = 0;
+        int bound = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            while (bound < boundsMicros.length && highestValueIn(i) > boundsMicros[bound]) {
+                result[bound++] = seen;
+            }
+            seen += buckets.get(i);
+        }
+        while (bound < boundsMicros.length) {
+            result[bound++] = seen;
+        }
+        result[boundsMicros.length] = seen;
+        return result;
+    }
+
+    /**
+     * @return Máximo registrado en microsegundos
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Calcula un percentil recorriendo los buckets (coste fijo, independiente del número de valores).
+     * @param percentile Percentil entre 0 y 100 (ej: 99)
+     * @return Valor aproximado en microsegundos (0 si está vacío)
+     */
+    public long getPercentileMicros(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    /**
+     * Copia los contadores por bucket (para exportarlos).
+     * @return Pares [límite superior en µs, número de valores] de los buckets no vacíos
+     */
+    public long[][] getBuckets() {
+        int nonEmpty = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            if (snapshot[i] > 0) nonEmpty++;
+        }
+        long[][] result = new long[nonEmpty][];
+        int next = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (snapshot[i] > 0) {
+                result[next++] = new long[]{highestValueIn(i), snapshot[i]};
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vacía el histograma.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.metrics;
+
+import org.example.model.CardRegistry;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Métricas de rendimiento de la aplicación, compartidas por todos los componentes.
+ * Registrar un valor cuesta un incremento atómico, así que se recogen siempre;
+ * solo su visualización (HUD) o exportación ({@link MetricsServer}) tiene coste
+ * y se activa bajo demanda.
+ */
+public final class Metrics {
+    // Registro exportable en formato Prometheus
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    // Latencia de las peticiones de carta a la API
+    public static final LatencyHistogram CARD_FETCH = new LatencyHistogram("card_fetch");
+
+    // Latencia de descarga + decodificación de imágenes
+    public static final LatencyHistogram IMAGE_LOAD = new LatencyHistogram("image_load");
+
+    // Retraso del hilo de eventos de Swing (EDT) al procesar un evento programado
+    public static final LatencyHistogram EDT_LAG = new LatencyHistogram("edt_lag");
+
+    // Duración de los bloqueos del EDT detectados por el watchdog
+    public static final LatencyHistogram EDT_STALL = new LatencyHistogram("edt_stall");
+
+    // Reutilización de cartas canónicas en CardRegistry
+    public static final HitCounter CARD_REGISTRY = new HitCounter("card_registry");
+
+    // Caché de imágenes ya decodificadas
+    public static final HitCounter IMAGE_CACHE = new HitCounter("image_cache");
+
+    // API: peticiones fallidas y cartas predefinidas usadas como fallback
+    public static final Counter CARD_FETCH_ERRORS = REGISTRY.counter("ygo_card_fetch_errors_total",
+            "Peticiones de carta a la API fallidas");
+    public static final Counter CARD_FALLBACKS = REGISTRY.counter("ygo_card_fallbacks_total",
+            "Cartas predefinidas usadas porque la API no devolvió un Monster válido");
+
+    // Imágenes que no se pudieron cargar (se mostró el placeholder)
+    public static final Counter IMAGE_LOAD_FAILURES = REGISTRY.counter("ygo_image_load_failures_total",
+            "Imágenes de carta que no se pudieron cargar");
+
+    // Duelos
+    public static final Counter DUELS_STARTED = REGISTRY.counter("ygo_duels_started_total",
+            "Duelos iniciados");
+    public static final Counter DUELS_FINISHED = REGISTRY.counter("ygo_duels_finished_total",
+            "Duelos terminados");
+
+    // Batallas resueltas por ganador
+    public static final Counter BATTLES_PLAYER = REGISTRY.counter("ygo_battles_total",
+            "Batallas resueltas por ganador", "winner", "player");
+    public static final Counter BATTLES_AI = REGISTRY.counter("ygo_battles_total",
+            "Batallas resueltas por ganador", "winner", "ai");
+    public static final Counter BATTLES_TIE = REGISTRY.counter("ygo_battles_total",
+            "Batallas resueltas por ganador", "winner", "tie");
+
+    // Retransmisión a espectadores
+    public static final Counter SPECTATOR_FRAMES = REGISTRY.counter("ygo_spectator_frames_total",
+            "Eventos de duelo codificados para los espectadores");
+    public static final Counter SPECTATORS_DROPPED = REGISTRY.counter("ygo_spectators_dropped_total",
+            "Espectadores desconectados por ir demasiado lentos");
+    public static final Counter SPECTATOR_FRAMES_DROPPED = REGISTRY.counter("ygo_spectator_frames_dropped_total",
+            "Eventos de duelo descartados por tener llena la cola de reparto");
+
+    // Valoraciones de cartas guardadas en disco
+    public static final Counter RATING_CHECKPOINTS = REGISTRY.counter("ygo_rating_checkpoints_total",
+            "Guardados de las valoraciones de cartas");
+
+    static {
+        REGISTRY.histogram("ygo_card_fetch_seconds", "Latencia de las peticiones de carta a la API", CARD_FETCH);
+        REGISTRY.histogram("ygo_image_load_seconds", "Latencia de descarga y decodificación de imágenes", IMAGE_LOAD);
+        REGISTRY.histogram("ygo_edt_lag_seconds", "Retraso del hilo de eventos de Swing", EDT_LAG);
+        REGISTRY.histogram("ygo_edt_stall_seconds", "Duración de los bloqueos del hilo de eventos de Swing", EDT_STALL);
+        REGISTRY.hitCounter("ygo_card_registry_lookups_total", "Búsquedas en el registro de cartas canónicas", CARD_REGISTRY);
+        REGISTRY.hitCounter("ygo_image_cache_lookups_total", "Búsquedas en la caché de imágenes", IMAGE_CACHE);
+        REGISTRY.gauge("ygo_card_registry_size", "Cartas canónicas registradas", CardRegistry::size);
+        REGISTRY.gauge("jvm_memory_used_bytes", "Memoria de heap en uso",
+                () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        REGISTRY.gauge("jvm_threads_live", "Hilos vivos de la JVM",
+                () -> ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Registra el resultado de una batalla.
+     * @param outcome 1 si gana el jugador, -1 si gana la máquina, 0 si es empate
+     */
+    public static void recordBattle(int outcome) {
+        if (outcome > 0) {
+            BATTLES_PLAYER.increment();
+        } else if (outcome < 0) {
+            BATTLES_AI.increment();
+        } else {
+            BATTLES_TIE.increment();
+        }
+    }
+}
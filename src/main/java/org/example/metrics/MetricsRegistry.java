@@ -0,0 +1,169 @@
+package org.example.metrics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registro de métricas exportables en formato de texto de Prometheus.
+ * Las métricas se registran una vez al arrancar (copy-on-write); la exportación solo lee
+ * contadores atómicos, así que un scrape nunca bloquea a quien registra valores.
+ */
+public final class MetricsRegistry {
+    // Límites de los buckets exportados para los histogramas (segundos)
+    private static final double[] EXPORT_BOUNDS_SECONDS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30
+    };
+
+    private volatile Entry[] entries = new Entry[0];
+
+    /**
+     * Registra un contador.
+     * @param name   Nombre de la métrica (ej: "ygo_duels_total")
+     * @param help   Descripción
+     * @param labels Pares etiqueta, valor (ej: "winner", "player")
+     * @return Contador registrado
+     */
+    public Counter counter(String name, String help, String... labels) {
+        Counter counter = new Counter();
+        add(new Entry(name, help, "counter", labels, counter, null, null, null));
+        return counter;
+    }
+
+    /**
+     * Registra una métrica cuyo valor se calcula en cada scrape.
+     * @param value Función que devuelve el valor actual (debe ser barata y sin bloqueos)
+     */
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        add(new Entry(name, help, "gauge", labels, null, value, null, null));
+    }
+
+    /**
+     * Registra un histograma de latencias, exportado en segundos.
+     */
+    public void histogram(String name, String help, LatencyHistogram histogram) {
+        add(new Entry(name, help, "histogram", new String[0], null, null, histogram, null));
+    }
+
+    /**
+     * Registra los aciertos y fallos de una caché como un contador con etiqueta {@code result}.
+     */
+    public void hitCounter(String name, String help, HitCounter counter) {
+        add(new Entry(name, help, "counter", new String[0], null, null, null, counter));
+    }
+
+    /**
+     * Escribe todas las métricas en formato de texto de Prometheus (versión 0.0.4).
+     * @param out Destino del texto
+     */
+    public void writePrometheus(StringBuilder out) {
+        Set<String> described = new HashSet<>();
+        for (Entry entry : entries) {
+            if (described.add(entry.name)) {
+                out.append("# HELP ").append(entry.name).append(' ').append(entry.help).append('\n');
+                out.append("# TYPE ").append(entry.name).append(' ').append(entry.type).append('\n');
+            }
+            entry.write(out);
+        }
+    }
+
+    private synchronized void add(Entry entry) {
+        Entry[] updated = Arrays.copyOf(entries, entries.length + 1);
+        updated[updated.length - 1] = entry;
+        // Mantener juntas las series de una misma métrica
+        Arrays.sort(updated, (a, b) -> a.name.compareTo(b.name));
+        entries = updated;
+    }
+
+    private static String formatValue(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Double.isNaN(value) ? "NaN" : value > 0 ? "+Inf" : "-Inf";
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    private static String labelText(String[] labels, String extraName, String extraValue) {
+        if (labels.length == 0 && extraName == null) return "";
+        StringBuilder text = new StringBuilder("{");
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (text.length() > 1) text.append(',');
+            text.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        if (extraName != null) {
+            if (text.length() > 1) text.append(',');
+            text.append(extraName).append("=\"").append(extraValue).append('"');
+        }
+        return text.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Serie registrada: solo uno de los orígenes de valor está presente.
+     */
+    private static final class Entry {
+        private final String name;
+        private final String help;
+        private final String type;
+        private final String[] labels;
+        private final String labelText;
+        private final Counter counter;
+        private final DoubleSupplier gauge;
+        private final LatencyHistogram histogram;
+        private final HitCounter hitCounter;
+
+        private Entry(String name, String help, String type, String[] labels, Counter counter,
+                      DoubleSupplier gauge, LatencyHistogram histogram, HitCounter hitCounter) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labels = labels;
+            this.labelText = labelText(labels, null, null);
+            this.counter = counter;
+            this.gauge = gauge;
+            this.histogram = histogram;
+            this.hitCounter = hitCounter;
+        }
+
+        private void write(StringBuilder out) {
+            if (counter != null) {
+                out.append(name).append(labelText).append(' ').append(counter.get()).append('\n');
+            } else if (gauge != null) {
+                out.append(name).append(labelText).append(' ').append(formatValue(gauge.getAsDouble())).append('\n');
+            } else if (hitCounter != null) {
+                out.append(name).append(labelText(labels, "result", "hit")).append(' ')
+                        .append(hitCounter.getHits()).append('\n');
+                out.append(name).append(labelText(labels, "result", "miss")).append(' ')
+                        .append(hitCounter.getMisses()).append('\n');
+            } else {
+                writeHistogram(out);
+            }
+        }
+
+        private void writeHistogram(StringBuilder out) {
+            long[] boundsMicros = new long[EXPORT_BOUNDS_SECONDS.length];
+            for (int i = 0; i < boundsMicros.length; i++) {
+                boundsMicros[i] = Math.round(EXPORT_BOUNDS_SECONDS[i] * 1_000_000);
+            }
+            long[] cumulative = histogram.getCumulativeCounts(boundsMicros);
+            long total = cumulative[cumulative.length - 1];
+            for (int i = 0; i < boundsMicros.length; i++) {
+                out.append(name).append("_bucket")
+                        .append(labelText(labels, "le", formatValue(EXPORT_BOUNDS_SECONDS[i])))
+                        .append(' ').append(cumulative[i]).append('\n');
+            }
+            out.append(name).append("_bucket").append(labelText(labels, "le", "+Inf"))
+                    .append(' ').append(total).append('\n');
+            out.append(name).append("_sum").append(labelText).append(' ')
+                    .append(formatValue(histogram.getTotalMicros() / 1_000_000.0)).append('\n');
+            out.append(name).append("_count").append(labelText).append(' ').append(total).append('\n');
+        }
+    }
+}
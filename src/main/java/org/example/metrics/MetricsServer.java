@@ -0,0 +1,85 @@
+package org.example.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP embebido que expone las métricas en {@code /metrics} (formato Prometheus).
+ * Usa el servidor del JDK con un hilo virtual por petición y no depende de Swing,
+ * por lo que funciona igual con la ventana que en modo headless.
+ */
+public class MetricsServer implements AutoCloseable {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MetricsRegistry registry;
+
+    /**
+     * Crea el servidor y empieza a aceptar peticiones.
+     * @param port     Puerto TCP (0 para uno libre)
+     * @param registry Registro a exportar
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public MetricsServer(int port, MetricsRegistry registry) throws IOException {
+        this.registry = registry;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/metrics", this::handleMetrics);
+        this.server.start();
+    }
+
+    /**
+     * Arranca el servidor con el registro global de la aplicación.
+     * @param port Puerto TCP
+     * @return Servidor en marcha
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public static MetricsServer start(int port) throws IOException {
+        return new MetricsServer(port, Metrics.REGISTRY);
+    }
+
+    /**
+     * @return Puerto en el que escucha el servidor
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            StringBuilder text = new StringBuilder(4096);
+            registry.writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
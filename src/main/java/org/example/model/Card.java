@@ -1,41 +1,73 @@
 package org.example.model;
 
-import java.util.Objects;
-
 /**
  * ¡Representa una carta de Yu-Gi-Oh! Con sus atributos principales.
  * Esta clase almacena la información básica de una carta Monster obtenida desde la API.
  */
-public class Card {
+public final class Card {
+    // Passcode oficial de YGOProDeck (identidad de la carta)
+    private final int id;
+
     // Nombre de la carta
-    private String name;
+    private final String name;
 
     // Puntos de ataque (ATK)
-    private int atk;
+    private final int atk;
 
     // Puntos de defensa (DEF)
-    private int def;
+    private final int def;
 
     // URL de la imagen de la carta
-    private String imageUrl;
+    private final String imageUrl;
 
     // Tipo de carta (ej: "Normal Monster", "Effect Monster")
-    private String type;
+    private final String type;
+
+    // Nivel o rango (0 si la carta no tiene nivel, ej: Link)
+    private final int level;
+
+    // Atributo (ej: "DARK", "LIGHT"), vacío si se desconoce
+    private final String attribute;
+
+    // Raza/tipo de monstruo (ej: "Spellcaster", "Dragon"), vacío si se desconoce
+    private final String race;
+
+    // Arquetipo (ej: "Blue-Eyes"), vacío si no pertenece a ninguno
+    private final String archetype;
 
     /**
      * Constructor para crear una nueva carta.
+     * Usar {@link CardRegistry#canonical} para obtener la instancia compartida por id.
+     * @param id       Passcode de la carta en YGOProDeck
      * @param name     Nombre de la carta
      * @param atk      Puntos de ataque (ATK)
      * @param def      Puntos de defensa (DEF)
      * @param imageUrl URL de la imagen de la carta
      * @param type     Tipo de carta (ej: "Normal Monster", "Effect Monster")
+     * @param level     Nivel o rango de la carta (0 si no tiene)
+     * @param attribute Atributo de la carta (ej: "DARK")
+     * @param race      Raza de la carta (ej: "Spellcaster")
+     * @param archetype Arquetipo de la carta (ej: "Dark Magician")
      */
-    public Card(String name, int atk, int def, String imageUrl, String type) {
+    Card(int id, String name, int atk, int def, String imageUrl, String type,
+         int level, String attribute, String race, String archetype) {
+        this.id = id;
         this.name = name != null ? name : "Carta Desconocida";
         this.atk = Math.max(atk, 0); // Asegurar que no sea negativo
         this.def = Math.max(def, 0); // Asegurar que no sea negativo
         this.imageUrl = imageUrl != null ? imageUrl : "";
         this.type = type != null ? type : "Unknown Type";
+        this.level = Math.max(level, 0);
+        this.attribute = attribute != null ? attribute : "";
+        this.race = race != null ? race : "";
+        this.archetype = archetype != null ? archetype : "";
+    }
+
+    /**
+     * @return Passcode de la carta en YGOProDeck (negativo si la API no lo proporcionó)
+     */
+    public int getId() {
+        return id;
     }
 
     /**
@@ -73,6 +105,34 @@ public class Card {
         return type;
     }
 
+    /**
+     * @return Nivel o rango de la carta (0 si no tiene)
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return Atributo de la carta (ej: "DARK"), vacío si se desconoce
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @return Raza de la carta (ej: "Spellcaster"), vacío si se desconoce
+     */
+    public String getRace() {
+        return race;
+    }
+
+    /**
+     * @return Arquetipo de la carta, vacío si no pertenece a ninguno
+     */
+    public String getArchetype() {
+        return archetype;
+    }
+
     /**
      * Verifica si la carta tiene una URL de imagen válida.
      * @return true si la carta tiene imagen, false en caso contrario
@@ -212,28 +272,24 @@ public class Card {
 
     /**
      * Verifica si esta carta es igual a otra carta.
-     * Dos cartas se consideran iguales si tienen el mismo nombre y stats.
+     * Dos cartas se consideran iguales si tienen el mismo passcode.
      * @param obj Objeto a comparar
      * @return true si son iguales, false en caso contrario
      */
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        Card card = (Card) obj;
-        return atk == card.atk &&
-                def == card.def &&
-                Objects.equals(name, card.name) &&
-                Objects.equals(type, card.type);
+        if (!(obj instanceof Card)) return false;
+        return id == ((Card) obj).id;
     }
 
     /**
-     * Genera un código hash para la carta basado en sus atributos.
+     * Genera un código hash para la carta basado en su passcode.
      * @return Código hash
      */
     @Override
     public int hashCode() {
-        return Objects.hash(name, atk, def, type);
+        return id;
     }
 
     /**
@@ -251,8 +307,8 @@ public class Card {
      */
     public String toDetailedString() {
         return String.format(
-                "Card{name='%s', atk=%d, def=%d, type='%s', imageUrl='%s', hasImage=%s, isValid=%s}",
-                name, atk, def, type, imageUrl, hasImage(), isValidMonster()
+                "Card{id=%d, name='%s', atk=%d, def=%d, type='%s', level=%d, attribute='%s', race='%s', archetype='%s', imageUrl='%s', hasImage=%s, isValid=%s}",
+                id, name, atk, def, type, level, attribute, race, archetype, imageUrl, hasImage(), isValidMonster()
         );
     }
 
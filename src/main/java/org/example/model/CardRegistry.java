@@ -0,0 +1,157 @@
+package org.example.model;
+
+import org.example.metrics.Metrics;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro global de cartas (patrón Flyweight).
+ * Garantiza una única instancia inmutable de {@link Card} por passcode de YGOProDeck,
+ * de modo que los pools de jugador y máquina comparten la misma referencia.
+ * Si la misma carta llega otra vez con más datos (nivel, atributo, raza...), se completan
+ * los que faltaban. Las cartas sin passcode reciben un id negativo derivado de su nombre,
+ * el mismo en cada ejecución, para que repeticiones y valoraciones guardadas sigan
+ * encontrándolas.
+ */
+public final class CardRegistry {
+    // Instancias canónicas indexadas por passcode (o id sintético)
+    private static final Map<Integer, Card> CARDS = new ConcurrentHashMap<>();
+
+    // Tipo que asigna Card cuando no se conoce
+    private static final String UNKNOWN_TYPE = "Unknown Type";
+
+    // Ids sintéticos (negativos) por nombre normalizado y nombre de cada id ocupado
+    private static final Map<String, Integer> SYNTHETIC_IDS = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> SYNTHETIC_NAMES = new HashMap<>();
+
+    private CardRegistry() {
+    }
+
+    /**
+     * Obtiene la instancia canónica de una carta, creándola si es la primera vez que se ve.
+     * Si el id no es positivo se usa el id sintético de su nombre.
+     * @param id       Passcode de la carta en YGOProDeck
+     * @param name     Nombre de la carta
+     * @param atk      Puntos de ataque (ATK)
+     * @param def      Puntos de defensa (DEF)
+     * @param imageUrl URL de la imagen de la carta
+     * @param type     Tipo de carta
+     * @return Instancia canónica de la carta
+     */
+    public static Card canonical(int id, String name, int atk, int def, String imageUrl, String type) {
+        return canonical(id, name, atk, def, imageUrl, type, 0, "", "", "");
+    }
+
+    /**
+     * Obtiene la instancia canónica de una carta incluyendo sus atributos de filtrado.
+     * @param id        Passcode de la carta en YGOProDeck
+     * @param name      Nombre de la carta
+     * @param atk       Puntos de ataque (ATK)
+     * @param def       Puntos de defensa (DEF)
+     * @param imageUrl  URL de la imagen de la carta
+     * @param type      Tipo de carta
+     * @param level     Nivel o rango (0 si no tiene)
+     * @param attribute Atributo (ej: "DARK")
+     * @param race      Raza (ej: "Spellcaster")
+     * @param archetype Arquetipo (ej: "Blue-Eyes")
+     * @return Instancia canónica de la carta
+     */
+    public static Card canonical(int id, String name, int atk, int def, String imageUrl, String type,
+                                 int level, String attribute, String race, String archetype) {
+        int key = id > 0 ? id : syntheticId(name);
+
+        Card existing = CARDS.get(key);
+        if (existing != null) {
+            Metrics.CARD_REGISTRY.hit();
+            if (!addsDetail(existing, imageUrl, type, level, attribute, race, archetype)) {
+                return existing;
+            }
+        } else {
+            Metrics.CARD_REGISTRY.miss();
+        }
+        return CARDS.compute(key, (k, old) -> old == null
+                ? new Card(k, name, atk, def, imageUrl, type, level, attribute, race, archetype)
+                : merge(old, imageUrl, type, level, attribute, race, archetype));
+    }
+
+    /**
+     * Busca una carta ya registrada.
+     * @param id Passcode de la carta
+     * @return Carta canónica o null si aún no se ha registrado
+     */
+    public static Card get(int id) {
+        return CARDS.get(id);
+    }
+
+    /**
+     * @return Número de cartas canónicas registradas
+     */
+    public static int size() {
+        return CARDS.size();
+    }
+
+    /**
+     * Id sintético de una carta sin passcode: hash del nombre normalizado en el rango negativo.
+     * Si otro nombre ya ocupa ese id se prueba el siguiente; solo en ese caso (muy raro) el id
+     * depende del orden en que lleguen las cartas.
+     */
+    private static int syntheticId(String name) {
+        String normalized = name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        Integer assigned = SYNTHETIC_IDS.get(normalized);
+        if (assigned != null) {
+            return assigned;
+        }
+        synchronized (SYNTHETIC_NAMES) {
+            assigned = SYNTHETIC_IDS.get(normalized);
+            if (assigned != null) {
+                return assigned;
+            }
+            // String.hashCode está especificado: da lo mismo en cualquier JVM
+            int candidate = -1 - ((normalized.hashCode() * 0x9E3779B9) & Integer.MAX_VALUE);
+            while (SYNTHETIC_NAMES.containsKey(candidate)) {
+                candidate = candidate == -1 ? Integer.MIN_VALUE : candidate + 1;
+            }
+            SYNTHETIC_NAMES.put(candidate, normalized);
+            SYNTHETIC_IDS.put(normalized, candidate);
+            return candidate;
+        }
+    }
+
+    /**
+     * @return true si los datos recibidos completan alguno que le falta a la carta registrada
+     */
+    private static boolean addsDetail(Card card, String imageUrl, String type, int level,
+                                      String attribute, String race, String archetype) {
+        return (card.getImageUrl().isEmpty() && isPresent(imageUrl))
+                || (card.getType().equals(UNKNOWN_TYPE) && isPresent(type))
+                || (card.getLevel() == 0 && level > 0)
+                || (card.getAttribute().isEmpty() && isPresent(attribute))
+                || (card.getRace().isEmpty() && isPresent(race))
+                || (card.getArchetype().isEmpty() && isPresent(archetype));
+    }
+
+    /**
+     * Completa los datos que le faltan a una carta. Los que ya tiene no se sustituyen: nombre,
+     * ATK y DEF son siempre los de la primera versión registrada.
+     */
+    private static Card merge(Card card, String imageUrl, String type, int level,
+                              String attribute, String race, String archetype) {
+        if (!addsDetail(card, imageUrl, type, level, attribute, race, archetype)) {
+            return card;
+        }
+        return new Card(card.getId(), card.getName(), card.getAtk(), card.getDef(),
+                card.getImageUrl().isEmpty() && isPresent(imageUrl) ? imageUrl : card.getImageUrl(),
+                card.getType().equals(UNKNOWN_TYPE) && isPresent(type) ? type : card.getType(),
+                card.getLevel() == 0 ? level : card.getLevel(),
+                card.getAttribute().isEmpty() ? attribute : card.getAttribute(),
+                card.getRace().isEmpty() ? race : card.getRace(),
+                card.getArchetype().isEmpty() ? archetype : card.getArchetype());
+    }
+
+    private static boolean isPresent(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
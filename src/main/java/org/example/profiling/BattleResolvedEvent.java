@@ -0,0 +1,35 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de la resolución de una batalla (Duel.resolveBattle), incluyendo la notificación a los listeners.
+ */
+@Name("org.example.BattleResolved")
+@Label("Battle Resolved")
+@Category({"YuGiOh", "Duel"})
+@Description("Resolución de una batalla y notificación a los listeners")
+@StackTrace(false)
+public class BattleResolvedEvent extends jdk.jfr.Event {
+    @Label("Ronda")
+    public int round;
+
+    @Label("Carta jugador")
+    public String playerCard;
+
+    @Label("Carta máquina")
+    public String aiCard;
+
+    @Label("Poder jugador")
+    public int playerPower;
+
+    @Label("Poder máquina")
+    public int aiPower;
+
+    @Label("Ganador")
+    public String winner;
+}
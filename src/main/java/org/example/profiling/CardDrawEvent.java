@@ -0,0 +1,27 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de la obtención de una carta Monster con reintentos (YgoApiClient.getRandomMonsterCard).
+ */
+@Name("org.example.CardDraw")
+@Label("Card Draw")
+@Category({"YuGiOh", "API"})
+@Description("Obtención de una carta Monster, incluyendo reintentos y fallback")
+@StackTrace(false)
+public class CardDrawEvent extends jdk.jfr.Event {
+    @Label("Intentos")
+    public int attempts;
+
+    @Label("Fallback")
+    @Description("Se usó una carta predefinida")
+    public boolean fallback;
+
+    @Label("Carta")
+    public String cardName;
+}
@@ -0,0 +1,35 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una petición de carta aleatoria a la API (YgoApiClient.tryGetFromAPI).
+ */
+@Name("org.example.CardFetch")
+@Label("Card Fetch")
+@Category({"YuGiOh", "API"})
+@Description("Petición HTTP de una carta aleatoria a YGOProDeck")
+@StackTrace(false)
+public class CardFetchEvent extends jdk.jfr.Event {
+    @Label("URL")
+    public String url;
+
+    @Label("Código HTTP")
+    public int statusCode;
+
+    @Label("Tamaño de respuesta")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Carta")
+    public String cardName;
+
+    @Label("Correcta")
+    @Description("La respuesta contenía una carta Monster válida")
+    public boolean success;
+}
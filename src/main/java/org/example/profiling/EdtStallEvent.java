@@ -0,0 +1,29 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de un bloqueo del hilo de eventos de Swing (EDT) detectado por el watchdog.
+ */
+@Name("org.example.EdtStall")
+@Label("EDT Stall")
+@Category({"YuGiOh", "UI"})
+@Description("El EDT no procesó el latido del watchdog dentro del umbral")
+@StackTrace(false)
+public class EdtStallEvent extends jdk.jfr.Event {
+    @Label("Duración del bloqueo")
+    @Timespan
+    public long stallNanos;
+
+    @Label("Punto de llamada")
+    @Description("Método de la aplicación más frecuente en las muestras de la pila del EDT")
+    public String callSite;
+
+    @Label("Pila del EDT")
+    public String edtStack;
+}
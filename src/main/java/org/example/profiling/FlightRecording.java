@@ -0,0 +1,97 @@
+package org.example.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Controla una grabación de JDK Flight Recorder para la sesión actual.
+ * Usa la configuración "profile" del JDK más los eventos propios del simulador
+ * (org.example.*), que solo cuestan algo mientras hay una grabación activa.
+ */
+public final class FlightRecording {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // Carpeta de las grabaciones guardadas
+    private static final Path RECORDINGS_DIR = Paths.get("recordings");
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Inicia una grabación si no hay ninguna activa.
+     * @param dumpOnExit Archivo donde guardarla al cerrar la aplicación, o null
+     * @return true si se inició una grabación nueva
+     * @throws IOException Si no se puede leer la configuración o crear el archivo
+     */
+    public static synchronized boolean start(Path dumpOnExit) throws IOException {
+        if (recording != null) return false;
+
+        Recording created;
+        try {
+            created = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IOException("Configuración JFR inválida: " + e.getMessage(), e);
+        }
+        created.setName("YuGiOh");
+        created.enable(CardFetchEvent.class);
+        created.enable(CardDrawEvent.class);
+        created.enable(ImageLoadEvent.class);
+        created.enable(BattleResolvedEvent.class);
+        created.enable(EdtStallEvent.class);
+
+        if (dumpOnExit != null) {
+            Path parent = dumpOnExit.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            created.setDestination(dumpOnExit);
+            created.setDumpOnExit(true);
+        }
+
+        created.start();
+        recording = created;
+        return true;
+    }
+
+    /**
+     * Guarda lo grabado hasta ahora sin detener la grabación.
+     * @return Archivo generado en recordings/
+     * @throws IOException Si no hay grabación activa o no se puede escribir
+     */
+    public static synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new IOException("No hay ninguna grabación JFR activa");
+        }
+        Files.createDirectories(RECORDINGS_DIR);
+        Path file = RECORDINGS_DIR.resolve("duel-" + FILE_TIME.format(LocalDateTime.now()) + ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    /**
+     * Detiene y descarta la grabación activa.
+     */
+    public static synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * @return true si hay una grabación activa
+     */
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de la carga de la imagen de una carta (DuelFrame.loadCardImage),
+ * separando el tiempo de descarga del de decodificación y escalado.
+ */
+@Name("org.example.ImageLoad")
+@Label("Card Image Load")
+@Category({"YuGiOh", "UI"})
+@Description("Descarga y decodificación de la imagen de una carta")
+@StackTrace(false)
+public class ImageLoadEvent extends jdk.jfr.Event {
+    @Label("Carta")
+    public String cardName;
+
+    @Label("URL")
+    public String url;
+
+    @Label("Tamaño")
+    @DataAmount
+    public long bytes;
+
+    @Label("Descarga")
+    @Timespan
+    public long downloadNanos;
+
+    @Label("Decodificación")
+    @Timespan
+    public long decodeNanos;
+
+    @Label("Correcta")
+    @Description("false si se usó el placeholder")
+    public boolean success;
+}
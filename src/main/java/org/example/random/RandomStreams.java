@@ -0,0 +1,57 @@
+package org.example.random;
+
+import org.example.log.Log;
+import org.example.log.Logger;
+
+import java.util.SplittableRandom;
+
+/**
+ * Origen de toda la aleatoriedad de la aplicación.
+ * Una semilla raíz genera flujos independientes con {@link SplittableRandom#split()}: cada duelo,
+ * cliente de la API o hilo de simulación recibe el suyo, sin estado compartido entre hilos
+ * (a diferencia de un {@code Random} compartido, que serializa los hilos con CAS).
+ *
+ * La semilla raíz se fija con {@code -Dygo.seed=N}; si no se indica se elige al azar y se
+ * registra en el log para poder reproducir la sesión.
+ */
+public final class RandomStreams {
+    private static final Logger LOG = Log.getLogger(RandomStreams.class);
+
+    private static final long ROOT_SEED = initialSeed();
+    private static final SplittableRandom ROOT = new SplittableRandom(ROOT_SEED);
+
+    private RandomStreams() {
+    }
+
+    /**
+     * @return Semilla raíz de la sesión
+     */
+    public static long getRootSeed() {
+        return ROOT_SEED;
+    }
+
+    /**
+     * Crea un flujo independiente a partir de la semilla raíz. Con la misma semilla raíz,
+     * la n-ésima llamada devuelve siempre el mismo flujo.
+     * @return Generador para un único hilo
+     */
+    public static synchronized SplittableRandom split() {
+        return ROOT.split();
+    }
+
+    private static long initialSeed() {
+        String property = System.getProperty("ygo.seed");
+        if (property != null) {
+            try {
+                long seed = Long.parseLong(property.trim());
+                LOG.info("Semilla aleatoria fijada: {}", seed);
+                return seed;
+            } catch (NumberFormatException e) {
+                LOG.warn("Semilla inválida en ygo.seed: {}", property);
+            }
+        }
+        long seed = new SplittableRandom().nextLong();
+        LOG.info("Semilla aleatoria: {} (reproducir con -Dygo.seed={})", seed, seed);
+        return seed;
+    }
+}
@@ -0,0 +1,477 @@
+package org.example.rating;
+
+import org.example.log.Log;
+import org.example.log.Logger;
+import org.example.metrics.Metrics;
+import org.example.model.Card;
+import org.example.scheduler.RealTimeScheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Valoración Elo de cada carta, actualizada con cada batalla resuelta (duelos de la ventana,
+ * simulaciones por lotes y trabajos del servidor de simulación).
+ *
+ * Registrar una batalla no toma cerrojos: la esperanza se calcula con la última tabla
+ * publicada y la diferencia (resultado - esperanza) se suma con un {@code getAndAdd} en la
+ * franja del hilo, un array atómico por franja. Un hilo en segundo plano vacía las franjas
+ * cada {@link #FOLD_MILLIS} ms, aplica las diferencias y publica una tabla nueva. Con los
+ * guardados periódicos ({@link #startCheckpoints}) las valoraciones sobreviven entre ejecuciones.
+ *
+ * Cada carta ocupa una posición fija, asignada la primera vez que aparece y buscada por id en
+ * una tabla de direccionamiento abierto sin objetos; las cartas que no caben en la capacidad
+ * no se valoran.
+ * <pre>
+ *   i32 MAGIC "YGOE", i32 versión, i64 batallas, i32 n
+ *   n x (i32 id, f64 valoración, i64 batallas)
+ * </pre>
+ */
+public final class CardRatings implements AutoCloseable {
+    private static final Logger LOG = Log.getLogger(CardRatings.class);
+
+    // Cabecera del archivo
+    private static final int MAGIC = 0x59474F45; // "YGOE"
+    private static final int VERSION = 1;
+
+    public static final double INITIAL_RATING = 1500;
+    public static final double DEFAULT_K_FACTOR = 16;
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    // Batallas mínimas para que la valoración de una carta se considere fiable
+    public static final int MIN_RATED_BATTLES = 30;
+
+    // Intervalo de publicación de la tabla
+    static final long FOLD_MILLIS = 250;
+
+    // Batallas que cuentan como mucho por carta y publicación. Entre dos publicaciones una carta
+    // puede jugar miles de batallas con la misma esperanza desfasada; sin este tope la
+    // valoración se pasaría de largo. Con K * 32 el ajuste converge sin oscilar.
+    private static final int MAX_STEP_BATTLES = 32;
+
+    // Franja: (batallas << 40) + suma de (resultado - esperanza) en punto fijo de 16 bits.
+    // La suma cabe en 40 bits con signo hasta 8M batallas por carta, franja y publicación.
+    private static final int BATTLES_SHIFT = 40;
+    private static final double SCORE_SCALE = 1 << 16;
+
+    // Esperanza de la primera carta según la diferencia de valoración (-800..800)
+    private static final int MAX_DIFF = 800;
+    private static final double[] EXPECTED = new double[2 * MAX_DIFF + 1];
+
+    static {
+        for (int diff = -MAX_DIFF; diff <= MAX_DIFF; diff++) {
+            EXPECTED[diff + MAX_DIFF] = 1 / (1 + Math.pow(10, -diff / 400.0));
+        }
+    }
+
+    private final int capacity;
+    private final double kFactor;
+    private final AtomicIntegerArray ids;
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final RealTimeScheduler scheduler = new RealTimeScheduler("card-ratings");
+
+    // Id -> posición: claves en un array plano y posición + 1 en uno atómico (0 = hueco libre).
+    // Se escribe la clave y después, con release, su posición; quien lee con acquire la
+    // posición ya ve la clave. Solo se inserta con slotLock y nunca se borra.
+    private final int[] slotKeys;
+    private final AtomicIntegerArray slotValues;
+    private final int slotMask;
+    private final int slotShift;
+    private final Object slotLock = new Object();
+
+    // Posiciones asignadas (como mucho la capacidad)
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    // Última tabla publicada; solo la sustituye el hilo que vacía las franjas
+    private volatile Table table = new Table(new double[0], new long[0], 0);
+
+    private volatile Path checkpointFile;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity Cartas distintas como máximo
+     * @param kFactor  Factor K del Elo: puntos en juego por batalla
+     */
+    public CardRatings(int capacity, double kFactor) {
+        this.capacity = Math.max(capacity, 1);
+        this.kFactor = kFactor;
+        this.ids = new AtomicIntegerArray(this.capacity);
+        int stripeCount = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2);
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(this.capacity);
+        }
+        this.stripeMask = stripeCount - 1;
+        int tableSize = Integer.highestOneBit(this.capacity * 2 - 1) * 2;
+        this.slotKeys = new int[tableSize];
+        this.slotValues = new AtomicIntegerArray(tableSize);
+        this.slotMask = tableSize - 1;
+        this.slotShift = Integer.numberOfLeadingZeros(tableSize) + 1;
+        scheduleFold();
+    }
+
+    /**
+     * Crea las valoraciones y, si el archivo existe, carga las guardadas en él.
+     * @param file     Archivo de valoraciones
+     * @param capacity Cartas distintas como máximo
+     * @param kFactor  Factor K del Elo
+     * @return Valoraciones
+     * @throws IOException Si el archivo existe pero no es válido
+     */
+    public static CardRatings open(Path file, int capacity, double kFactor) throws IOException {
+        CardRatings ratings = new CardRatings(capacity, kFactor);
+        if (Files.exists(file)) {
+            ratings.load(file);
+        }
+        return ratings;
+    }
+
+    /**
+     * Registra una batalla resuelta. Se puede llamar desde cualquier hilo.
+     * @param first   Carta del jugador
+     * @param second  Carta de la máquina
+     * @param outcome 1 si gana la primera, -1 si gana la segunda, 0 si es empate
+     */
+    public void record(Card first, Card second, int outcome) {
+        int a = slotOf(first.getId());
+        int b = slotOf(second.getId());
+        if (a < 0 || b < 0 || a == b) {
+            return;
+        }
+        Table current = table;
+        double score = outcome > 0 ? 1 : outcome < 0 ? 0 : 0.5;
+        long delta = Math.round((score - expected(current.rating(a) - current.rating(b))) * SCORE_SCALE);
+
+        AtomicLongArray stripe = stripes[stripeIndex()];
+        stripe.getAndAdd(a, (1L << BATTLES_SHIFT) + delta);
+        stripe.getAndAdd(b, (1L << BATTLES_SHIFT) - delta);
+    }
+
+    /**
+     * @return Valoración publicada de la carta ({@link #INITIAL_RATING} si no ha jugado)
+     */
+    public double getRating(Card card) {
+        int slot = findSlot(card.getId());
+        return slot >= 0 ? table.rating(slot) : INITIAL_RATING;
+    }
+
+    /**
+     * @return Batallas publicadas de la carta
+     */
+    public long getBattles(Card card) {
+        int slot = findSlot(card.getId());
+        return slot >= 0 ? table.battles(slot) : 0;
+    }
+
+    /**
+     * @return true si la carta tiene al menos {@link #MIN_RATED_BATTLES} batallas publicadas
+     */
+    public boolean isRated(Card card) {
+        return getBattles(card) >= MIN_RATED_BATTLES;
+    }
+
+    /**
+     * Puntuación esperada de la primera carta contra la segunda (1 victoria, 0.5 empate).
+     * @return Valor entre 0 y 1
+     */
+    public double expectedScore(Card first, Card second) {
+        return expected(getRating(first) - getRating(second));
+    }
+
+    /**
+     * @return Batallas publicadas en total
+     */
+    public long getTotalBattles() {
+        return table.totalBattles;
+    }
+
+    /**
+     * @return Cartas con alguna batalla publicada
+     */
+    public int getRatedCards() {
+        int count = 0;
+        for (long battles : table.battles) {
+            if (battles > 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @param limit Número de cartas
+     * @return Las cartas con más valoración y al menos {@link #MIN_RATED_BATTLES} batallas
+     */
+    public List<Rating> getTop(int limit) {
+        Table current = table;
+        List<Rating> rated = new ArrayList<>();
+        for (int slot = 0; slot < current.ratings.length; slot++) {
+            if (current.battles[slot] >= MIN_RATED_BATTLES) {
+                rated.add(new Rating(ids.get(slot), current.ratings[slot], current.battles[slot]));
+            }
+        }
+        rated.sort(Comparator.comparingDouble(Rating::getRating).reversed());
+        return rated.subList(0, Math.max(0, Math.min(limit, rated.size())));
+    }
+
+    /**
+     * Guarda las valoraciones periódicamente (y una última vez al cerrar).
+     * @param file         Archivo de valoraciones (se sustituye de forma atómica)
+     * @param periodMillis Intervalo entre guardados
+     */
+    public void startCheckpoints(Path file, long periodMillis) {
+        this.checkpointFile = file;
+        scheduler.schedule(periodMillis, () -> checkpoint(file, periodMillis));
+    }
+
+    /**
+     * Aplica las batallas pendientes y publica la tabla.
+     * Lo hace el hilo de fondo; se puede llamar para leer valoraciones al día.
+     */
+    public synchronized void publish() {
+        Table current = table;
+        int count = nextSlot.get();
+        double[] ratings = Arrays.copyOf(current.ratings, count);
+        long[] battles = Arrays.copyOf(current.battles, count);
+        for (int slot = current.ratings.length; slot < count; slot++) {
+            ratings[slot] = INITIAL_RATING;
+        }
+
+        long added = 0;
+        for (int slot = 0; slot < count; slot++) {
+            long games = 0;
+            long residual = 0;
+            for (AtomicLongArray stripe : stripes) {
+                long value = stripe.get(slot) != 0 ? stripe.getAndSet(slot, 0) : 0;
+                long score = (value << (64 - BATTLES_SHIFT)) >> (64 - BATTLES_SHIFT);
+                games += (value - score) >>> BATTLES_SHIFT;
+                residual += score;
+            }
+            if (games == 0) continue;
+
+            // Media de (resultado - esperanza) aplicada como si fueran como mucho 32 batallas
+            double meanResidual = residual / SCORE_SCALE / games;
+            ratings[slot] += kFactor * Math.min(games, MAX_STEP_BATTLES) * meanResidual;
+            battles[slot] += games;
+            added += games;
+        }
+        // Cada batalla suma a dos cartas
+        table = new Table(ratings, battles, current.totalBattles + added / 2);
+    }
+
+    /**
+     * Guarda las valoraciones publicadas (tras aplicar las pendientes).
+     * @param file Archivo de valoraciones (se escribe uno temporal y se renombra)
+     * @throws IOException Si no se puede escribir
+     */
+    public void save(Path file) throws IOException {
+        publish();
+        Table current = table;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(current.totalBattles);
+            out.writeInt(current.ratings.length);
+            for (int slot = 0; slot < current.ratings.length; slot++) {
+                out.writeInt(ids.get(slot));
+                out.writeDouble(current.ratings[slot]);
+                out.writeLong(current.battles[slot]);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Metrics.RATING_CHECKPOINTS.increment();
+    }
+
+    /**
+     * Detiene el hilo de fondo, aplica las batallas pendientes y hace el último guardado.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        scheduler.close();
+        Path file = checkpointFile;
+        if (file != null) {
+            try {
+                save(file);
+            } catch (IOException e) {
+                LOG.error("No se pudieron guardar las valoraciones en {}: {}", file, e.getMessage());
+            }
+        } else {
+            publish();
+        }
+    }
+
+    private synchronized void load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Archivo de valoraciones inválido: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de valoraciones no soportada: " + version);
+            }
+            long totalBattles = in.readLong();
+            int count = in.readInt();
+            double[] ratings = new double[Math.min(count, capacity)];
+            long[] battles = new long[ratings.length];
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                double rating = in.readDouble();
+                long games = in.readLong();
+                int slot = slotOf(id);
+                if (slot >= 0 && slot < ratings.length) {
+                    ratings[slot] = rating;
+                    battles[slot] = games;
+                }
+            }
+            table = new Table(ratings, battles, totalBattles);
+        }
+    }
+
+    /**
+     * @return Posición de la carta, asignándole una si es nueva (-1 si no cabe)
+     */
+    private int slotOf(int id) {
+        int slot = findSlot(id);
+        return slot >= 0 ? slot : assignSlot(id);
+    }
+
+    /**
+     * Búsqueda sin cerrojos.
+     * @return Posición de la carta, o -1 si no tiene
+     */
+    private int findSlot(int id) {
+        for (int i = hash(id); ; i = (i + 1) & slotMask) {
+            int value = slotValues.getAcquire(i);
+            if (value == 0) {
+                return -1;
+            }
+            if (slotKeys[i] == id) {
+                return value - 1;
+            }
+        }
+    }
+
+    private int assignSlot(int id) {
+        synchronized (slotLock) {
+            // Otro hilo pudo asignarla mientras se esperaba el cerrojo
+            int i = hash(id);
+            for (int value; (value = slotValues.getAcquire(i)) != 0; i = (i + 1) & slotMask) {
+                if (slotKeys[i] == id) {
+                    return value - 1;
+                }
+            }
+            int slot = nextSlot.get();
+            if (slot >= capacity) {
+                return -1;
+            }
+            ids.set(slot, id);
+            slotKeys[i] = id;
+            slotValues.setRelease(i, slot + 1);
+            nextSlot.set(slot + 1);
+            return slot;
+        }
+    }
+
+    private int hash(int id) {
+        // Hash de Fibonacci: los bits altos del producto, repartidos aunque los ids sean consecutivos
+        return (id * 0x9E3779B9) >>> slotShift;
+    }
+
+    private int stripeIndex() {
+        return (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 32) & stripeMask;
+    }
+
+    private void scheduleFold() {
+        scheduler.schedule(FOLD_MILLIS, () -> {
+            if (closed) return;
+            publish();
+            scheduleFold();
+        });
+    }
+
+    private void checkpoint(Path file, long periodMillis) {
+        if (closed) return;
+        try {
+            save(file);
+        } catch (IOException e) {
+            LOG.error("No se pudieron guardar las valoraciones en {}: {}", file, e.getMessage());
+        }
+        scheduler.schedule(periodMillis, () -> checkpoint(file, periodMillis));
+    }
+
+    private static double expected(double diff) {
+        int index = (int) Math.round(Math.max(-MAX_DIFF, Math.min(MAX_DIFF, diff))) + MAX_DIFF;
+        return EXPECTED[index];
+    }
+
+    /**
+     * Tabla publicada: no cambia una vez creada.
+     */
+    private static final class Table {
+        private final double[] ratings;
+        private final long[] battles;
+        private final long totalBattles;
+
+        private Table(double[] ratings, long[] battles, long totalBattles) {
+            this.ratings = ratings;
+            this.battles = battles;
+            this.totalBattles = totalBattles;
+        }
+
+        private double rating(int slot) {
+            return slot < ratings.length ? ratings[slot] : INITIAL_RATING;
+        }
+
+        private long battles(int slot) {
+            return slot < battles.length ? battles[slot] : 0;
+        }
+    }
+
+    /**
+     * Valoración de una carta.
+     */
+    public static final class Rating {
+        private final int cardId;
+        private final double rating;
+        private final long battles;
+
+        public Rating(int cardId, double rating, long battles) {
+            this.cardId = cardId;
+            this.rating = rating;
+            this.battles = battles;
+        }
+
+        public int getCardId() {
+            return cardId;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public long getBattles() {
+            return battles;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.replay;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Repetición de un duelo en formato binario compacto (~40 bytes por duelo).
+ * Guarda la semilla del duelo (decide quién empieza cada ronda), los ids de las seis cartas,
+ * cada jugada en un byte (lado, posición de la carta en la mano y modo) y el marcador final
+ * para comprobar que la repetición coincide.
+ *
+ * Formato de un registro:
+ * <pre>
+ *   versión      1 byte
+ *   semilla      8 bytes
+ *   cartas       6 × varint zigzag (3 del jugador y 3 de la máquina, en orden de mano)
+ *   jugadas      1 byte con el número de jugadas + 1 byte por jugada
+ *   marcador     1 byte (jugador en los 4 bits altos, máquina en los bajos)
+ * </pre>
+ */
+public final class DuelReplay {
+    // 2: el orden de turnos sale de SplittableRandom(semilla)
+    public static final int VERSION = 2;
+    public static final int HAND_SIZE = 3;
+
+    // Tamaño máximo de un registro codificado
+    public static final int MAX_ENCODED_BYTES = 1 + 8 + 2 * HAND_SIZE * 5 + 1 + 2 * HAND_SIZE + 1;
+
+    // Bits de una jugada: lado, posición en la mano y modo
+    private static final int PLAYER_BIT = 0x80;
+    private static final int ATTACK_BIT = 0x01;
+
+    private final long seed;
+    private final int[] playerCardIds;
+    private final int[] aiCardIds;
+    private final byte[] moves;
+    private final int playerScore;
+    private final int aiScore;
+
+    /**
+     * @param seed          Semilla del duelo
+     * @param playerCardIds Ids de las cartas del jugador, en orden de mano
+     * @param aiCardIds     Ids de las cartas de la máquina, en orden de mano
+     * @param moves         Jugadas codificadas con {@link #encodeMove}
+     * @param playerScore   Rondas ganadas por el jugador
+     * @param aiScore       Rondas ganadas por la máquina
+     */
+    public DuelReplay(long seed, int[] playerCardIds, int[] aiCardIds, byte[] moves,
+                      int playerScore, int aiScore) {
+        if (playerCardIds.length != HAND_SIZE || aiCardIds.length != HAND_SIZE) {
+            throw new IllegalArgumentException("Cada mano debe tener " + HAND_SIZE + " cartas");
+        }
+        this.seed = seed;
+        this.playerCardIds = playerCardIds.clone();
+        this.aiCardIds = aiCardIds.clone();
+        this.moves = moves.clone();
+        this.playerScore = playerScore;
+        this.aiScore = aiScore;
+    }
+
+    /**
+     * Codifica una jugada en un byte.
+     * @param player    true si juega el jugador
+     * @param handIndex Posición de la carta en la mano original (0-2)
+     * @param attack    true si juega en modo ataque
+     */
+    public static byte encodeMove(boolean player, int handIndex, boolean attack) {
+        return (byte) ((player ? PLAYER_BIT : 0) | (handIndex << 1) | (attack ? ATTACK_BIT : 0));
+    }
+
+    public static boolean isPlayerMove(byte move) {
+        return (move & PLAYER_BIT) != 0;
+    }
+
+    public static int moveHandIndex(byte move) {
+        return (move >> 1) & 0x03;
+    }
+
+    public static boolean isAttackMove(byte move) {
+        return (move & ATTACK_BIT) != 0;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int[] getPlayerCardIds() {
+        return playerCardIds.clone();
+    }
+
+    public int[] getAiCardIds() {
+        return aiCardIds.clone();
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    public byte getMove(int index) {
+        return moves[index];
+    }
+
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    public int getAiScore() {
+        return aiScore;
+    }
+
+    /**
+     * Codifica el registro.
+     * @return Bytes del registro
+     */
+    public byte[] toBytes() {
+        byte[] buffer = new byte[MAX_ENCODED_BYTES];
+        int length = encode(buffer, 0, seed, playerCardIds, aiCardIds, moves, moves.length, playerScore, aiScore);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Codifica un registro directamente en un buffer, sin crear objetos.
+     * @param buffer   Destino (al menos {@link #MAX_ENCODED_BYTES} libres desde {@code offset})
+     * @param offset   Posición de escritura
+     * @param moveCount Jugadas válidas en {@code moves}
+     * @return Posición siguiente al registro
+     */
+    public static int encode(byte[] buffer, int offset, long seed, int[] playerCardIds, int[] aiCardIds,
+                             byte[] moves, int moveCount, int playerScore, int aiScore) {
+        int pos = offset;
+        buffer[pos++] = (byte) VERSION;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[pos++] = (byte) (seed >>> shift);
+        }
+        for (int id : playerCardIds) {
+            pos = encodeVarInt(buffer, pos, id);
+        }
+        for (int id : aiCardIds) {
+            pos = encodeVarInt(buffer, pos, id);
+        }
+        buffer[pos++] = (byte) moveCount;
+        System.arraycopy(moves, 0, buffer, pos, moveCount);
+        pos += moveCount;
+        buffer[pos++] = (byte) ((playerScore << 4) | (aiScore & 0x0F));
+        return pos;
+    }
+
+    /**
+     * Lee un registro del flujo.
+     * @return Repetición leída o null si el flujo terminó
+     * @throws IOException Si el registro está truncado o su versión no es compatible
+     */
+    public static DuelReplay readFrom(DataInputStream in) throws IOException {
+        int version = in.read();
+        if (version < 0) {
+            return null;
+        }
+        if (version != VERSION) {
+            throw new IOException("Versión de repetición no soportada: " + version);
+        }
+        long seed = in.readLong();
+        int[] playerIds = new int[HAND_SIZE];
+        int[] aiIds = new int[HAND_SIZE];
+        for (int i = 0; i < HAND_SIZE; i++) {
+            playerIds[i] = readVarInt(in);
+        }
+        for (int i = 0; i < HAND_SIZE; i++) {
+            aiIds[i] = readVarInt(in);
+        }
+        byte[] moves = new byte[in.readUnsignedByte()];
+        in.readFully(moves);
+        int score = in.readUnsignedByte();
+        return new DuelReplay(seed, playerIds, aiIds, moves, score >>> 4, score & 0x0F);
+    }
+
+    private static int encodeVarInt(byte[] buffer, int pos, int value) {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            buffer[pos++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[pos++] = (byte) zigzag;
+        return pos;
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Repetición truncada");
+            }
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (result >>> 1) ^ -(result & 1);
+            }
+        }
+        throw new IOException("Varint inválido en la repetición");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DuelReplay)) return false;
+        DuelReplay other = (DuelReplay) o;
+        return seed == other.seed && playerScore == other.playerScore && aiScore == other.aiScore
+                && Arrays.equals(playerCardIds, other.playerCardIds)
+                && Arrays.equals(aiCardIds, other.aiCardIds)
+                && Arrays.equals(moves, other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(seed);
+        result = 31 * result + Arrays.hashCode(playerCardIds);
+        result = 31 * result + Arrays.hashCode(aiCardIds);
+        return 31 * result + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DuelReplay{seed=%d, jugador=%s, máquina=%s, jugadas=%d, marcador=%d-%d}",
+                seed, Arrays.toString(playerCardIds), Arrays.toString(aiCardIds), moves.length,
+                playerScore, aiScore);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archivo de repeticiones: cabecera "YGOR" seguida de registros {@link DuelReplay} consecutivos.
+ */
+public final class ReplayFile {
+    // Cabecera del archivo
+    static final int MAGIC = 0x59474F52; // "YGOR"
+
+    private ReplayFile() {
+    }
+
+    /**
+     * Escribe la cabecera del archivo.
+     */
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+    }
+
+    /**
+     * Lee todas las repeticiones de un archivo.
+     * @param file Archivo escrito por {@link ReplayWriter}
+     * @return Repeticiones en orden de grabación
+     * @throws IOException Si el archivo no es de repeticiones o está dañado
+     */
+    public static List<DuelReplay> readAll(Path file) throws IOException {
+        List<DuelReplay> replays = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("No es un archivo de repeticiones: " + file);
+            }
+            DuelReplay replay;
+            while ((replay = DuelReplay.readFrom(in)) != null) {
+                replays.add(replay);
+            }
+        }
+        return replays;
+    }
+}
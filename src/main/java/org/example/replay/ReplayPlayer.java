@@ -0,0 +1,167 @@
+package org.example.replay;
+
+import org.example.duel.Duel;
+import org.example.duel.DuelPolicy;
+import org.example.listeners.BattleListener;
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+import org.example.scheduler.VirtualClockScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Reproduce una {@link DuelReplay} con un {@link Duel} real: las jugadas grabadas sustituyen
+ * a las estrategias y la semilla repite el orden de turnos, así que el listener recibe los
+ * mismos eventos que en el duelo original. Usa un reloj virtual, por lo que funciona sin
+ * interfaz y a velocidad de simulación.
+ */
+public class ReplayPlayer {
+    private final IntFunction<Card> cardResolver;
+
+    /**
+     * Resuelve las cartas en el {@link CardRegistry} (deben estar ya cargadas, ej: con el
+     * catálogo de respaldo o un snapshot).
+     */
+    public ReplayPlayer() {
+        this(CardRegistry::get);
+    }
+
+    /**
+     * @param cardResolver Devuelve la carta de un id, o null si no se conoce
+     */
+    public ReplayPlayer(IntFunction<Card> cardResolver) {
+        this.cardResolver = cardResolver;
+    }
+
+    /**
+     * Reproduce un duelo completo.
+     * @param replay   Duelo grabado
+     * @param listener Receptor de los eventos (puede ser null)
+     * @return El duelo reproducido, grabado de nuevo: igual a {@code replay} si es determinista
+     * @throws IllegalArgumentException Si alguna carta no se puede resolver
+     * @throws IllegalStateException    Si el duelo se desvía de las jugadas grabadas
+     */
+    public DuelReplay play(DuelReplay replay, BattleListener listener) {
+        List<Card> playerCards = resolve(replay.getPlayerCardIds());
+        List<Card> aiCards = resolve(replay.getAiCardIds());
+
+        MoveCursor cursor = new MoveCursor(replay);
+        DuelReplay[] result = new DuelReplay[1];
+
+        VirtualClockScheduler clock = new VirtualClockScheduler();
+        Duel duel = new Duel(new SplittableRandom(replay.getSeed()));
+        duel.setScheduler(clock);
+        duel.setPlayerPolicy(cursor.playerPolicy());
+        duel.setAiPolicy(cursor.aiPolicy(aiCards));
+        duel.setPlayerCards(playerCards);
+        duel.setAiCards(aiCards);
+        duel.setReplayRecorder(new ReplayRecorder(played -> result[0] = played));
+        duel.setBattleListener(listener);
+
+        duel.startDuel(replay.getSeed());
+        clock.runUntilIdle();
+
+        // Las jugadas de la máquina las consume el propio duelo a través de su estrategia
+        while (cursor.hasNext()) {
+            byte move = cursor.peek();
+            if (!DuelReplay.isPlayerMove(move) || !duel.isWaitingForPlayerSelection()) {
+                throw cursor.mismatch("el duelo no espera al jugador");
+            }
+            duel.playerSelectsCard(DuelReplay.moveHandIndex(move));
+            clock.runUntilIdle();
+        }
+
+        if (duel.isGameStarted() || result[0] == null) {
+            throw cursor.mismatch("el duelo no terminó con las jugadas grabadas");
+        }
+        return result[0];
+    }
+
+    private List<Card> resolve(int[] ids) {
+        List<Card> cards = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Card card = cardResolver.apply(id);
+            if (card == null) {
+                throw new IllegalArgumentException("Carta desconocida en la repetición: " + id);
+            }
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    /**
+     * Recorre las jugadas grabadas y las entrega como estrategias del duelo.
+     */
+    private static final class MoveCursor {
+        private final DuelReplay replay;
+        private int next;
+        private byte current;
+
+        private MoveCursor(DuelReplay replay) {
+            this.replay = replay;
+        }
+
+        boolean hasNext() {
+            return next < replay.getMoveCount();
+        }
+
+        byte peek() {
+            return replay.getMove(next);
+        }
+
+        byte take(boolean player) {
+            if (!hasNext()) {
+                throw mismatch("no quedan jugadas grabadas");
+            }
+            byte move = replay.getMove(next);
+            if (DuelReplay.isPlayerMove(move) != player) {
+                throw mismatch("se esperaba una jugada de " + (player ? "el jugador" : "la máquina"));
+            }
+            next++;
+            current = move;
+            return move;
+        }
+
+        IllegalStateException mismatch(String reason) {
+            return new IllegalStateException(String.format(
+                    "La repetición se desvió en la jugada %d de %d: %s", next + 1, replay.getMoveCount(), reason));
+        }
+
+        DuelPolicy playerPolicy() {
+            return new DuelPolicy() {
+                @Override
+                public int selectCard(List<Card> available, Card opponentCard, RandomGenerator random) {
+                    throw new UnsupportedOperationException("La carta del jugador la elige la repetición");
+                }
+
+                @Override
+                public boolean selectAttackMode(Card card, Card opponentCard, RandomGenerator random) {
+                    return DuelReplay.isAttackMove(take(true));
+                }
+            };
+        }
+
+        DuelPolicy aiPolicy(List<Card> aiCards) {
+            return new DuelPolicy() {
+                @Override
+                public int selectCard(List<Card> available, Card opponentCard, RandomGenerator random) {
+                    Card card = aiCards.get(DuelReplay.moveHandIndex(take(false)));
+                    int index = available.indexOf(card);
+                    if (index < 0) {
+                        throw mismatch("la máquina ya usó " + card.getName());
+                    }
+                    return index;
+                }
+
+                @Override
+                public boolean selectAttackMode(Card card, Card opponentCard, RandomGenerator random) {
+                    return DuelReplay.isAttackMove(current);
+                }
+            };
+        }
+    }
+}
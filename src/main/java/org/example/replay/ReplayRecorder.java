@@ -0,0 +1,123 @@
+package org.example.replay;
+
+import org.example.model.Card;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Graba los duelos de un {@link org.example.duel.Duel} mientras se juegan.
+ * Durante el duelo solo escribe en arrays preasignados. Al terminar, o bien codifica el
+ * registro en su buffer y lo entrega a un {@link ReplayWriter} por bloques (sin crear objetos
+ * por duelo), o bien entrega una {@link DuelReplay} a un consumidor.
+ * No es thread-safe: debe usarse desde el hilo que juega el duelo.
+ */
+public class ReplayRecorder {
+    // Como máximo dos jugadas por ronda
+    private static final int MAX_MOVES = 2 * DuelReplay.HAND_SIZE;
+
+    private final Consumer<DuelReplay> sink;
+    private final ReplayWriter writer;
+
+    // Registros codificados pendientes de entregar al writer
+    private final byte[] buffer;
+    private int bufferLength;
+    private int bufferedReplays;
+
+    private final int[] playerCardIds = new int[DuelReplay.HAND_SIZE];
+    private final int[] aiCardIds = new int[DuelReplay.HAND_SIZE];
+    private final byte[] moves = new byte[MAX_MOVES];
+    private long seed;
+    private int moveCount;
+    private boolean recording;
+
+    /**
+     * @param sink Recibe cada duelo terminado
+     */
+    public ReplayRecorder(Consumer<DuelReplay> sink) {
+        this.sink = sink;
+        this.writer = null;
+        this.buffer = null;
+    }
+
+    /**
+     * @param writer      Archivo de destino
+     * @param bufferBytes Bytes acumulados antes de entregarlos al writer
+     *                    (0 = entregar cada duelo al terminar)
+     */
+    public ReplayRecorder(ReplayWriter writer, int bufferBytes) {
+        this.sink = null;
+        this.writer = writer;
+        this.buffer = new byte[Math.max(bufferBytes, DuelReplay.MAX_ENCODED_BYTES)];
+    }
+
+    /**
+     * Empieza a grabar un duelo.
+     * @param seed        Semilla del duelo
+     * @param playerCards Mano del jugador
+     * @param aiCards     Mano de la máquina
+     */
+    public void begin(long seed, List<Card> playerCards, List<Card> aiCards) {
+        if (playerCards.size() != DuelReplay.HAND_SIZE || aiCards.size() != DuelReplay.HAND_SIZE) {
+            recording = false;
+            return;
+        }
+        for (int i = 0; i < DuelReplay.HAND_SIZE; i++) {
+            playerCardIds[i] = playerCards.get(i).getId();
+            aiCardIds[i] = aiCards.get(i).getId();
+        }
+        this.seed = seed;
+        this.moveCount = 0;
+        this.recording = true;
+    }
+
+    /**
+     * Graba una jugada.
+     * @param player    true si juega el jugador
+     * @param handIndex Posición de la carta en la mano original
+     * @param attack    true si juega en modo ataque
+     */
+    public void recordMove(boolean player, int handIndex, boolean attack) {
+        if (recording && moveCount < MAX_MOVES && handIndex >= 0) {
+            moves[moveCount++] = DuelReplay.encodeMove(player, handIndex, attack);
+        }
+    }
+
+    /**
+     * Termina el duelo en curso y lo entrega al destino.
+     * @param playerScore Rondas ganadas por el jugador
+     * @param aiScore     Rondas ganadas por la máquina
+     */
+    public void finish(int playerScore, int aiScore) {
+        if (!recording) return;
+        recording = false;
+
+        if (sink != null) {
+            sink.accept(new DuelReplay(seed, playerCardIds, aiCardIds,
+                    Arrays.copyOf(moves, moveCount), playerScore, aiScore));
+            return;
+        }
+
+        if (buffer.length - bufferLength < DuelReplay.MAX_ENCODED_BYTES) {
+            flush();
+        }
+        bufferLength = DuelReplay.encode(buffer, bufferLength, seed, playerCardIds, aiCardIds,
+                moves, moveCount, playerScore, aiScore);
+        bufferedReplays++;
+        if (buffer.length - bufferLength < DuelReplay.MAX_ENCODED_BYTES) {
+            flush();
+        }
+    }
+
+    /**
+     * Entrega al writer los duelos acumulados en el buffer.
+     */
+    public void flush() {
+        if (writer != null && bufferedReplays > 0) {
+            writer.append(Arrays.copyOf(buffer, bufferLength), bufferedReplays);
+            bufferLength = 0;
+            bufferedReplays = 0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.replay;
+
+import org.example.log.Log;
+import org.example.log.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escribe repeticiones en un archivo desde un hilo en segundo plano.
+ * Recibe bloques ya codificados por {@link ReplayRecorder}, así que el hilo de escritura
+ * solo copia bytes. Quien juega solo encola el bloque; si la cola está llena se descarta
+ * y se cuentan sus repeticiones.
+ */
+public class ReplayWriter implements AutoCloseable {
+    private static final Logger LOG = Log.getLogger(ReplayWriter.class);
+
+    // Bloques escritos por lote antes de hacer flush
+    private static final int BATCH_SIZE = 64;
+
+    // Bloque vacío que close() encola para despertar al hilo sin interrumpirlo
+    private static final Block CLOSE_MARK = new Block(new byte[0], 0);
+
+    private final Path file;
+    private final BlockingQueue<Block> queue;
+    private final Thread thread;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param file          Archivo de repeticiones (se sobrescribe)
+     * @param queueCapacity Bloques pendientes como máximo
+     */
+    public ReplayWriter(Path file, int queueCapacity) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::run, "replay-writer-" + file.getFileName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Encola un bloque de registros codificados. Se puede llamar desde cualquier hilo.
+     * @param data    Registros {@link DuelReplay} consecutivos (el writer se queda con el array)
+     * @param replays Número de registros del bloque
+     */
+    public void append(byte[] data, int replays) {
+        if (!running || !queue.offer(new Block(data, replays))) {
+            dropped.addAndGet(replays);
+        }
+    }
+
+    /**
+     * Encola una repetición ya construida. Se puede llamar desde cualquier hilo.
+     * @param replay Duelo terminado
+     */
+    public void append(DuelReplay replay) {
+        append(replay.toBytes(), 1);
+    }
+
+    /**
+     * @return Archivo de destino
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Repeticiones escritas en el archivo
+     */
+    public long getWrittenReplays() {
+        return written.get();
+    }
+
+    /**
+     * @return Repeticiones descartadas porque la cola estaba llena
+     */
+    public long getDroppedReplays() {
+        return dropped.get();
+    }
+
+    /**
+     * Escribe las repeticiones pendientes y cierra el archivo.
+     */
+    @Override
+    public void close() {
+        running = false;
+        // Sin interrupt(): cortaría una escritura en curso y se perderían las repeticiones pendientes.
+        // Si la cola está llena el hilo ya está escribiendo y verá running = false al vaciarla
+        queue.offer(CLOSE_MARK);
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Block> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                ReplayFile.writeHeader(out);
+                out.flush();
+                while (running || !queue.isEmpty()) {
+                    try {
+                        Block first = queue.poll(500, TimeUnit.MILLISECONDS);
+                        if (first == null) continue;
+                        batch.add(first);
+                    } catch (InterruptedException e) {
+                        // Nadie interrumpe este hilo; por si acaso, se termina tras vaciar la cola
+                        running = false;
+                    }
+                    queue.drainTo(batch, BATCH_SIZE - batch.size());
+                    for (Block block : batch) {
+                        out.write(block.data);
+                        written.addAndGet(block.replays);
+                    }
+                    out.flush();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Error escribiendo repeticiones {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Registros codificados entregados juntos.
+     */
+    private static final class Block {
+        private final byte[] data;
+        private final int replays;
+
+        private Block(byte[] data, int replays) {
+            this.data = data;
+            this.replays = replays;
+        }
+    }
+}
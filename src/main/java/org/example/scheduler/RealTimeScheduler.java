@@ -0,0 +1,55 @@
+package org.example.scheduler;
+
+import org.example.log.Log;
+import org.example.log.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planificador en tiempo real sin interfaz: las tareas se ejecutan en un único hilo daemon,
+ * de una en una y en orden de vencimiento.
+ */
+public class RealTimeScheduler implements Scheduler, AutoCloseable {
+    private static final Logger LOG = Log.getLogger(RealTimeScheduler.class);
+
+    private final ScheduledExecutorService executor;
+
+    /**
+     * @param name Nombre del hilo de ejecución
+     */
+    public RealTimeScheduler(String name) {
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ScheduledTask schedule(long delayMillis, Runnable task) {
+        ScheduledFuture<?> future = executor.schedule(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("Error en tarea programada: {}", e.getMessage());
+            }
+        }, Math.max(delayMillis, 0), TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Descarta las tareas pendientes y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
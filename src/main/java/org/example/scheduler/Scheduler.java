@@ -0,0 +1,33 @@
+package org.example.scheduler;
+
+/**
+ * Planificador de tareas diferidas del motor de duelo.
+ * Permite cambiar el reloj con el que se esperan los turnos de la máquina: temporizador de
+ * Swing en la interfaz, tiempo real sin interfaz o reloj virtual en simulaciones y pruebas.
+ */
+public interface Scheduler {
+
+    /**
+     * Programa una tarea para ejecutarse una sola vez tras un retardo.
+     * Las tareas con el mismo instante de ejecución se ejecutan en el orden en que se programaron.
+     * @param delayMillis Retardo en milisegundos (0 = en cuanto sea posible, nunca dentro de esta llamada)
+     * @param task        Tarea a ejecutar
+     * @return Tarea programada, para cancelarla
+     */
+    ScheduledTask schedule(long delayMillis, Runnable task);
+
+    /**
+     * @return Instante actual del reloj del planificador en milisegundos
+     */
+    long currentTimeMillis();
+
+    /**
+     * Tarea pendiente de un {@link Scheduler}.
+     */
+    interface ScheduledTask {
+        /**
+         * Cancela la tarea si todavía no se ha ejecutado.
+         */
+        void cancel();
+    }
+}
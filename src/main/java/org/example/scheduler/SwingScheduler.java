@@ -0,0 +1,23 @@
+package org.example.scheduler;
+
+import javax.swing.*;
+
+/**
+ * Planificador sobre {@link Timer} de Swing: las tareas se ejecutan en el EDT.
+ * Es el que usa la interfaz gráfica.
+ */
+public class SwingScheduler implements Scheduler {
+
+    @Override
+    public ScheduledTask schedule(long delayMillis, Runnable task) {
+        Timer timer = new Timer((int) Math.min(Math.max(delayMillis, 0), Integer.MAX_VALUE), e -> task.run());
+        timer.setRepeats(false);
+        timer.start();
+        return timer::stop;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.scheduler;
+
+import java.util.PriorityQueue;
+
+/**
+ * Planificador con reloj virtual: el tiempo solo avanza cuando se llama a
+ * {@link #advance(long)} o {@link #runUntilIdle()}, y lo hace al instante.
+ * Las tareas se ejecutan en el hilo que avanza el reloj, en orden de vencimiento y,
+ * a igual vencimiento, en orden de programación, por lo que los eventos del duelo llegan
+ * en el mismo orden que con el temporizador de Swing pero sin esperar.
+ */
+public class VirtualClockScheduler implements Scheduler {
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+
+    // Instante virtual actual y contador de programación (desempate FIFO)
+    private long now;
+    private long sequence;
+
+    /**
+     * @param startMillis Instante inicial del reloj virtual
+     */
+    public VirtualClockScheduler(long startMillis) {
+        this.now = startMillis;
+    }
+
+    public VirtualClockScheduler() {
+        this(0);
+    }
+
+    @Override
+    public synchronized ScheduledTask schedule(long delayMillis, Runnable task) {
+        Entry entry = new Entry(now + Math.max(delayMillis, 0), sequence++, task);
+        queue.add(entry);
+        return () -> cancel(entry);
+    }
+
+    @Override
+    public synchronized long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * Avanza el reloj ejecutando las tareas que vencen por el camino, incluidas las que
+     * programen esas mismas tareas.
+     * @param millis Tiempo a avanzar
+     * @return Tareas ejecutadas
+     */
+    public int advance(long millis) {
+        long target;
+        synchronized (this) {
+            target = now + Math.max(millis, 0);
+        }
+        int executed = 0;
+        Entry entry;
+        while ((entry = pollDue(target)) != null) {
+            entry.task.run();
+            executed++;
+        }
+        synchronized (this) {
+            now = Math.max(now, target);
+        }
+        return executed;
+    }
+
+    /**
+     * Ejecuta tareas saltando el reloj hasta que no quede ninguna pendiente.
+     * @return Tareas ejecutadas
+     */
+    public int runUntilIdle() {
+        int executed = 0;
+        Entry entry;
+        while ((entry = pollDue(Long.MAX_VALUE)) != null) {
+            entry.task.run();
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * @return Tareas pendientes
+     */
+    public synchronized int getPendingTasks() {
+        return queue.size();
+    }
+
+    private synchronized Entry pollDue(long target) {
+        Entry next = queue.peek();
+        if (next == null || next.dueMillis > target) {
+            return null;
+        }
+        queue.poll();
+        now = next.dueMillis;
+        return next;
+    }
+
+    private synchronized void cancel(Entry entry) {
+        queue.remove(entry);
+    }
+
+    /**
+     * Tarea pendiente con su vencimiento virtual.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final long dueMillis;
+        private final long sequence;
+        private final Runnable task;
+
+        private Entry(long dueMillis, long sequence, Runnable task) {
+            this.dueMillis = dueMillis;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(dueMillis, other.dueMillis);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.broadcast.SpectatorBroadcaster;
+import org.example.catalog.CardCatalog;
+import org.example.catalog.WeightedCardSampler;
+import org.example.cli.CliOptions;
+import org.example.duel.DuelPolicies;
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+import org.example.random.RandomStreams;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Servidor HTTP sin interfaz que aloja muchos duelos a la vez (torneos en red local).
+ * Cada petición se atiende en un hilo virtual y se entrega como orden a su
+ * {@link DuelSession}; las sesiones no comparten estado entre sí.
+ *
+ * Uso: {@code java -cp ... org.example.server.DuelServer [opciones]}
+ * <pre>
+ *   --port=N           Puerto TCP (8080)
+ *   --max-sessions=N   Sesiones abiertas a la vez (10000)
+ *   --idle=SEGUNDOS    Cierra las sesiones sin actividad (600)
+ *   --think=MS         Retardo de la máquina cuando empieza la ronda (0)
+ *   --spectate=PUERTO  Retransmite los eventos de cada sesión a espectadores por TCP
+ *   --source=S         fallback | api | snapshot:archivo (fallback)
+ * </pre>
+ * Rutas:
+ * <pre>
+ *   GET    /sessions                          Número de sesiones abiertas
+ *   POST   /sessions?playerCards=a,b,c&amp;aiCards=d,e,f&amp;player=E&amp;ai=E
+ *                                             Crea una sesión (cartas aleatorias si no se indican)
+ *   GET    /sessions/{id}?after=N             Estado y eventos posteriores al N
+ *   POST   /sessions/{id}/start               Empieza o reinicia el duelo
+ *   POST   /sessions/{id}/select?card=I       El jugador juega su carta I (0-2)
+ *   DELETE /sessions/{id}                     Cierra la sesión
+ * </pre>
+ */
+public class DuelServer implements AutoCloseable {
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final int HAND_SIZE = 3;
+
+    // Tiempo máximo que una petición espera a su sesión
+    private static final long COMMAND_TIMEOUT_MILLIS = 5000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService sweeper;
+    private final DuelSessionRegistry registry;
+    private final CardCatalog catalog;
+
+    /**
+     * Crea el servidor y empieza a aceptar peticiones.
+     * @param port        Puerto TCP (0 para uno libre)
+     * @param registry    Registro de sesiones
+     * @param catalog     Cartas para las manos aleatorias
+     * @param idleMillis  Inactividad tras la que se cierra una sesión
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public DuelServer(int port, DuelSessionRegistry registry, CardCatalog catalog, long idleMillis)
+            throws IOException {
+        if (catalog.size() < 2 * HAND_SIZE) {
+            throw new IllegalArgumentException("El catálogo necesita al menos " + 2 * HAND_SIZE + " cartas");
+        }
+        this.registry = registry;
+        this.catalog = catalog;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "duel-server-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(idleMillis / 4, 1000);
+        sweeper.scheduleAtFixedRate(() -> registry.expireIdle(idleMillis), period, period, TimeUnit.MILLISECONDS);
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/sessions", this::handleSessions);
+        this.server.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("ygo.log.level") == null) {
+            System.setProperty("ygo.log.level", "WARN");
+        }
+
+        Map<String, String> options = CliOptions.parse(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        int maxSessions = Integer.parseInt(options.getOrDefault("max-sessions", "10000"));
+        long idleSeconds = Long.parseLong(options.getOrDefault("idle", "600"));
+        int thinkMillis = Integer.parseInt(options.getOrDefault("think", "0"));
+        String source = options.getOrDefault("source", "fallback");
+
+        CardCatalog catalog = CliOptions.loadCatalog(source);
+        DuelSessionRegistry registry = new DuelSessionRegistry(maxSessions, thinkMillis);
+        SpectatorBroadcaster broadcaster = options.containsKey("spectate")
+                ? new SpectatorBroadcaster(Integer.parseInt(options.get("spectate")), 256)
+                : null;
+        registry.setSpectatorBroadcaster(broadcaster);
+        DuelServer server = new DuelServer(port, registry, catalog, idleSeconds * 1000);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            if (broadcaster != null) {
+                broadcaster.close();
+            }
+        }, "duel-server-shutdown"));
+
+        System.out.printf("Servidor de duelos en el puerto %d | Catálogo: %s (%d cartas) | Máx. sesiones: %d%n",
+                server.getPort(), source, catalog.size(), maxSessions);
+        if (broadcaster != null) {
+            System.out.printf("Espectadores en el puerto %d%n", broadcaster.getPort());
+        }
+    }
+
+    /**
+     * @return Puerto en el que escucha el servidor
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        sweeper.shutdownNow();
+        registry.close();
+        executor.shutdown();
+    }
+
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Dentro del bloque: la respuesta de error se envía antes de cerrar el intercambio
+            try {
+                route(exchange);
+            } catch (NumberFormatException e) {
+                sendError(exchange, 400, "Número inválido: " + e.getMessage());
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/sessions".length()).split("/");
+        Map<String, String> query = HttpQuery.parse(exchange.getRequestURI().getRawQuery());
+
+        // path[0] es siempre vacío: "/sessions/7/start" -> ["", "7", "start"]
+        if (path.length <= 1) {
+            if ("GET".equals(method)) {
+                send(exchange, 200, new JSONObject()
+                        .put("sessions", registry.size())
+                        .put("maxSessions", registry.getMaxSessions()));
+            } else if ("POST".equals(method)) {
+                createSession(exchange, query);
+            } else {
+                sendError(exchange, 405, "Método no permitido");
+            }
+            return;
+        }
+
+        long id;
+        try {
+            id = Long.parseLong(path[1]);
+        } catch (NumberFormatException e) {
+            sendError(exchange, 404, "Sesión desconocida: " + path[1]);
+            return;
+        }
+        DuelSession session = registry.get(id);
+        if (session == null) {
+            sendError(exchange, 404, "Sesión desconocida: " + id);
+            return;
+        }
+
+        String action = path.length > 2 ? path[2] : "";
+        if (action.isEmpty() && "GET".equals(method)) {
+            reply(exchange, 200, session.snapshot(Long.parseLong(query.getOrDefault("after", "0"))));
+        } else if (action.isEmpty() && "DELETE".equals(method)) {
+            registry.remove(id);
+            exchange.sendResponseHeaders(204, -1);
+        } else if (action.equals("start") && "POST".equals(method)) {
+            reply(exchange, 200, session.start());
+        } else if (action.equals("select") && "POST".equals(method)) {
+            String card = query.get("card");
+            if (card == null) {
+                sendError(exchange, 400, "Falta el parámetro card");
+                return;
+            }
+            int cardIndex = Integer.parseInt(card);
+            if (cardIndex < 0 || cardIndex >= HAND_SIZE) {
+                sendError(exchange, 400, "Carta fuera de rango (0-" + (HAND_SIZE - 1) + "): " + cardIndex);
+                return;
+            }
+            reply(exchange, 200, session.select(cardIndex));
+        } else {
+            sendError(exchange, 404, "Ruta desconocida");
+        }
+    }
+
+    private void createSession(HttpExchange exchange, Map<String, String> query) throws IOException {
+        SplittableRandom random = RandomStreams.split();
+        List<Card> playerCards;
+        List<Card> aiCards;
+        if (query.containsKey("playerCards") || query.containsKey("aiCards")) {
+            playerCards = cardsById(query.get("playerCards"));
+            aiCards = cardsById(query.get("aiCards"));
+        } else {
+            WeightedCardSampler sampler = catalog.getSampler("uniform", WeightedCardSampler.uniform());
+            List<Card> pool = sampler.drawDistinct(2 * HAND_SIZE, random);
+            playerCards = pool.subList(0, HAND_SIZE);
+            aiCards = pool.subList(HAND_SIZE, 2 * HAND_SIZE);
+        }
+
+        DuelSession session;
+        try {
+            session = registry.create(playerCards, aiCards,
+                    DuelPolicies.byName(query.getOrDefault("player", "random")),
+                    DuelPolicies.byName(query.getOrDefault("ai", "random")),
+                    random);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            sendError(exchange, 503, e.getMessage());
+            return;
+        }
+        exchange.getResponseHeaders().set("Location", "/sessions/" + session.getId());
+        reply(exchange, 201, session.snapshot(0));
+    }
+
+    /**
+     * @param ids Ids separados por comas
+     * @return Cartas registradas con esos ids (null si alguno no existe, lo rechaza el registro)
+     */
+    private static List<Card> cardsById(String ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        List<Card> cards = new ArrayList<>(HAND_SIZE);
+        for (String id : ids.split(",")) {
+            cards.add(CardRegistry.get(Integer.parseInt(id.trim())));
+        }
+        return cards;
+    }
+
+    private void reply(HttpExchange exchange, int status, CompletableFuture<JSONObject> result) throws IOException {
+        try {
+            send(exchange, status, result.get(COMMAND_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            sendError(exchange, 409, e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            sendError(exchange, 504, "La sesión no respondió a tiempo");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "Servidor detenido");
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new JSONObject().put("error", message));
+    }
+
+    private static void send(HttpExchange exchange, int status, JSONObject json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.server;
+
+import org.example.duel.Duel;
+import org.example.duel.DuelActor;
+import org.example.duel.DuelPolicy;
+import org.example.listeners.BattleListener;
+import org.example.listeners.CompositeBattleListener;
+import org.example.model.Card;
+import org.example.scheduler.Scheduler;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Un duelo alojado en el servidor. Las órdenes pasan por un {@link DuelActor}, que las
+ * ejecuta de una en una, así que el {@link Duel} y el registro de eventos no necesitan
+ * sincronización y las sesiones no comparten ningún cerrojo entre sí.
+ *
+ * Las órdenes devuelven un {@link CompletableFuture} que se completa con el estado en JSON
+ * o, si el duelo rechaza la jugada, con una {@link IllegalStateException}.
+ */
+public class DuelSession {
+    // Eventos que se conservan para los clientes que consultan con retraso
+    static final int MAX_EVENTS = 256;
+
+    private final long id;
+    private final Duel duel;
+    private final DuelActor actor;
+
+    // Estado confinado al actor de la sesión
+    private final ArrayDeque<JSONObject> events = new ArrayDeque<>();
+    private long nextEventSeq = 1;
+    private String commandError;
+    private String winner;
+
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+
+    /**
+     * @param id           Identificador de la sesión
+     * @param playerCards  Cartas del jugador (3)
+     * @param aiCards      Cartas de la máquina (3)
+     * @param playerPolicy Estrategia con la que el jugador elige modo de batalla
+     * @param aiPolicy     Estrategia de la máquina
+     * @param random       Generador propio del duelo
+     * @param executor     Ejecutor compartido de los actores
+     * @param timer        Reloj compartido para el retardo de la máquina
+     * @param aiThinkDelay Retardo de la máquina cuando empieza la ronda (0 = responde en la misma orden)
+     * @param spectators   Destino adicional de los eventos (retransmisión), o null
+     */
+    DuelSession(long id, List<Card> playerCards, List<Card> aiCards, DuelPolicy playerPolicy,
+                DuelPolicy aiPolicy, SplittableRandom random, Executor executor, Scheduler timer,
+                int aiThinkDelay, BattleListener spectators) {
+        this.id = id;
+        this.duel = new Duel(random);
+        duel.setAiThinkDelay(aiThinkDelay);
+        duel.setPlayerPolicy(playerPolicy);
+        duel.setAiPolicy(aiPolicy);
+        duel.setBattleListener(spectators != null
+                ? new CompositeBattleListener(new EventRecorder(), spectators)
+                : new EventRecorder());
+        duel.setPlayerCards(playerCards);
+        duel.setAiCards(aiCards);
+        this.actor = new DuelActor(duel, executor, timer);
+    }
+
+    /**
+     * Empieza (o reinicia) el duelo.
+     * @return Estado tras el primer turno
+     */
+    public CompletableFuture<JSONObject> start() {
+        return submit(() -> {
+            long lastSeq = nextEventSeq - 1;
+            winner = null;
+            duel.resetDuel();
+            duel.startDuel();
+            return toJson(lastSeq);
+        });
+    }
+
+    /**
+     * El jugador juega una de sus cartas; la máquina responde en la misma orden.
+     * @param cardIndex Índice de la carta en la mano del jugador (0-2)
+     * @return Estado tras la jugada
+     */
+    public CompletableFuture<JSONObject> select(int cardIndex) {
+        return submit(() -> {
+            long lastSeq = nextEventSeq - 1;
+            duel.playerSelectsCard(cardIndex);
+            return toJson(lastSeq);
+        });
+    }
+
+    /**
+     * @param afterEvent Devuelve solo los eventos posteriores a este número
+     * @return Estado actual de la sesión
+     */
+    public CompletableFuture<JSONObject> snapshot(long afterEvent) {
+        return submit(() -> toJson(afterEvent));
+    }
+
+    /**
+     * Detiene la sesión tras las órdenes ya encoladas.
+     */
+    public void close() {
+        actor.stop();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    public boolean isClosed() {
+        return actor.isStopped();
+    }
+
+    private CompletableFuture<JSONObject> submit(Supplier<JSONObject> command) {
+        lastActivityMillis = System.currentTimeMillis();
+        return actor.ask(d -> {
+            commandError = null;
+            JSONObject state = command.get();
+            if (commandError != null) {
+                throw new IllegalStateException(commandError);
+            }
+            return state;
+        });
+    }
+
+    private JSONObject toJson(long afterEvent) {
+        JSONArray hand = new JSONArray();
+        List<Card> playerCards = duel.getPlayerCards();
+        List<Card> available = duel.getAvailablePlayerCards();
+        for (int i = 0; i < playerCards.size(); i++) {
+            Card card = playerCards.get(i);
+            hand.put(new JSONObject()
+                    .put("index", i)
+                    .put("id", card.getId())
+                    .put("name", card.getName())
+                    .put("atk", card.getAtk())
+                    .put("def", card.getDef())
+                    .put("available", available.contains(card)));
+        }
+
+        JSONArray newEvents = new JSONArray();
+        for (JSONObject event : events) {
+            if (event.getLong("seq") > afterEvent) {
+                newEvents.put(event);
+            }
+        }
+
+        JSONObject state = new JSONObject()
+                .put("id", id)
+                .put("started", duel.isGameStarted())
+                .put("round", duel.getCurrentRound())
+                .put("playerScore", duel.getPlayerScore())
+                .put("aiScore", duel.getAiScore())
+                .put("waitingForPlayer", duel.isWaitingForPlayerSelection())
+                .put("aiCardsLeft", duel.getAvailableAiCardsCount())
+                .put("playerCards", hand)
+                .put("lastEvent", nextEventSeq - 1)
+                .put("events", newEvents);
+        if (winner != null) {
+            state.put("winner", winner);
+        }
+        return state;
+    }
+
+    private void addEvent(String type, JSONObject event) {
+        event.put("seq", nextEventSeq++).put("type", type);
+        events.addLast(event);
+        if (events.size() > MAX_EVENTS) {
+            events.removeFirst();
+        }
+    }
+
+    /**
+     * Guarda los eventos del duelo; se ejecuta siempre dentro del actor.
+     */
+    private class EventRecorder implements BattleListener {
+        @Override
+        public void onTurn(String playerCard, String aiCard, String winner, String battleLog) {
+            addEvent("turn", new JSONObject()
+                    .put("playerCard", playerCard)
+                    .put("aiCard", aiCard)
+                    .put("winner", winner)
+                    .put("log", battleLog));
+        }
+
+        @Override
+        public void onScoreChanged(int playerScore, int aiScore) {
+            addEvent("score", new JSONObject().put("player", playerScore).put("ai", aiScore));
+        }
+
+        @Override
+        public void onDuelEnded(String duelWinner) {
+            winner = duelWinner;
+            addEvent("end", new JSONObject().put("winner", duelWinner));
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            commandError = errorMessage;
+            addEvent("error", new JSONObject().put("message", errorMessage));
+        }
+
+        @Override
+        public void onCardsLoaded() {
+        }
+
+        @Override
+        public void onDuelStarted(String starter, int roundNumber) {
+            addEvent("start", new JSONObject().put("starter", starter));
+        }
+
+        @Override
+        public void onCardSelected(String playerName, String cardName, int cardIndex) {
+            addEvent("select", new JSONObject().put("player", playerName).put("card", cardName));
+        }
+
+        @Override
+        public void onRoundStarted(int roundNumber, int playerScore, int aiScore) {
+            addEvent("round", new JSONObject().put("round", roundNumber));
+        }
+
+        @Override
+        public void onTurnStarted(String playerName, boolean isPlayerTurn) {
+        }
+
+        @Override
+        public void onCardLoaded(int cardsLoaded, int totalCards, String cardName) {
+        }
+
+        @Override
+        public void onStatusUpdate(String statusMessage, boolean isError) {
+        }
+
+        @Override
+        public void onDuelReset() {
+        }
+
+        @Override
+        public void onBattleModeSet(String playerName, boolean isAttackMode) {
+            addEvent("mode", new JSONObject()
+                    .put("player", playerName)
+                    .put("attack", isAttackMode));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.server;
+
+import org.example.broadcast.SpectatorBroadcaster;
+import org.example.duel.DuelPolicy;
+import org.example.model.Card;
+import org.example.random.RandomStreams;
+import org.example.scheduler.RealTimeScheduler;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro concurrente de las sesiones del servidor. Crear, buscar y cerrar sesiones no
+ * toma ningún cerrojo global: los ids salen de un contador atómico, el límite de sesiones
+ * se reserva con CAS y cada sesión procesa sus órdenes en su propio actor, sobre hilos
+ * virtuales compartidos.
+ */
+public class DuelSessionRegistry implements AutoCloseable {
+    private static final int HAND_SIZE = 3;
+
+    private final ConcurrentHashMap<Long, DuelSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final int maxSessions;
+    private final int aiThinkDelayMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final RealTimeScheduler timer = new RealTimeScheduler("duel-sessions-timer");
+
+    // Retransmisión de los eventos a espectadores (null = desactivada)
+    private volatile SpectatorBroadcaster broadcaster;
+
+    /**
+     * @param maxSessions Sesiones abiertas a la vez como máximo
+     */
+    public DuelSessionRegistry(int maxSessions) {
+        this(maxSessions, 0);
+    }
+
+    /**
+     * @param maxSessions        Sesiones abiertas a la vez como máximo
+     * @param aiThinkDelayMillis Retardo de la máquina cuando empieza la ronda (0 = sin espera)
+     */
+    public DuelSessionRegistry(int maxSessions, int aiThinkDelayMillis) {
+        if (maxSessions <= 0) {
+            throw new IllegalArgumentException("El máximo de sesiones debe ser positivo");
+        }
+        this.maxSessions = maxSessions;
+        this.aiThinkDelayMillis = Math.max(aiThinkDelayMillis, 0);
+    }
+
+    /**
+     * Retransmite los eventos de las sesiones creadas a partir de ahora.
+     * @param broadcaster Servicio de retransmisión, o null para desactivarla
+     */
+    public void setSpectatorBroadcaster(SpectatorBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Abre una sesión nueva.
+     * @param playerCards  Cartas del jugador (3 monstruos)
+     * @param aiCards      Cartas de la máquina (3 monstruos)
+     * @param playerPolicy Estrategia del jugador para el modo de batalla
+     * @param aiPolicy     Estrategia de la máquina
+     * @param random       Generador del duelo, o null para uno de {@link RandomStreams}
+     * @return Sesión creada
+     * @throws IllegalArgumentException Si las manos no son válidas
+     * @throws IllegalStateException    Si ya hay {@code maxSessions} sesiones abiertas
+     */
+    public DuelSession create(List<Card> playerCards, List<Card> aiCards,
+                              DuelPolicy playerPolicy, DuelPolicy aiPolicy, SplittableRandom random) {
+        checkHand(playerCards, "del jugador");
+        checkHand(aiCards, "de la máquina");
+
+        int active;
+        do {
+            active = activeSessions.get();
+            if (active >= maxSessions) {
+                throw new IllegalStateException("Límite de sesiones alcanzado (" + maxSessions + ")");
+            }
+        } while (!activeSessions.compareAndSet(active, active + 1));
+
+        long id = nextId.getAndIncrement();
+        SpectatorBroadcaster spectators = broadcaster;
+        DuelSession session;
+        try {
+            session = new DuelSession(id, playerCards, aiCards, playerPolicy, aiPolicy,
+                    random != null ? random : RandomStreams.split(), executor, timer, aiThinkDelayMillis,
+                    spectators != null ? spectators.listenerFor(id) : null);
+        } catch (RuntimeException | Error e) {
+            // La plaza reservada no llega a usarse
+            activeSessions.decrementAndGet();
+            throw e;
+        }
+        sessions.put(id, session);
+        return session;
+    }
+
+    /**
+     * @param id Identificador de la sesión
+     * @return Sesión abierta, o null si no existe
+     */
+    public DuelSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Cierra una sesión y libera su plaza.
+     * @param id Identificador de la sesión
+     * @return true si existía
+     */
+    public boolean remove(long id) {
+        DuelSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        activeSessions.decrementAndGet();
+        session.close();
+        SpectatorBroadcaster spectators = broadcaster;
+        if (spectators != null) {
+            spectators.closeDuel(id);
+        }
+        return true;
+    }
+
+    /**
+     * Cierra las sesiones sin órdenes desde hace más de {@code maxIdleMillis}.
+     * @param maxIdleMillis Inactividad máxima
+     * @return Sesiones cerradas
+     */
+    public int expireIdle(long maxIdleMillis) {
+        long limit = System.currentTimeMillis() - maxIdleMillis;
+        int expired = 0;
+        for (DuelSession session : sessions.values()) {
+            if (session.getLastActivityMillis() < limit && remove(session.getId())) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return Sesiones abiertas
+     */
+    public int size() {
+        return activeSessions.get();
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Cierra todas las sesiones y detiene sus hilos.
+     */
+    @Override
+    public void close() {
+        for (Long id : sessions.keySet()) {
+            remove(id);
+        }
+        timer.close();
+        executor.shutdown();
+    }
+
+    private static void checkHand(List<Card> cards, String owner) {
+        if (cards == null || cards.size() != HAND_SIZE) {
+            throw new IllegalArgumentException("La mano " + owner + " debe tener " + HAND_SIZE + " cartas");
+        }
+        for (Card card : cards) {
+            if (card == null || !card.isValidMonster()) {
+                throw new IllegalArgumentException("Carta inválida en la mano " + owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.server;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lectura de la query string de las peticiones de los servidores HTTP.
+ */
+final class HttpQuery {
+
+    private HttpQuery() {
+    }
+
+    /**
+     * @param rawQuery Query sin decodificar ({@code URI.getRawQuery()}), o null
+     * @return Valor decodificado de cada parámetro por clave ("" si no lleva {@code =})
+     */
+    static Map<String, String> parse(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+}
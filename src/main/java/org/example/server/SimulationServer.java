@@ -0,0 +1,385 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.catalog.CardCatalog;
+import org.example.cli.CliOptions;
+import org.example.duel.DuelPolicies;
+import org.example.model.Card;
+import org.example.model.CardRegistry;
+import org.example.random.RandomStreams;
+import org.example.rating.CardRatings;
+import org.example.simulation.SimulationEngine;
+import org.example.simulation.SimulationJob;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * API HTTP para simulaciones por lotes ("mano A contra mano B, un millón de veces").
+ * Los trabajos se ejecutan en un {@link SimulationEngine} con un hilo por núcleo y reparto
+ * justo entre trabajos; las peticiones HTTP se atienden en hilos virtuales.
+ *
+ * Uso: {@code java -cp ... org.example.server.SimulationServer [opciones]}
+ * <pre>
+ *   --port=N       Puerto TCP (8090)
+ *   --threads=N    Hilos de simulación (uno por núcleo)
+ *   --block=N      Duelos por bloque de reparto (4096); los resultados de una semilla dependen de él
+ *   --max-jobs=N   Trabajos en cola o en marcha a la vez (64)
+ *   --source=S     fallback | api | snapshot:archivo (fallback)
+ *   --ratings=F    Valora las cartas con cada batalla y las guarda en el archivo cada minuto
+ * </pre>
+ * Rutas:
+ * <pre>
+ *   POST   /jobs[?stream=true]   Encola un trabajo (cuerpo JSON, ver abajo); con stream
+ *                                devuelve los resultados en la misma respuesta
+ *   GET    /jobs                 Progreso de todos los trabajos
+ *   GET    /jobs/{id}            Progreso de un trabajo
+ *   GET    /jobs/{id}/results    Resultados en streaming, según termina cada enfrentamiento
+ *   DELETE /jobs/{id}            Cancela el trabajo
+ *   GET    /ratings[?top=N]      Cartas con más valoración (con --ratings)
+ * </pre>
+ * Cuerpo del trabajo:
+ * <pre>
+ *   {"player": "random", "ai": "counter", "seed": 42, "duels": 1000000,
+ *    "matchups": [{"playerCards": [id, id, id], "aiCards": [id, id, id], "duels": 1000}]}
+ * </pre>
+ * {@code duels} de cada enfrentamiento es opcional (se usa el del trabajo, 1000 por defecto).
+ */
+public class SimulationServer implements AutoCloseable {
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final int HAND_SIZE = 3;
+    private static final int MAX_MATCHUPS = 10_000;
+    private static final long MAX_DUELS_PER_MATCHUP = 1_000_000_000L;
+    private static final int MAX_TOP_RATINGS = 1000;
+    private static final long RATINGS_CHECKPOINT_MILLIS = 60_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final SimulationEngine engine;
+    private final CardRatings ratings;
+
+    /**
+     * Crea el servidor y empieza a aceptar peticiones.
+     * @param port    Puerto TCP (0 para uno libre)
+     * @param engine  Motor que ejecuta los trabajos
+     * @param ratings Valoraciones que actualizan los trabajos, o null
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public SimulationServer(int port, SimulationEngine engine, CardRatings ratings) throws IOException {
+        this.engine = engine;
+        this.ratings = ratings;
+        engine.setRatings(ratings);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/jobs", this::handleJobs);
+        this.server.createContext("/ratings", this::handleRatings);
+        this.server.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("ygo.log.level") == null) {
+            System.setProperty("ygo.log.level", "WARN");
+        }
+
+        Map<String, String> options = CliOptions.parse(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "8090"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int block = Integer.parseInt(options.getOrDefault("block", "4096"));
+        int maxJobs = Integer.parseInt(options.getOrDefault("max-jobs", "64"));
+        String source = options.getOrDefault("source", "fallback");
+
+        // Registra las cartas que se pueden pedir por id
+        CardCatalog catalog = CliOptions.loadCatalog(source);
+        SimulationEngine engine = new SimulationEngine(threads, block, maxJobs);
+        CardRatings ratings = null;
+        if (options.containsKey("ratings")) {
+            ratings = CardRatings.open(Paths.get(options.get("ratings")),
+                    CardRatings.DEFAULT_CAPACITY, CardRatings.DEFAULT_K_FACTOR);
+            ratings.startCheckpoints(Paths.get(options.get("ratings")), RATINGS_CHECKPOINT_MILLIS);
+        }
+        SimulationServer server = new SimulationServer(port, engine, ratings);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "simulation-server-shutdown"));
+
+        System.out.printf("Servidor de simulación en el puerto %d | Catálogo: %s (%d cartas) | Hilos: %d%n",
+                server.getPort(), source, catalog.size(), threads);
+    }
+
+    /**
+     * @return Puerto en el que escucha el servidor
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        engine.close();
+        if (ratings != null) {
+            ratings.close();
+        }
+        executor.shutdown();
+    }
+
+    private void handleRatings(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Método no permitido");
+                return;
+            }
+            if (ratings == null) {
+                sendError(exchange, 404, "El servidor no valora cartas (arrancar con --ratings)");
+                return;
+            }
+            Map<String, String> query = HttpQuery.parse(exchange.getRequestURI().getRawQuery());
+            int top = 20;
+            if (query.containsKey("top")) {
+                try {
+                    top = Integer.parseInt(query.get("top"));
+                } catch (NumberFormatException e) {
+                    top = -1;
+                }
+                if (top < 1) {
+                    sendError(exchange, 400, "top inválido: " + query.get("top"));
+                    return;
+                }
+                top = Math.min(top, MAX_TOP_RATINGS);
+            }
+
+            JSONArray list = new JSONArray();
+            for (CardRatings.Rating rating : ratings.getTop(top)) {
+                Card card = CardRegistry.get(rating.getCardId());
+                list.put(new JSONObject()
+                        .put("id", rating.getCardId())
+                        .put("name", card != null ? card.getName() : "")
+                        .put("rating", Math.round(rating.getRating() * 10) / 10.0)
+                        .put("battles", rating.getBattles()));
+            }
+            send(exchange, 200, new JSONObject()
+                    .put("ratedCards", ratings.getRatedCards())
+                    .put("battles", ratings.getTotalBattles())
+                    .put("top", list));
+        }
+    }
+
+    private void handleJobs(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().substring("/jobs".length()).split("/");
+            Map<String, String> query = HttpQuery.parse(exchange.getRequestURI().getRawQuery());
+
+            // path[0] es siempre vacío: "/jobs/3/results" -> ["", "3", "results"]
+            if (path.length <= 1) {
+                if ("GET".equals(method)) {
+                    JSONArray list = new JSONArray();
+                    for (SimulationJob job : engine.getJobs()) {
+                        list.put(progressJson(job));
+                    }
+                    send(exchange, 200, new JSONObject()
+                            .put("threads", engine.getThreads())
+                            .put("unfinishedJobs", engine.getUnfinishedJobs())
+                            .put("jobs", list));
+                } else if ("POST".equals(method)) {
+                    submitJob(exchange, "true".equals(query.get("stream")));
+                } else {
+                    sendError(exchange, 405, "Método no permitido");
+                }
+                return;
+            }
+
+            SimulationJob job;
+            try {
+                job = engine.get(Long.parseLong(path[1]));
+            } catch (NumberFormatException e) {
+                job = null;
+            }
+            if (job == null) {
+                sendError(exchange, 404, "Trabajo desconocido: " + path[1]);
+                return;
+            }
+
+            String action = path.length > 2 ? path[2] : "";
+            if (action.isEmpty() && "GET".equals(method)) {
+                send(exchange, 200, progressJson(job));
+            } else if (action.isEmpty() && "DELETE".equals(method)) {
+                job.cancel();
+                send(exchange, 200, progressJson(job));
+            } else if (action.equals("results") && "GET".equals(method)) {
+                streamResults(exchange, job);
+            } else {
+                sendError(exchange, 404, "Ruta desconocida");
+            }
+        }
+    }
+
+    private void submitJob(HttpExchange exchange, boolean stream) throws IOException {
+        SimulationJob job;
+        try {
+            JSONObject request = new JSONObject(readBody(exchange));
+            long defaultDuels = request.optLong("duels", 1000);
+            JSONArray list = request.getJSONArray("matchups");
+            if (list.length() == 0 || list.length() > MAX_MATCHUPS) {
+                sendError(exchange, 400, "Entre 1 y " + MAX_MATCHUPS + " enfrentamientos por trabajo");
+                return;
+            }
+
+            List<SimulationJob.Matchup> matchups = new ArrayList<>(list.length());
+            for (int i = 0; i < list.length(); i++) {
+                JSONObject matchup = list.getJSONObject(i);
+                long duels = matchup.optLong("duels", defaultDuels);
+                if (duels <= 0 || duels > MAX_DUELS_PER_MATCHUP) {
+                    sendError(exchange, 400, "Enfrentamiento " + i + ": duelos fuera de rango (1-" + MAX_DUELS_PER_MATCHUP + ")");
+                    return;
+                }
+                matchups.add(new SimulationJob.Matchup(hand(matchup.getJSONArray("playerCards"), i),
+                        hand(matchup.getJSONArray("aiCards"), i), duels));
+            }
+
+            job = engine.submit(matchups,
+                    DuelPolicies.byName(request.optString("player", "random")),
+                    DuelPolicies.byName(request.optString("ai", "random")),
+                    request.has("seed") ? request.getLong("seed") : RandomStreams.split().nextLong());
+        } catch (JSONException | IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            sendError(exchange, 429, e.getMessage());
+            return;
+        }
+
+        if (stream) {
+            streamResults(exchange, job);
+        } else {
+            exchange.getResponseHeaders().set("Location", "/jobs/" + job.getId());
+            send(exchange, 202, progressJson(job));
+        }
+    }
+
+    /**
+     * Escribe los resultados según termina cada enfrentamiento (respuesta chunked), en orden.
+     * Si el cliente se desconecta, el trabajo sigue en marcha.
+     */
+    private void streamResults(HttpExchange exchange, SimulationJob job) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            write(out, "{\"id\":" + job.getId() + ",\"seed\":" + job.getSeed() + ",\"results\":[\n");
+            List<SimulationJob.Matchup> matchups = job.getMatchups();
+            for (int i = 0; i < matchups.size(); i++) {
+                SimulationJob.Matchup matchup = matchups.get(i);
+                try {
+                    matchup.getCompletion().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    break;
+                }
+                write(out, (i > 0 ? ",\n" : "") + matchupJson(i, matchup));
+            }
+            JSONObject summary = progressJson(job);
+            write(out, "\n],\"state\":\"" + job.getState() + "\",\"playedDuels\":" + job.getPlayedDuels()
+                    + ",\"seconds\":" + summary.get("seconds") + "}\n");
+        }
+    }
+
+    private static List<Card> hand(JSONArray ids, int matchup) {
+        if (ids.length() != HAND_SIZE) {
+            throw new IllegalArgumentException("Enfrentamiento " + matchup + ": cada mano necesita " + HAND_SIZE + " cartas");
+        }
+        List<Card> cards = new ArrayList<>(HAND_SIZE);
+        for (int i = 0; i < HAND_SIZE; i++) {
+            int id = ids.getInt(i);
+            Card card = CardRegistry.get(id);
+            if (card == null || !card.isValidMonster()) {
+                throw new IllegalArgumentException("Enfrentamiento " + matchup + ": carta desconocida o inválida " + id);
+            }
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    private static JSONObject progressJson(SimulationJob job) {
+        long started = job.getStartedMillis();
+        long finished = job.getFinishedMillis();
+        double seconds = started == 0 ? 0 : ((finished != 0 ? finished : System.currentTimeMillis()) - started) / 1000.0;
+        long completed = 0;
+        for (SimulationJob.Matchup matchup : job.getMatchups()) {
+            if (matchup.getPlayed() == matchup.getDuels()) completed++;
+        }
+        return new JSONObject()
+                .put("id", job.getId())
+                .put("state", job.getState().name())
+                .put("totalDuels", job.getTotalDuels())
+                .put("playedDuels", job.getPlayedDuels())
+                .put("progress", (double) job.getPlayedDuels() / job.getTotalDuels())
+                .put("matchups", job.getMatchups().size())
+                .put("completedMatchups", completed)
+                .put("seed", job.getSeed())
+                .put("seconds", seconds)
+                .put("duelsPerSecond", seconds == 0 ? 0 : Math.round(job.getPlayedDuels() / seconds));
+    }
+
+    private static JSONObject matchupJson(int index, SimulationJob.Matchup matchup) {
+        long played = matchup.getPlayed();
+        return new JSONObject()
+                .put("index", index)
+                .put("playerCards", ids(matchup.getPlayerCards()))
+                .put("aiCards", ids(matchup.getAiCards()))
+                .put("duels", matchup.getDuels())
+                .put("played", played)
+                .put("playerWins", matchup.getPlayerWins())
+                .put("aiWins", matchup.getAiWins())
+                .put("ties", matchup.getTies())
+                .put("playerWinRate", played == 0 ? 0 : (double) matchup.getPlayerWins() / played);
+    }
+
+    private static JSONArray ids(List<Card> cards) {
+        JSONArray ids = new JSONArray();
+        for (Card card : cards) {
+            ids.put(card.getId());
+        }
+        return ids;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void write(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new JSONObject().put("error", message));
+    }
+
+    private static void send(HttpExchange exchange, int status, JSONObject json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
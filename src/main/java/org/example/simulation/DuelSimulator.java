@@ -0,0 +1,87 @@
+package org.example.simulation;
+
+import org.example.duel.Duel;
+import org.example.duel.DuelPolicy;
+import org.example.model.Card;
+import org.example.rating.CardRatings;
+import org.example.replay.ReplayRecorder;
+import org.example.scheduler.VirtualClockScheduler;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Juega duelos completos sin interfaz, eligiendo las cartas de los dos lados con estrategias.
+ * Los turnos de la máquina se esperan con un {@link VirtualClockScheduler}: mismo retardo y
+ * mismo orden de eventos que en la interfaz, sin esperas reales.
+ *
+ * No es seguro entre hilos: cada hilo de simulación usa el suyo.
+ */
+public class DuelSimulator {
+    private static final int HAND_SIZE = 3;
+
+    private final Duel duel;
+    private final VirtualClockScheduler clock = new VirtualClockScheduler();
+    private final DuelPolicy playerPolicy;
+    private final SplittableRandom random;
+
+    /**
+     * @param playerPolicy Estrategia del jugador (carta y modo)
+     * @param aiPolicy     Estrategia de la máquina
+     * @param random       Generador de las decisiones; el duelo recibe uno derivado
+     */
+    public DuelSimulator(DuelPolicy playerPolicy, DuelPolicy aiPolicy, SplittableRandom random) {
+        this.playerPolicy = playerPolicy;
+        this.random = random;
+        this.duel = new Duel(random.split());
+        duel.setScheduler(clock);
+        duel.setPlayerPolicy(playerPolicy);
+        duel.setAiPolicy(aiPolicy);
+    }
+
+    /**
+     * @param recorder Grabador de los duelos siguientes, o null
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        duel.setReplayRecorder(recorder);
+    }
+
+    /**
+     * @param ratings Valoraciones que se actualizan con cada batalla, o null
+     */
+    public void setRatings(CardRatings ratings) {
+        duel.setRatings(ratings);
+    }
+
+    /**
+     * Juega un duelo completo.
+     * @param playerHand Cartas del jugador (3)
+     * @param aiHand     Cartas de la máquina (3)
+     * @return Diferencia de marcador (jugador - máquina)
+     */
+    public int play(List<Card> playerHand, List<Card> aiHand) {
+        duel.setPlayerCards(playerHand);
+        duel.setAiCards(aiHand);
+        duel.resetDuel();
+        duel.startDuel();
+        clock.runUntilIdle();
+
+        // Cada ronda el jugador juega una carta: como máximo tantas selecciones como cartas
+        for (int turn = 0; turn < HAND_SIZE && duel.isGameStarted(); turn++) {
+            if (!duel.isWaitingForPlayerSelection()) break;
+
+            List<Card> available = duel.getAvailablePlayerCards();
+            int choice = playerPolicy.selectCard(available, duel.getAiSelectedCard(), random);
+            duel.playerSelectsCard(playerHand.indexOf(available.get(choice)));
+            clock.runUntilIdle();
+        }
+        return duel.getPlayerScore() - duel.getAiScore();
+    }
+
+    /**
+     * @return Rondas jugadas en el último duelo
+     */
+    public int getRounds() {
+        return duel.getCurrentRound();
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.simulation;
+
+import org.example.duel.DuelPolicy;
+import org.example.log.Log;
+import org.example.log.Logger;
+import org.example.rating.CardRatings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ejecuta trabajos de simulación con un hilo por núcleo.
+ *
+ * Reparto justo: los trabajos pendientes forman una cola circular. Cada hilo toma el trabajo
+ * de la cabeza, reserva un bloque de duelos y lo devuelve al final antes de jugarlo, así que
+ * los trabajos avanzan bloque a bloque por turnos. Una consulta pequeña espera como mucho un
+ * bloque por cada trabajo activo, aunque haya otro de millones de duelos en marcha; si está
+ * sola, todos los hilos trabajan en ella.
+ */
+public class SimulationEngine implements AutoCloseable {
+    private static final Logger LOG = Log.getLogger(SimulationEngine.class);
+
+    // Trabajos terminados que se conservan para consultar sus resultados
+    private static final int RETAINED_FINISHED_JOBS = 256;
+
+    private final LinkedBlockingQueue<SimulationJob> runQueue = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<Long, SimulationJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger unfinishedJobs = new AtomicInteger();
+    private final int maxUnfinishedJobs;
+    private final int blockSize;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    // Valoraciones que actualizan los trabajos nuevos (null = no se valoran)
+    private volatile CardRatings ratings;
+
+    /**
+     * @param threads           Hilos de simulación (normalmente uno por núcleo)
+     * @param blockSize         Duelos por bloque: la unidad de reparto entre trabajos
+     * @param maxUnfinishedJobs Trabajos en cola o en marcha a la vez como máximo
+     */
+    public SimulationEngine(int threads, int blockSize, int maxUnfinishedJobs) {
+        this.blockSize = Math.max(blockSize, 1);
+        this.maxUnfinishedJobs = Math.max(maxUnfinishedJobs, 1);
+        for (int i = 0; i < Math.max(threads, 1); i++) {
+            Thread worker = new Thread(this::work, "simulation-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * @param ratings Valoraciones que se actualizan con las batallas de los trabajos encolados a
+     *                partir de ahora, o null
+     */
+    public void setRatings(CardRatings ratings) {
+        this.ratings = ratings;
+    }
+
+    /**
+     * Encola un trabajo.
+     * @param matchups     Enfrentamientos
+     * @param playerPolicy Estrategia de la mano A
+     * @param aiPolicy     Estrategia de la mano B
+     * @param seed         Semilla (con la misma semilla, los mismos resultados)
+     * @return Trabajo encolado
+     * @throws IllegalStateException Si ya hay {@code maxUnfinishedJobs} trabajos sin terminar
+     */
+    public SimulationJob submit(List<SimulationJob.Matchup> matchups, DuelPolicy playerPolicy,
+                                DuelPolicy aiPolicy, long seed) {
+        int unfinished;
+        do {
+            unfinished = unfinishedJobs.get();
+            if (unfinished >= maxUnfinishedJobs) {
+                throw new IllegalStateException("Demasiados trabajos en cola (" + maxUnfinishedJobs + ")");
+            }
+        } while (!unfinishedJobs.compareAndSet(unfinished, unfinished + 1));
+
+        SimulationJob job = new SimulationJob(nextId.getAndIncrement(), matchups, playerPolicy, aiPolicy,
+                seed, blockSize, ratings);
+        jobs.put(job.getId(), job);
+        job.getCompletion().thenRun(() -> onFinished(job));
+        runQueue.offer(job);
+        return job;
+    }
+
+    /**
+     * @param id Identificador del trabajo
+     * @return Trabajo, o null si no existe o ya se olvidó
+     */
+    public SimulationJob get(long id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @return Trabajos conocidos (en cola, en marcha y los últimos terminados)
+     */
+    public Collection<SimulationJob> getJobs() {
+        return jobs.values();
+    }
+
+    /**
+     * @return Trabajos en cola o en marcha
+     */
+    public int getUnfinishedJobs() {
+        return unfinishedJobs.get();
+    }
+
+    public int getThreads() {
+        return workers.size();
+    }
+
+    /**
+     * Cancela todos los trabajos y detiene los hilos.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (SimulationJob job : jobs.values()) {
+            job.cancel();
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    private void work() {
+        while (running) {
+            SimulationJob job;
+            try {
+                job = runQueue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = job.claimBlock();
+            if (start < 0) {
+                // Terminado o cancelado: sale de la rotación
+                continue;
+            }
+            // Al final de la cola antes de jugar el bloque: el siguiente hilo atiende a otro trabajo
+            runQueue.offer(job);
+            try {
+                job.runBlock(start);
+            } catch (RuntimeException e) {
+                LOG.error("Error en el trabajo de simulación {}: {}", job.getId(), e.getMessage());
+                job.cancel();
+            }
+        }
+    }
+
+    private void onFinished(SimulationJob job) {
+        unfinishedJobs.decrementAndGet();
+        finishedJobs.offer(job.getId());
+        while (finishedJobs.size() > RETAINED_FINISHED_JOBS) {
+            Long oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+}
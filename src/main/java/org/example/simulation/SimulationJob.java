@@ -0,0 +1,305 @@
+package org.example.simulation;
+
+import org.example.duel.DuelPolicy;
+import org.example.model.Card;
+import org.example.rating.CardRatings;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trabajo de simulación: una lista de enfrentamientos (mano A contra mano B, N duelos cada uno).
+ *
+ * Los duelos de todos los enfrentamientos forman un único rango [0, total) que los hilos del
+ * {@link SimulationEngine} se reparten en bloques con un contador atómico. Cada bloque usa un
+ * generador derivado de la semilla del trabajo y de su número, así que el resultado no depende
+ * del número de hilos ni del orden en que se ejecuten los bloques. Sí depende del tamaño de
+ * bloque: con otro {@code blockSize} cada duelo cae en otro bloque y usa otro generador, así
+ * que para reproducir un trabajo hacen falta la misma semilla y el mismo tamaño de bloque.
+ */
+public class SimulationJob {
+
+    /**
+     * Estado del trabajo.
+     */
+    public enum State {
+        QUEUED, RUNNING, DONE, CANCELLED
+    }
+
+    private final long id;
+    private final Matchup[] matchups;
+    private final DuelPolicy playerPolicy;
+    private final DuelPolicy aiPolicy;
+    private final long seed;
+    private final int blockSize;
+    private final CardRatings ratings;
+
+    // Primer duelo de cada enfrentamiento en el rango global (+ total al final)
+    private final long[] offsets;
+
+    // Siguiente duelo sin asignar
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLong played = new AtomicLong();
+    private final CompletableFuture<State> completion = new CompletableFuture<>();
+    private final long createdMillis = System.currentTimeMillis();
+
+    // Solo cambia por CAS: QUEUED -> RUNNING -> DONE | CANCELLED, nunca sale de un estado final
+    private final AtomicReference<State> state = new AtomicReference<>(State.QUEUED);
+    private volatile long startedMillis;
+    private volatile long finishedMillis;
+
+    /**
+     * @param id           Identificador
+     * @param matchups     Enfrentamientos (al menos uno)
+     * @param playerPolicy Estrategia de la mano A
+     * @param aiPolicy     Estrategia de la mano B
+     * @param seed         Semilla del trabajo
+     * @param blockSize    Duelos por bloque
+     * @param ratings      Valoraciones que se actualizan con cada batalla, o null
+     */
+    public SimulationJob(long id, List<Matchup> matchups, DuelPolicy playerPolicy, DuelPolicy aiPolicy,
+                         long seed, int blockSize, CardRatings ratings) {
+        if (matchups.isEmpty()) {
+            throw new IllegalArgumentException("El trabajo no tiene enfrentamientos");
+        }
+        this.id = id;
+        this.matchups = matchups.toArray(new Matchup[0]);
+        this.playerPolicy = playerPolicy;
+        this.aiPolicy = aiPolicy;
+        this.seed = seed;
+        this.blockSize = Math.max(blockSize, 1);
+        this.ratings = ratings;
+        this.offsets = new long[this.matchups.length + 1];
+        for (int i = 0; i < this.matchups.length; i++) {
+            offsets[i + 1] = offsets[i] + this.matchups[i].duels;
+        }
+    }
+
+    /**
+     * Reserva el siguiente bloque de duelos.
+     * @return Primer duelo del bloque, o -1 si no quedan o el trabajo se canceló
+     */
+    long claimBlock() {
+        if (isTerminal(state.get())) {
+            return -1;
+        }
+        long start = cursor.getAndAdd(blockSize);
+        return start < getTotalDuels() ? start : -1;
+    }
+
+    /**
+     * Juega un bloque reservado con {@link #claimBlock()}.
+     * @param start Primer duelo del bloque
+     */
+    void runBlock(long start) {
+        if (state.get() == State.QUEUED) {
+            long now = System.currentTimeMillis();
+            if (state.compareAndSet(State.QUEUED, State.RUNNING)) {
+                startedMillis = now;
+            }
+        }
+        long end = Math.min(start + blockSize, getTotalDuels());
+        DuelSimulator simulator = new DuelSimulator(playerPolicy, aiPolicy,
+                new SplittableRandom(seed ^ (start / blockSize) * 0x9E3779B97F4A7C15L));
+        simulator.setRatings(ratings);
+
+        int index = matchupAt(start);
+        long position = start;
+        while (position < end && state.get() != State.CANCELLED) {
+            Matchup matchup = matchups[index];
+            long segmentEnd = Math.min(end, offsets[index + 1]);
+            long wins = 0, losses = 0, ties = 0;
+            for (long duel = position; duel < segmentEnd; duel++) {
+                int result = simulator.play(matchup.playerCards, matchup.aiCards);
+                if (result > 0) {
+                    wins++;
+                } else if (result < 0) {
+                    losses++;
+                } else {
+                    ties++;
+                }
+            }
+            matchup.record(wins, losses, ties);
+            if (played.addAndGet(segmentEnd - position) == getTotalDuels()) {
+                finish(State.DONE);
+            }
+            position = segmentEnd;
+            index++;
+        }
+    }
+
+    /**
+     * Cancela el trabajo: los bloques en curso terminan su enfrentamiento actual y no se
+     * reparten más.
+     * @return true si estaba pendiente o en marcha
+     */
+    public boolean cancel() {
+        return finish(State.CANCELLED);
+    }
+
+    /**
+     * Pasa a un estado final si todavía no está en uno.
+     * @return true si este cambio terminó el trabajo
+     */
+    private boolean finish(State finalState) {
+        State current;
+        do {
+            current = state.get();
+            if (isTerminal(current)) {
+                return false;
+            }
+        } while (!state.compareAndSet(current, finalState));
+
+        finishedMillis = System.currentTimeMillis();
+        for (Matchup matchup : matchups) {
+            matchup.completion.complete(null);
+        }
+        completion.complete(finalState);
+        return true;
+    }
+
+    private static boolean isTerminal(State state) {
+        return state == State.DONE || state == State.CANCELLED;
+    }
+
+    private int matchupAt(long duel) {
+        int low = 0;
+        int high = matchups.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= duel) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public List<Matchup> getMatchups() {
+        return List.of(matchups);
+    }
+
+    public long getTotalDuels() {
+        return offsets[matchups.length];
+    }
+
+    public long getPlayedDuels() {
+        return played.get();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public long getStartedMillis() {
+        return startedMillis;
+    }
+
+    /**
+     * @return Momento en que terminó o se canceló (0 si sigue pendiente)
+     */
+    public long getFinishedMillis() {
+        return finishedMillis;
+    }
+
+    /**
+     * @return Se completa con el estado final (DONE o CANCELLED)
+     */
+    public CompletableFuture<State> getCompletion() {
+        return completion;
+    }
+
+    public boolean isFinished() {
+        return completion.isDone();
+    }
+
+    /**
+     * Enfrentamiento: mano A contra mano B, con sus resultados acumulados.
+     */
+    public static class Matchup {
+        private final List<Card> playerCards;
+        private final List<Card> aiCards;
+        private final long duels;
+        private final AtomicLong remaining;
+        private final LongAdder playerWins = new LongAdder();
+        private final LongAdder aiWins = new LongAdder();
+        private final LongAdder ties = new LongAdder();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        /**
+         * @param playerCards Mano A (3 cartas)
+         * @param aiCards     Mano B (3 cartas)
+         * @param duels       Duelos a jugar
+         */
+        public Matchup(List<Card> playerCards, List<Card> aiCards, long duels) {
+            if (duels <= 0) {
+                throw new IllegalArgumentException("El número de duelos debe ser positivo");
+            }
+            this.playerCards = List.copyOf(playerCards);
+            this.aiCards = List.copyOf(aiCards);
+            this.duels = duels;
+            this.remaining = new AtomicLong(duels);
+        }
+
+        private void record(long wins, long losses, long drawn) {
+            playerWins.add(wins);
+            aiWins.add(losses);
+            ties.add(drawn);
+            if (remaining.addAndGet(-(wins + losses + drawn)) == 0) {
+                completion.complete(null);
+            }
+        }
+
+        public List<Card> getPlayerCards() {
+            return playerCards;
+        }
+
+        public List<Card> getAiCards() {
+            return aiCards;
+        }
+
+        public long getDuels() {
+            return duels;
+        }
+
+        public long getPlayed() {
+            return duels - remaining.get();
+        }
+
+        public long getPlayerWins() {
+            return playerWins.sum();
+        }
+
+        public long getAiWins() {
+            return aiWins.sum();
+        }
+
+        public long getTies() {
+            return ties.sum();
+        }
+
+        /**
+         * @return Se completa cuando se han jugado todos sus duelos o el trabajo terminó
+         */
+        public CompletableFuture<Void> getCompletion() {
+            return completion;
+        }
+    }
+}
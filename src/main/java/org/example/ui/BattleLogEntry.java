@@ -0,0 +1,53 @@
+package org.example.ui;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entrada del log de batalla: una línea de texto con su marca de tiempo.
+ */
+public final class BattleLogEntry {
+    // Formato de hora para el archivo de historial
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private final long timestamp;
+    private final String text;
+
+    /**
+     * @param timestamp Momento de la entrada (ms desde epoch)
+     * @param text      Texto de la línea (sin saltos de línea)
+     */
+    public BattleLogEntry(long timestamp, String text) {
+        this.timestamp = timestamp;
+        this.text = text != null ? text : "";
+    }
+
+    /**
+     * @return Momento de la entrada (ms desde epoch)
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return Texto de la línea
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return Línea con hora para el archivo de historial
+     */
+    public String toFileLine() {
+        LocalTime time = LocalTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        return TIME_FORMAT.format(time) + " " + text;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
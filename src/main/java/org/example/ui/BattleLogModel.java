@@ -0,0 +1,84 @@
+package org.example.ui;
+
+import javax.swing.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Modelo del log de batalla con capacidad fija (buffer circular).
+ * Al superar la capacidad se descartan las entradas más antiguas, de modo que el coste
+ * de añadir y pintar no crece con la duración de la sesión. Se usa con un {@link JList},
+ * que solo renderiza las filas visibles. Solo debe usarse desde el EDT.
+ */
+public class BattleLogModel extends AbstractListModel<BattleLogEntry> {
+    private final BattleLogEntry[] entries;
+
+    // Posición de la entrada más antigua y número de entradas
+    private int head;
+    private int size;
+
+    /**
+     * @param capacity Número máximo de entradas visibles
+     */
+    public BattleLogModel(int capacity) {
+        this.entries = new BattleLogEntry[Math.max(capacity, 1)];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public BattleLogEntry getElementAt(int index) {
+        return entries[(head + index) % entries.length];
+    }
+
+    /**
+     * Añade un lote de entradas notificando a la lista una sola vez por cambio.
+     * @param batch Entradas en orden
+     */
+    public void addAll(List<BattleLogEntry> batch) {
+        if (batch.isEmpty()) return;
+
+        int removed = 0;
+        int start = batch.size() > entries.length ? batch.size() - entries.length : 0;
+        for (int i = start; i < batch.size(); i++) {
+            if (size == entries.length) {
+                head = (head + 1) % entries.length;
+                removed++;
+            } else {
+                size++;
+            }
+            entries[(head + size - 1) % entries.length] = batch.get(i);
+        }
+
+        int added = batch.size() - start;
+        if (removed > 0) {
+            // Las posiciones de todas las filas cambian: un único aviso de contenido
+            fireContentsChanged(this, 0, size - 1);
+        } else {
+            fireIntervalAdded(this, size - added, size - 1);
+        }
+    }
+
+    /**
+     * @return Capacidad del buffer
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Elimina todas las entradas.
+     */
+    public void clear() {
+        int oldSize = size;
+        Arrays.fill(entries, null);
+        head = 0;
+        size = 0;
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+    }
+}
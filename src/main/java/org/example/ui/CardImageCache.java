@@ -0,0 +1,53 @@
+package org.example.ui;
+
+import org.example.metrics.HitCounter;
+
+import javax.swing.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU de imágenes de carta ya escaladas, indexada por URL.
+ * Al reiniciar el duelo suelen repetirse cartas (sobre todo las predefinidas),
+ * por lo que se evita volver a descargarlas y decodificarlas.
+ */
+class CardImageCache {
+    private final Map<String, ImageIcon> icons;
+    private final HitCounter counter;
+
+    /**
+     * @param capacity Número máximo de imágenes en memoria
+     * @param counter  Contador de aciertos y fallos
+     */
+    CardImageCache(int capacity, HitCounter counter) {
+        this.counter = counter;
+        this.icons = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImageIcon> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param url URL de la imagen
+     * @return Icono en caché o null si no está
+     */
+    synchronized ImageIcon get(String url) {
+        ImageIcon icon = icons.get(url);
+        if (icon != null) {
+            counter.hit();
+        } else {
+            counter.miss();
+        }
+        return icon;
+    }
+
+    synchronized void put(String url, ImageIcon icon) {
+        icons.put(url, icon);
+    }
+
+    synchronized int size() {
+        return icons.size();
+    }
+}
@@ -1,21 +1,46 @@
 package org.example.ui;
 
 import org.example.model.Card;
+import org.example.listeners.BattleEventBus;
 import org.example.listeners.BattleListener;
 import org.example.api.YgoApiClient;
+import org.example.catalog.BalancedPoolGenerator;
 import org.example.duel.Duel;
-
+import org.example.duel.DuelPolicies;
+import org.example.log.Log;
+import org.example.log.LogLevel;
+import org.example.log.Logger;
+import org.example.log.RotatingLogWriter;
+import org.example.metrics.Metrics;
+import org.example.metrics.MetricsServer;
+import org.example.profiling.FlightRecording;
+import org.example.profiling.ImageLoadEvent;
+import org.example.rating.CardRatings;
+import org.example.replay.ReplayRecorder;
+import org.example.replay.ReplayWriter;
+
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.LineBorder;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
-import java.net.URL;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * ¡Interfaz gráfica principal del simulador de duelos Yu-Gi-Oh!
@@ -23,6 +48,8 @@ import java.util.concurrent.Executors;
  * Implementa BattleListener para recibir eventos del duelo.
  */
 public class DuelFrame extends JFrame implements BattleListener {
+    private static final Logger LOG = Log.getLogger(DuelFrame.class);
+
     // Paneles principales
     private JPanel mainPanel;
     private JPanel headerPanel;
@@ -81,12 +108,37 @@ public class DuelFrame extends JFrame implements BattleListener {
     private JLabel roundLabel;
 
     // Log de batalla
-    private JTextArea battleLogArea;
+    private JList<BattleLogEntry> battleLogList;
+
+    // Log visible limitado; el historial completo se guarda en archivo
+    private static final int BATTLE_LOG_CAPACITY = 2000;
+    private static final DateTimeFormatter REPLAY_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private final BattleLogModel battleLogModel = new BattleLogModel(BATTLE_LOG_CAPACITY);
+    private RotatingLogWriter battleLogFile;
+
+    // Repeticiones de los duelos de la sesión (replays/sesion-<fecha>.ydr)
+    private ReplayWriter replayWriter;
+
+    // Valoraciones de las cartas, compartidas entre sesiones (ratings/cards.ycr)
+    private static final Path RATINGS_FILE = Paths.get("ratings", "cards.ycr");
+    private static final long RATINGS_CHECKPOINT_MILLIS = 60_000;
+    private CardRatings ratings;
     private JScrollPane battleLogScrollPane;
 
     private Duel duel;
+    private BattleEventBus eventBus;
+    private UiUpdateDispatcher<BattleLogEntry> uiDispatcher;
     private YgoApiClient apiClient;
-    private ExecutorService executor;
+    private ThreadPoolExecutor executor;
+
+    // Imágenes ya escaladas, reutilizadas entre duelos
+    private final CardImageCache imageCache = new CardImageCache(64, Metrics.IMAGE_CACHE);
+
+    // Panel de rendimiento (F3)
+    private PerformanceHud performanceHud;
+
+    // Detector de bloqueos del EDT
+    private EdtWatchdog edtWatchdog;
 
     private List<Card> playerCards;
     private List<Card> aiCards;
@@ -96,6 +148,20 @@ public class DuelFrame extends JFrame implements BattleListener {
     private List<JLabel[]> playerCardComponents;
     private List<JLabel[]> aiCardComponents;
 
+    // Modo espectador IA contra IA (null si no está activo)
+    private volatile SpectateMode spectator;
+    private long spectateDelayMillis = 250;
+    private String spectatePlayerPolicy = "counter";
+    private String spectateAiPolicy = "random";
+
+    // Animación del resultado de ronda en modo espectador (sustituye al diálogo)
+    private static final int FLASH_STEPS = 8;
+    private static final int FLASH_BORDER = 4;
+    private Timer battleFlashTimer;
+    private JPanel flashingPanel;
+    private Color flashColor;
+    private int flashStep;
+
     private boolean componentsInitialized = false;
     private int currentRound = 1;
     private int playerWins = 0;
@@ -103,12 +169,35 @@ public class DuelFrame extends JFrame implements BattleListener {
 
     /**
      * Constructor principal que inicializa la ventana y componentes básicos.
+     * Usar {@link #create()}, que conecta la ventana a los eventos una vez construida.
      */
-    public DuelFrame() {
+    private DuelFrame() {
         initializeLists();
         setupBasicFrame();
     }
 
+    /**
+     * Crea la ventana y la suscribe a los eventos del duelo.
+     * @return Ventana lista para {@link #initializeComponents()}
+     */
+    public static DuelFrame create() {
+        DuelFrame frame = new DuelFrame();
+        frame.connectEvents();
+        return frame;
+    }
+
+    /**
+     * Registra la ventana como destino del log y suscriptora del bus. Va fuera del constructor
+     * para no publicar {@code this} antes de que esté construida.
+     */
+    private void connectEvents() {
+        // Cambios de UI agrupados en una sola tarea del EDT por frame (~60 fps)
+        uiDispatcher = new UiUpdateDispatcher<>(60, this::appendToBattleLog);
+
+        // Los eventos del duelo llegan a la UI por el bus, sin bloquear la lógica del juego
+        eventBus.subscribe("ui", this, BattleEventBus.Backpressure.BLOCK, 64);
+    }
+
     /**
      * Inicializa las estructuras de datos y servicios.
      */
@@ -121,10 +210,30 @@ public class DuelFrame extends JFrame implements BattleListener {
         aiCardComponents = new ArrayList<>();
         cardsLoaded = 0;
 
+        battleLogFile = new RotatingLogWriter(Paths.get("logs", "battle.log"), 1024 * 1024, 5, 8192);
+        Runtime.getRuntime().addShutdownHook(new Thread(battleLogFile::close, "battle-log-close"));
+
+        replayWriter = new ReplayWriter(Paths.get("replays",
+                "sesion-" + LocalDateTime.now().format(REPLAY_FILE_TIME) + ".ydr"), 64);
+        Runtime.getRuntime().addShutdownHook(new Thread(replayWriter::close, "replay-close"));
+
+        try {
+            ratings = CardRatings.open(RATINGS_FILE, CardRatings.DEFAULT_CAPACITY, CardRatings.DEFAULT_K_FACTOR);
+        } catch (IOException e) {
+            LOG.error("No se pudieron cargar las valoraciones de {}: {}", RATINGS_FILE, e.getMessage());
+            ratings = new CardRatings(CardRatings.DEFAULT_CAPACITY, CardRatings.DEFAULT_K_FACTOR);
+        }
+        ratings.startCheckpoints(RATINGS_FILE, RATINGS_CHECKPOINT_MILLIS);
+        Runtime.getRuntime().addShutdownHook(new Thread(ratings::close, "ratings-close"));
+
+        eventBus = new BattleEventBus(1024);
+
         duel = new Duel();
-        duel.setBattleListener(this);
+        duel.setBattleListener(eventBus);
+        duel.setReplayRecorder(new ReplayRecorder(replayWriter, 0));
+        duel.setRatings(ratings);
         apiClient = new YgoApiClient();
-        executor = Executors.newFixedThreadPool(5);
+        executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(5);
     }
 
     /**
@@ -162,10 +271,154 @@ public class DuelFrame extends JFrame implements BattleListener {
 
         battleButton.setEnabled(false);
         restartButton.setEnabled(true);
+        edtWatchdog = new EdtWatchdog(200, 50);
+        edtWatchdog.start();
+        setupMenuBar();
+        setupPerformanceHud();
         updateStatus("Inicializando aplicación...");
         updateRoundInfo();
     }
 
+    /**
+     * Muestra los bloqueos del EDT agrupados por punto de llamada.
+     */
+    private void showStallReport() {
+        JTextArea report = new JTextArea(edtWatchdog.buildReport(), 20, 80);
+        report.setEditable(false);
+        report.setFont(new Font("Consolas", Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(report), "Bloqueos del EDT",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Crea el panel de rendimiento sobre el contenido de la ventana y le asigna la tecla F3.
+     */
+    private void setupPerformanceHud() {
+        performanceHud = new PerformanceHud(() -> executor.getQueue().size());
+        getLayeredPane().add(performanceHud, JLayeredPane.PALETTE_LAYER);
+
+        JRootPane root = getRootPane();
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "togglePerformanceHud");
+        root.getActionMap().put("togglePerformanceHud", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                performanceHud.setLocation(getLayeredPane().getWidth() - performanceHud.getWidth() - 10, 10);
+                performanceHud.toggle();
+            }
+        });
+    }
+
+    /**
+     * Crea la barra de menú con las acciones de diagnóstico (grabación JFR).
+     */
+    private void setupMenuBar() {
+        JMenuItem startRecording = new JMenuItem("Iniciar grabación JFR");
+        JMenuItem dumpRecording = new JMenuItem("Guardar grabación JFR");
+        JMenuItem stopRecording = new JMenuItem("Detener grabación JFR");
+
+        Runnable refresh = () -> {
+            boolean recording = FlightRecording.isRecording();
+            startRecording.setEnabled(!recording);
+            dumpRecording.setEnabled(recording);
+            stopRecording.setEnabled(recording);
+        };
+
+        startRecording.addActionListener(e -> {
+            try {
+                FlightRecording.start(null);
+                updateStatus("Grabación JFR iniciada");
+            } catch (IOException | RuntimeException ex) {
+                updateStatus("No se pudo iniciar la grabación JFR: " + ex.getMessage());
+            }
+            refresh.run();
+        });
+        dumpRecording.addActionListener(e -> executor.execute(() -> {
+            try {
+                Path file = FlightRecording.dump();
+                uiDispatcher.submit(() -> updateStatus("Grabación JFR guardada en " + file));
+            } catch (IOException | RuntimeException ex) {
+                uiDispatcher.submit(() -> updateStatus("No se pudo guardar la grabación JFR: " + ex.getMessage()));
+            }
+        }));
+        stopRecording.addActionListener(e -> {
+            FlightRecording.stop();
+            updateStatus("Grabación JFR detenida");
+            refresh.run();
+        });
+        refresh.run();
+
+        JMenuItem stallReport = new JMenuItem("Bloqueos del EDT...");
+        stallReport.addActionListener(e -> showStallReport());
+
+        JMenu diagnosticsMenu = new JMenu("Diagnóstico");
+        diagnosticsMenu.add(startRecording);
+        diagnosticsMenu.add(dumpRecording);
+        diagnosticsMenu.add(stopRecording);
+        diagnosticsMenu.addSeparator();
+        diagnosticsMenu.add(stallReport);
+
+        JMenuBar menuBar = new JMenuBar();
+        menuBar.add(createSpectateMenu());
+        menuBar.add(diagnosticsMenu);
+        setJMenuBar(menuBar);
+    }
+
+    /**
+     * Crea el menú del modo espectador: activación, velocidad y estrategias de cada lado.
+     */
+    private JMenu createSpectateMenu() {
+        JCheckBoxMenuItem spectate = new JCheckBoxMenuItem("IA contra IA");
+        spectate.addActionListener(e -> {
+            if (spectate.isSelected()) {
+                spectate.setSelected(startSpectating());
+            } else {
+                stopSpectating();
+            }
+        });
+
+        JMenu speedMenu = new JMenu("Velocidad");
+        ButtonGroup speedGroup = new ButtonGroup();
+        String[] speedNames = {"Lenta", "Normal", "Rápida", "Turbo (máxima)"};
+        long[] speedDelays = {1000, 250, 50, 0};
+        for (int i = 0; i < speedNames.length; i++) {
+            long delay = speedDelays[i];
+            JRadioButtonMenuItem item = new JRadioButtonMenuItem(speedNames[i], delay == spectateDelayMillis);
+            item.addActionListener(e -> {
+                spectateDelayMillis = delay;
+                SpectateMode current = spectator;
+                if (current != null) {
+                    current.setMoveDelay(delay);
+                }
+            });
+            speedGroup.add(item);
+            speedMenu.add(item);
+        }
+
+        JMenu spectateMenu = new JMenu("Espectador");
+        spectateMenu.add(spectate);
+        spectateMenu.add(speedMenu);
+        spectateMenu.add(createPolicyMenu("Estrategia del jugador", spectatePlayerPolicy,
+                name -> spectatePlayerPolicy = name));
+        spectateMenu.add(createPolicyMenu("Estrategia de la máquina", spectateAiPolicy,
+                name -> spectateAiPolicy = name));
+        return spectateMenu;
+    }
+
+    /**
+     * Submenú con una opción por estrategia; se aplica al iniciar el modo espectador.
+     */
+    private JMenu createPolicyMenu(String title, String selected, Consumer<String> onSelect) {
+        JMenu menu = new JMenu(title);
+        ButtonGroup group = new ButtonGroup();
+        for (String name : DuelPolicies.names()) {
+            JRadioButtonMenuItem item = new JRadioButtonMenuItem(name, name.equals(selected));
+            item.addActionListener(e -> onSelect.accept(name));
+            group.add(item);
+            menu.add(item);
+        }
+        return menu;
+    }
     /**
      * Organiza los componentes de cartas en listas para fácil acceso.
      */
@@ -206,16 +459,18 @@ public class DuelFrame extends JFrame implements BattleListener {
      * Configura el área de log de batalla.
      */
     private void setupBattleLog() {
-        battleLogArea = new JTextArea(8, 50);
-        battleLogArea.setEditable(false);
-        battleLogArea.setLineWrap(true);
-        battleLogArea.setWrapStyleWord(true);
-        battleLogArea.setFont(new Font("Consolas", Font.PLAIN, 12));
-        battleLogArea.setBackground(new Color(250, 250, 250));
-        battleLogArea.setForeground(Color.DARK_GRAY);
-        battleLogArea.setMargin(new Insets(10, 10, 10, 10));
-
-        battleLogScrollPane = new JScrollPane(battleLogArea);
+        battleLogList = new JList<>(battleLogModel);
+        battleLogList.setFont(new Font("Consolas", Font.PLAIN, 12));
+        battleLogList.setBackground(new Color(250, 250, 250));
+        battleLogList.setForeground(Color.DARK_GRAY);
+        battleLogList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        battleLogList.setVisibleRowCount(8);
+        // Altura y ancho fijos: la lista no mide cada fila al añadir entradas
+        battleLogList.setFixedCellHeight(battleLogList.getFontMetrics(battleLogList.getFont()).getHeight() + 2);
+        battleLogList.setFixedCellWidth(560);
+        battleLogList.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+
+        battleLogScrollPane = new JScrollPane(battleLogList);
         battleLogScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
         battleLogScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         battleLogScrollPane.setBorder(BorderFactory.createCompoundBorder(
@@ -333,7 +588,7 @@ public class DuelFrame extends JFrame implements BattleListener {
     private void loadCardToPool(int cardIndex) {
         try {
             Card card = apiClient.getRandomMonsterCard();
-            SwingUtilities.invokeLater(() -> {
+            uiDispatcher.submit(() -> {
                 availableCards.add(card);
                 cardsLoaded++;
 
@@ -348,7 +603,7 @@ public class DuelFrame extends JFrame implements BattleListener {
                 }
             });
         } catch (Exception e) {
-            SwingUtilities.invokeLater(() -> {
+            uiDispatcher.submit(() -> {
                 String errorMsg = "Error cargando carta " + (cardsLoaded + 1) + ": " + e.getMessage();
                 onError(errorMsg);
                 addToBattleLog("ERROR " + errorMsg);
@@ -370,15 +625,12 @@ public class DuelFrame extends JFrame implements BattleListener {
 
         addToBattleLog("--- ASIGNANDO CARTAS ---");
 
+        // Repartir el pool en las dos manos más equilibradas en vez de por orden de llegada
+        // (con el Elo de las cartas que ya tienen batallas suficientes)
+        BalancedPoolGenerator.Hands hands = BalancedPoolGenerator.balanceSplit(availableCards.subList(0, 6), ratings);
+
         for (int i = 0; i < 3; i++) {
-            Card originalCard = availableCards.get(i);
-            Card playerCard = new Card(
-                    originalCard.getName(),
-                    originalCard.getAtk(),
-                    originalCard.getDef(),
-                    originalCard.getImageUrl(),
-                    originalCard.getType()
-            );
+            Card playerCard = hands.getPlayerCards().get(i);
             playerCards.add(playerCard);
 
             if (i < playerCardComponents.size()) {
@@ -387,18 +639,10 @@ public class DuelFrame extends JFrame implements BattleListener {
             addToBattleLog("Jugador recibe: " + playerCard.getName());
         }
 
-        for (int i = 3; i < 6; i++) {
-            Card originalCard = availableCards.get(i);
-            Card aiCard = new Card(
-                    originalCard.getName(),
-                    originalCard.getAtk(),
-                    originalCard.getDef(),
-                    originalCard.getImageUrl(),
-                    originalCard.getType()
-            );
+        for (int aiIndex = 0; aiIndex < 3; aiIndex++) {
+            Card aiCard = hands.getAiCards().get(aiIndex);
             aiCards.add(aiCard);
 
-            int aiIndex = i - 3;
             if (aiIndex < aiCardComponents.size()) {
                 updateCardUI(aiCard, aiCardComponents.get(aiIndex), getAIPanel(aiIndex), false);
             }
@@ -461,17 +705,36 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     private void loadCardImage(Card card, JLabel imageLabel) {
         executor.execute(() -> {
+            ImageLoadEvent event = new ImageLoadEvent();
+            event.begin();
+            // Medidas para el evento JFR; sus campos solo se rellenan si se va a registrar
+            long bytes = 0;
+            long downloadNanos = 0;
+            long decodeNanos = 0;
+            boolean success = false;
             try {
                 if (card.hasImage()) {
-                    URL imageUrl = new URL(card.getImageUrl());
-                    ImageIcon originalIcon = new ImageIcon(imageUrl);
-
-                    if (originalIcon.getIconWidth() > 0) {
-                        Image scaledImage = originalIcon.getImage().getScaledInstance(120, 150, Image.SCALE_SMOOTH);
-                        ImageIcon scaledIcon = new ImageIcon(scaledImage);
+                    ImageIcon scaledIcon = imageCache.get(card.getImageUrl());
+                    if (scaledIcon == null) {
+                        long start = System.nanoTime();
+                        byte[] data = downloadImage(card.getImageUrl());
+                        long downloaded = System.nanoTime();
+                        scaledIcon = decodeCardImage(data);
+                        long decoded = System.nanoTime();
+                        bytes = data.length;
+                        downloadNanos = downloaded - start;
+                        decodeNanos = decoded - downloaded;
+                        Metrics.IMAGE_LOAD.recordNanos(decoded - start);
+                        if (scaledIcon != null) {
+                            imageCache.put(card.getImageUrl(), scaledIcon);
+                        }
+                    }
 
-                        SwingUtilities.invokeLater(() -> {
-                            imageLabel.setIcon(scaledIcon);
+                    if (scaledIcon != null) {
+                        success = true;
+                        ImageIcon icon = scaledIcon;
+                        uiDispatcher.submit(() -> {
+                            imageLabel.setIcon(icon);
                             imageLabel.setText("");
                         });
                         return;
@@ -479,15 +742,57 @@ public class DuelFrame extends JFrame implements BattleListener {
                 }
                 throw new Exception("Imagen no disponible");
             } catch (Exception e) {
-                SwingUtilities.invokeLater(() -> {
+                Metrics.IMAGE_LOAD_FAILURES.increment();
+                uiDispatcher.submit(() -> {
                     ImageIcon placeholder = createPlaceholderIcon(card);
                     imageLabel.setIcon(placeholder);
                     imageLabel.setText("");
                 });
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.cardName = card.getName();
+                    event.url = card.getImageUrl();
+                    event.bytes = bytes;
+                    event.downloadNanos = downloadNanos;
+                    event.decodeNanos = decodeNanos;
+                    event.success = success;
+                    event.commit();
+                }
             }
         });
     }
 
+    /**
+     * Descarga los bytes de una imagen.
+     */
+    private static byte[] downloadImage(String url) throws IOException {
+        try (InputStream in = URI.create(url).toURL().openStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Decodifica una imagen y la escala al tamaño de carta (120x150).
+     * El escalado se hace aquí, fuera del EDT, en lugar de diferirlo al primer pintado.
+     * @param data Bytes de la imagen (JPG/PNG)
+     * @return Icono escalado o null si los bytes no son una imagen válida
+     */
+    static ImageIcon decodeCardImage(byte[] data) throws IOException {
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(data));
+        if (original == null || original.getWidth() <= 0) {
+            return null;
+        }
+
+        BufferedImage scaled = new BufferedImage(120, 150, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(original, 0, 0, 120, 150, null);
+        g2d.dispose();
+        return new ImageIcon(scaled);
+    }
+
     /**
      * Crea un icono de placeholder para cuando no hay imagen disponible.
      */
@@ -539,14 +844,12 @@ public class DuelFrame extends JFrame implements BattleListener {
      * Inicia un nuevo duelo.
      */
     private void startNewDuel() {
-        System.out.println("=== INICIANDO NUEVO DUELO DESDE BOTÓN ===");
+        LOG.debug("Iniciando nuevo duelo desde botón");
         currentRound = 1;
         playerWins = 0;
         aiWins = 0;
 
-        if (battleLogArea != null) {
-            battleLogArea.setText("");
-        }
+        clearBattleLog();
 
         duel.startDuel();
         battleButton.setEnabled(false);
@@ -567,7 +870,7 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     private void handlePlayerCardSelection(int cardIndex, JPanel cardPanel) {
         if (!duel.isWaitingForPlayerSelection()) {
-            System.out.println("No está esperando selección del jugador");
+            LOG.debug("No está esperando selección del jugador");
             return;
         }
 
@@ -600,14 +903,14 @@ public class DuelFrame extends JFrame implements BattleListener {
         updateRoundInfo();
         resetScores();
 
-        if (battleLogArea != null) {
-            battleLogArea.setText("");
-        }
+        clearBattleLog();
         addToBattleLog("=== REINICIANDO DUELO ===");
         addToBattleLog("Cargando nuevas cartas...");
 
         duel = new Duel();
-        duel.setBattleListener(this);
+        duel.setBattleListener(eventBus);
+        duel.setReplayRecorder(new ReplayRecorder(replayWriter, 0));
+        duel.setRatings(ratings);
         loadInitialCards();
     }
 
@@ -737,16 +1040,38 @@ public class DuelFrame extends JFrame implements BattleListener {
 
     /**
      * Agrega un mensaje al log de batalla.
+     * Cada línea se fecha y se envía al archivo de historial en el momento; en pantalla se
+     * acumulan y se añaden juntas una vez por frame (con un máximo de pendientes al espectar).
      */
     private void addToBattleLog(String message) {
-        if (battleLogArea != null) {
-            SwingUtilities.invokeLater(() -> {
-                battleLogArea.append(message + "\n");
-                battleLogArea.setCaretPosition(battleLogArea.getDocument().getLength());
-            });
+        if (battleLogList != null) {
+            long now = System.currentTimeMillis();
+            for (String line : message.split("\n", -1)) {
+                BattleLogEntry entry = new BattleLogEntry(now, line);
+                battleLogFile.write(entry.toFileLine());
+                uiDispatcher.log(entry);
+            }
         }
     }
 
+    /**
+     * Añade al log en pantalla las líneas acumuladas de un frame (en el EDT).
+     */
+    private void appendToBattleLog(List<BattleLogEntry> entries) {
+        battleLogModel.addAll(entries);
+        if (battleLogList != null) {
+            battleLogList.ensureIndexIsVisible(battleLogModel.getSize() - 1);
+        }
+    }
+
+    /**
+     * Vacía el log de batalla descartando también las líneas pendientes.
+     */
+    private void clearBattleLog() {
+        uiDispatcher.discardPendingLog();
+        battleLogModel.clear();
+    }
+
     /**
      * Obtiene el panel de carta de la máquina según índice.
      */
@@ -787,15 +1112,167 @@ public class DuelFrame extends JFrame implements BattleListener {
     }
 
     private void debugState(String context) {
-        System.out.println("=== DEBUG: " + context + " ===");
-        System.out.println("Duelo iniciado: " + duel.isGameStarted());
-        System.out.println("Turno jugador: " + duel.isPlayerTurn());
-        System.out.println("Esperando jugador: " + duel.isWaitingForPlayerSelection());
-        System.out.println("Jugador seleccionó: " + duel.hasPlayerSelected());
-        System.out.println("Máquina seleccionó: " + duel.hasAiSelected());
-        System.out.println("Ronda actual: " + duel.getCurrentRound());
-        System.out.println("Marcador: " + duel.getPlayerScore() + " - " + duel.getAiScore());
-        System.out.println("=============================");
+        LOG.at(LogLevel.DEBUG)
+                .field("started", duel.isGameStarted())
+                .field("playerTurn", duel.isPlayerTurn())
+                .field("waitingPlayer", duel.isWaitingForPlayerSelection())
+                .field("playerSelected", duel.hasPlayerSelected())
+                .field("aiSelected", duel.hasAiSelected())
+                .field("round", duel.getCurrentRound())
+                .field("playerScore", duel.getPlayerScore())
+                .field("aiScore", duel.getAiScore())
+                .log("Estado: {}", context);
+    }
+
+    /**
+     * Arranca los duelos IA contra IA con las cartas actuales.
+     * @return true si se inició
+     */
+    private boolean startSpectating() {
+        if (playerCards.size() != 3 || aiCards.size() != 3) {
+            updateStatus("Espera a que se carguen las cartas");
+            return false;
+        }
+        if (duel.isGameStarted()) {
+            updateStatus("Termina el duelo actual antes de ver IA contra IA");
+            return false;
+        }
+
+        clearBattleLog();
+        // La lista solo muestra las últimas entradas: no acumular más entre dos frames
+        uiDispatcher.setMaxPendingLogLines(BATTLE_LOG_CAPACITY);
+        battleButton.setEnabled(false);
+        restartButton.setEnabled(false);
+        enableCardInteractivity(false);
+        resetCardBorders();
+        playerPanel.setBorder(BorderFactory.createEmptyBorder(FLASH_BORDER, FLASH_BORDER, FLASH_BORDER, FLASH_BORDER));
+        aiPanel.setBorder(BorderFactory.createEmptyBorder(FLASH_BORDER, FLASH_BORDER, FLASH_BORDER, FLASH_BORDER));
+
+        addToBattleLog("=== MODO ESPECTADOR: IA contra IA ===");
+        addToBattleLog("Jugador: " + spectatePlayerPolicy + " | Máquina: " + spectateAiPolicy);
+
+        spectator = new SpectateMode(playerCards, aiCards, eventBus,
+                DuelPolicies.byName(spectatePlayerPolicy), DuelPolicies.byName(spectateAiPolicy),
+                spectateDelayMillis);
+        spectator.start();
+        LOG.info("Modo espectador iniciado ({} vs {})", spectatePlayerPolicy, spectateAiPolicy);
+        return true;
+    }
+
+    /**
+     * Detiene los duelos IA contra IA y deja la partida lista para jugar.
+     */
+    private void stopSpectating() {
+        SpectateMode current = spectator;
+        if (current == null) return;
+
+        // Aplicar aún en modo espectador los eventos ya publicados
+        current.close();
+        eventBus.flush(1000);
+        uiDispatcher.flush();
+        spectator = null;
+        uiDispatcher.setMaxPendingLogLines(Integer.MAX_VALUE);
+
+        if (battleFlashTimer != null) {
+            battleFlashTimer.stop();
+        }
+        playerPanel.setBorder(null);
+        aiPanel.setBorder(null);
+        resetAiCardBorders();
+        resetCardBorders();
+
+        playerWins = 0;
+        aiWins = 0;
+        currentRound = 1;
+        resetScores();
+        updateRoundInfo();
+
+        battleButton.setEnabled(true);
+        restartButton.setEnabled(true);
+        addToBattleLog(String.format("=== ESPECTADOR DETENIDO: %,d duelos (Jugador %d - %d Máquina) ===",
+                current.getDuelsPlayed(), current.getPlayerWins(), current.getAiWins()));
+        updateStatus("¡Cartas listas! Haz clic en 'INICIAR BATALLA'");
+        LOG.info("Modo espectador detenido tras {} duelos", current.getDuelsPlayed());
+    }
+
+    /**
+     * Muestra en la barra de estado el progreso del modo espectador.
+     */
+    private void updateSpectateStatus() {
+        SpectateMode current = spectator;
+        if (current == null) return;
+        updateStatus(String.format("IA vs IA: %,d duelos (%,.0f/s) | Jugador %d - %d Máquina",
+                current.getDuelsPlayed(), current.getDuelsPerSecond(),
+                current.getPlayerWins(), current.getAiWins()));
+    }
+
+    /**
+     * Resultado de ronda sin diálogo: el panel del ganador se ilumina y se desvanece.
+     * Si llega otra ronda antes de terminar, la animación vuelve a empezar.
+     */
+    private void flashBattleResult(String winner) {
+        if (battleFlashTimer == null) {
+            battleFlashTimer = new Timer(40, e -> stepBattleFlash());
+        }
+        if (flashingPanel != null) {
+            flashingPanel.setBorder(BorderFactory.createEmptyBorder(FLASH_BORDER, FLASH_BORDER, FLASH_BORDER, FLASH_BORDER));
+        }
+
+        if ("Jugador".equals(winner)) {
+            flashingPanel = playerPanel;
+            flashColor = new Color(41, 128, 185);
+        } else if ("Máquina".equals(winner)) {
+            flashingPanel = aiPanel;
+            flashColor = new Color(231, 76, 60);
+        } else {
+            flashingPanel = null;
+            battleFlashTimer.stop();
+            return;
+        }
+        flashStep = 0;
+        stepBattleFlash();
+        battleFlashTimer.restart();
+    }
+
+    private void stepBattleFlash() {
+        if (flashingPanel == null || flashStep >= FLASH_STEPS) {
+            battleFlashTimer.stop();
+            if (flashingPanel != null) {
+                flashingPanel.setBorder(BorderFactory.createEmptyBorder(FLASH_BORDER, FLASH_BORDER, FLASH_BORDER, FLASH_BORDER));
+            }
+            return;
+        }
+        int alpha = 255 * (FLASH_STEPS - flashStep) / FLASH_STEPS;
+        flashingPanel.setBorder(BorderFactory.createLineBorder(
+                new Color(flashColor.getRed(), flashColor.getGreen(), flashColor.getBlue(), alpha), FLASH_BORDER));
+        flashStep++;
+    }
+
+    /**
+     * Resalta la carta que jugó la máquina (la identifica por nombre).
+     */
+    private void highlightAiCard(String cardName) {
+        for (int i = 0; i < aiCards.size(); i++) {
+            JPanel panel = getAIPanel(i);
+            if (panel != null && panel.isVisible()) {
+                boolean played = aiCards.get(i).getName().equals(cardName);
+                panel.setBorder(played
+                        ? BorderFactory.createLineBorder(Color.RED, 3)
+                        : BorderFactory.createLineBorder(Color.BLACK, 2));
+            }
+        }
+    }
+
+    /**
+     * Reinicia los bordes de las cartas de la máquina.
+     */
+    private void resetAiCardBorders() {
+        for (int i = 0; i < 3; i++) {
+            JPanel panel = getAIPanel(i);
+            if (panel != null && panel.isVisible()) {
+                panel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+            }
+        }
     }
 
     /**
@@ -856,7 +1333,12 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onTurn(String playerCard, String aiCard, String winner, String battleLog) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog(playerCard + " vs " + aiCard + " → " + winner);
+            uiDispatcher.submitLatest("spectate.battle", () -> flashBattleResult(winner));
+            return;
+        }
+        uiDispatcher.submit(() -> {
             // Agregar al log de batalla
             addToBattleLog("\n--- Ronda " + currentRound + " ---");
             addToBattleLog("Jugador usa: " + playerCard);
@@ -903,6 +1385,15 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onScoreChanged(int playerScore, int aiScore) {
+        if (spectator != null) {
+            uiDispatcher.submitLatest("spectate.score", () -> {
+                playerWins = playerScore;
+                aiWins = aiScore;
+                updateScores();
+                updateRoundInfo();
+            });
+            return;
+        }
         // Este método ya no se usa para victorias de rondas
         // Se maneja internamente con updateScores()
     }
@@ -912,7 +1403,12 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onDuelEnded(String winner) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog("=== DUELO TERMINADO: " + winner + " ===");
+            uiDispatcher.submitLatest("spectate.status", this::updateSpectateStatus);
+            return;
+        }
+        uiDispatcher.submit(() -> {
             addToBattleLog("\n=== DUELO TERMINADO ===");
             addToBattleLog("Resultado final: Jugador " + playerWins + " - " + aiWins + " Máquina");
 
@@ -950,7 +1446,11 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onError(String errorMessage) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog("ERROR: " + errorMessage);
+            return;
+        }
+        uiDispatcher.submit(() -> {
             JOptionPane.showMessageDialog(this, errorMessage, "Error", JOptionPane.ERROR_MESSAGE);
             updateStatus("Error: " + errorMessage);
             addToBattleLog("ERROR: " + errorMessage);
@@ -959,7 +1459,8 @@ public class DuelFrame extends JFrame implements BattleListener {
 
     @Override
     public void onCardsLoaded() {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) return;
+        uiDispatcher.submit(() -> {
             if (battleButton != null) battleButton.setEnabled(true);
             updateStatus("¡Cartas listas! Haz clic en 'INICIAR BATALLA'");
             addToBattleLog("¡Todas las cartas cargadas correctamente!");
@@ -972,7 +1473,11 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onDuelStarted(String starter, int roundNumber) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog("¡DUELO INICIADO! Comienza: " + starter);
+            return;
+        }
+        uiDispatcher.submit(() -> {
             addToBattleLog("¡DUELO INICIADO! Comienza: " + starter);
             addToBattleLog("Ronda " + roundNumber + " - Preparados para la batalla");
             updateStatus("Duelo iniciado. " + starter + " comienza");
@@ -987,7 +1492,17 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onCardSelected(String playerName, String cardName, int cardIndex) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog(playerName + " selecciona carta: " + cardName);
+            if ("Jugador".equals(playerName)) {
+                uiDispatcher.submitLatest("spectate.playerCard",
+                        () -> highlightCard(playerCardPanels.get(cardIndex)));
+            } else {
+                uiDispatcher.submitLatest("spectate.aiCard", () -> highlightAiCard(cardName));
+            }
+            return;
+        }
+        uiDispatcher.submit(() -> {
             if ("Jugador".equals(playerName)) {
                 addToBattleLog(playerName + " selecciona carta: " + cardName);
                 updateStatus(playerName + " seleccionó: " + cardName);
@@ -1002,7 +1517,17 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onRoundStarted(int roundNumber, int playerScore, int aiScore) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog("COMIENZA RONDA " + roundNumber);
+            uiDispatcher.submitLatest("spectate.round", () -> {
+                currentRound = roundNumber;
+                updateRoundInfo();
+                resetCardBorders();
+                resetAiCardBorders();
+            });
+            return;
+        }
+        uiDispatcher.submit(() -> {
             currentRound = roundNumber;
             addToBattleLog("\nCOMIENZA RONDA " + roundNumber);
             addToBattleLog("Marcador: Jugador " + playerScore + " - " + aiScore + " Máquina");
@@ -1018,7 +1543,11 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onTurnStarted(String playerName, boolean isPlayerTurn) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog("Turno del " + playerName);
+            return;
+        }
+        uiDispatcher.submit(() -> {
             addToBattleLog("Turno del " + playerName);
 
             if (isPlayerTurn) {
@@ -1042,10 +1571,11 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onCardLoaded(int cardsLoaded, int totalCards, String cardName) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) return;
+        uiDispatcher.submit(() -> {
             // Este método ya está cubierto por loadCardToPool
             if (cardName != null && !cardName.isEmpty()) {
-                System.out.println("Carta cargada: " + cardName + " (" + cardsLoaded + "/" + totalCards + ")");
+                LOG.debug("Carta cargada: {} ({}/{})", cardName, cardsLoaded, totalCards);
             }
         });
     }
@@ -1056,7 +1586,11 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onStatusUpdate(String statusMessage, boolean isError) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog(statusMessage);
+            return;
+        }
+        uiDispatcher.submit(() -> {
             updateStatus(statusMessage);
             if (isError) {
                 addToBattleLog(statusMessage);
@@ -1068,7 +1602,8 @@ public class DuelFrame extends JFrame implements BattleListener {
 
     @Override
     public void onDuelReset() {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) return;
+        uiDispatcher.submit(() -> {
             addToBattleLog("=== DUELO REINICIADO ===");
             addToBattleLog("Preparando nuevo duelo...");
             updateStatus("Duelo reiniciado - Cargando cartas...");
@@ -1091,7 +1626,11 @@ public class DuelFrame extends JFrame implements BattleListener {
      */
     @Override
     public void onBattleModeSet(String playerName, boolean isAttackMode) {
-        SwingUtilities.invokeLater(() -> {
+        if (spectator != null) {
+            addToBattleLog(playerName + " se prepara en modo: " + (isAttackMode ? "ATAQUE" : "DEFENSA"));
+            return;
+        }
+        uiDispatcher.submit(() -> {
             String mode = isAttackMode ? "ATAQUE" : "DEFENSA";
             addToBattleLog(playerName + " se prepara en modo: " + mode);
 
@@ -1102,7 +1641,35 @@ public class DuelFrame extends JFrame implements BattleListener {
         });
     }
 
+    /**
+     * Punto de entrada. Con {@code --jfr[=archivo.jfr]} graba la sesión con JFR y la guarda al salir
+     * (por defecto en recordings/session.jfr). Con {@code --metrics[=puerto]} expone las métricas
+     * en formato Prometheus (por defecto en el puerto 9404). Con {@code --seed=N} fija la semilla
+     * de toda la aleatoriedad local (turnos, decisiones de la máquina y cartas de respaldo).
+     */
     public static void main(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--seed=")) {
+                // Antes de crear cualquier generador (ver RandomStreams)
+                System.setProperty("ygo.seed", arg.substring(7));
+            } else if (arg.equals("--jfr") || arg.startsWith("--jfr=")) {
+                Path file = Paths.get(arg.length() > 6 ? arg.substring(6) : "recordings/session.jfr");
+                try {
+                    FlightRecording.start(file);
+                } catch (IOException | RuntimeException e) {
+                    LOG.error("No se pudo iniciar la grabación JFR: {}", e.getMessage());
+                }
+            } else if (arg.equals("--metrics") || arg.startsWith("--metrics=")) {
+                try {
+                    int port = arg.length() > 10 ? Integer.parseInt(arg.substring(10)) : 9404;
+                    MetricsServer server = MetricsServer.start(port);
+                    LOG.info("Métricas disponibles en http://localhost:{}/metrics", server.getPort());
+                } catch (IOException | NumberFormatException e) {
+                    LOG.error("No se pudo iniciar el servidor de métricas: {}", e.getMessage());
+                }
+            }
+        }
+
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -1110,7 +1677,7 @@ public class DuelFrame extends JFrame implements BattleListener {
                 System.err.printf("No se pudo cargar el Look and Feel del sistema: %s%n", e.getMessage());
             }
 
-            DuelFrame frame = new DuelFrame();
+            DuelFrame frame = DuelFrame.create();
             frame.initializeComponents();
             frame.setVisible(true);
         });
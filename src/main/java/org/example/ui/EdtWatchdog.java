@@ -0,0 +1,249 @@
+package org.example.ui;
+
+import org.example.log.Log;
+import org.example.log.LogLevel;
+import org.example.log.Logger;
+import org.example.metrics.Metrics;
+import org.example.profiling.EdtStallEvent;
+
+import javax.swing.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detecta bloqueos del hilo de eventos de Swing (EDT).
+ * Un hilo en segundo plano envía un latido al EDT con {@code invokeLater}; si no se procesa
+ * dentro del umbral, muestrea la pila del EDT hasta que se libera. Cada bloqueo se registra
+ * con su duración (log, JFR y {@link Metrics#EDT_STALL}) y se acumula por punto de llamada.
+ */
+class EdtWatchdog implements AutoCloseable {
+    private static final Logger LOG = Log.getLogger(EdtWatchdog.class);
+
+    // Bloqueos recientes conservados para el informe
+    private static final int RECENT_STALLS = 20;
+
+    // Profundidad máxima de la pila guardada
+    private static final int MAX_STACK_DEPTH = 25;
+
+    private final long thresholdNanos;
+    private final long sampleMillis;
+    private final Thread thread;
+
+    // Latido: secuencia enviada, procesada y momento de envío
+    private volatile long postedBeat;
+    private volatile long processedBeat;
+    private volatile long postedAtNanos;
+    private volatile long processedAtNanos;
+    private volatile Thread edtThread;
+
+    // Bloqueos por punto de llamada
+    private final Map<String, LongAdder> stallsBySite = new ConcurrentHashMap<>();
+    private final Deque<Stall> recentStalls = new ArrayDeque<>();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param thresholdMillis Tiempo sin procesar el latido a partir del cual hay bloqueo
+     * @param sampleMillis    Intervalo entre latidos y entre muestras de pila
+     */
+    EdtWatchdog(long thresholdMillis, long sampleMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleMillis = sampleMillis;
+        this.thread = new Thread(this::run, "edt-watchdog");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+
+    /**
+     * @return Número de bloqueos por punto de llamada, de más a menos frecuente
+     */
+    Map<String, Long> getStallsBySite() {
+        List<Map.Entry<String, LongAdder>> entries = new ArrayList<>(stallsBySite.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, LongAdder> entry : entries) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    /**
+     * @return Últimos bloqueos detectados, del más reciente al más antiguo
+     */
+    synchronized List<Stall> getRecentStalls() {
+        return new ArrayList<>(recentStalls);
+    }
+
+    /**
+     * @return Informe de texto con los bloqueos por punto de llamada y el último bloqueo
+     */
+    String buildReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Bloqueos del EDT: %d (umbral %d ms)%n%n",
+                Metrics.EDT_STALL.getCount(), TimeUnit.NANOSECONDS.toMillis(thresholdNanos)));
+        for (Map.Entry<String, Long> entry : getStallsBySite().entrySet()) {
+            report.append(String.format("%5d  %s%n", entry.getValue(), entry.getKey()));
+        }
+        List<Stall> recent = getRecentStalls();
+        if (!recent.isEmpty()) {
+            Stall last = recent.get(0);
+            report.append(String.format("%nÚltimo bloqueo: %d ms en %s%n%s",
+                    last.getDurationMillis(), last.getCallSite(), last.getStackTrace()));
+        }
+        return report.toString();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (processedBeat == postedBeat) {
+                    postBeat();
+                }
+                Thread.sleep(sampleMillis);
+
+                if (processedBeat != postedBeat && System.nanoTime() - postedAtNanos > thresholdNanos) {
+                    watchStall();
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void postBeat() {
+        long beat = postedBeat + 1;
+        postedAtNanos = System.nanoTime();
+        postedBeat = beat;
+        SwingUtilities.invokeLater(() -> {
+            edtThread = Thread.currentThread();
+            processedAtNanos = System.nanoTime();
+            processedBeat = beat;
+        });
+    }
+
+    /**
+     * Muestrea la pila del EDT mientras el latido siga pendiente y registra el bloqueo.
+     */
+    private void watchStall() throws InterruptedException {
+        EdtStallEvent event = new EdtStallEvent();
+        event.begin();
+
+        long startedAt = postedAtNanos;
+        Map<String, Integer> sitesSampled = new HashMap<>();
+        StackTraceElement[] firstStack = null;
+
+        while (processedBeat != postedBeat && running) {
+            Thread edt = edtThread;
+            if (edt != null) {
+                StackTraceElement[] stack = edt.getStackTrace();
+                if (firstStack == null) firstStack = stack;
+                sitesSampled.merge(callSiteOf(stack), 1, Integer::sum);
+            }
+            Thread.sleep(sampleMillis);
+        }
+
+        long durationNanos = processedAtNanos - startedAt;
+        String site = sitesSampled.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("desconocido");
+        String stack = formatStack(firstStack);
+
+        Metrics.EDT_STALL.recordNanos(durationNanos);
+        stallsBySite.computeIfAbsent(site, key -> new LongAdder()).increment();
+        synchronized (this) {
+            recentStalls.addFirst(new Stall(System.currentTimeMillis(), durationNanos, site, stack));
+            if (recentStalls.size() > RECENT_STALLS) {
+                recentStalls.removeLast();
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.stallNanos = durationNanos;
+            event.callSite = site;
+            event.edtStack = stack;
+            event.commit();
+        }
+        LOG.at(LogLevel.WARN)
+                .field("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .field("site", site)
+                .log("EDT bloqueado");
+    }
+
+    /**
+     * Punto de llamada de una muestra: el primer método de la aplicación en la pila,
+     * o el método superior si no hay ninguno.
+     */
+    private static String callSiteOf(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith("org.example.")
+                    && !frame.getClassName().equals(EdtWatchdog.class.getName())) {
+                return frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+            }
+        }
+        return stack.length > 0 ? stack[0].getClassName() + "." + stack[0].getMethodName() : "desconocido";
+    }
+
+    private static String formatStack(StackTraceElement[] stack) {
+        if (stack == null) return "";
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < stack.length && i < MAX_STACK_DEPTH; i++) {
+            text.append("    at ").append(stack[i]).append('\n');
+        }
+        if (stack.length > MAX_STACK_DEPTH) {
+            text.append("    ... ").append(stack.length - MAX_STACK_DEPTH).append(" más\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Bloqueo detectado.
+     */
+    static final class Stall {
+        private final long timestamp;
+        private final long durationNanos;
+        private final String callSite;
+        private final String stackTrace;
+
+        private Stall(long timestamp, long durationNanos, String callSite, String stackTrace) {
+            this.timestamp = timestamp;
+            this.durationNanos = durationNanos;
+            this.callSite = callSite;
+            this.stackTrace = stackTrace;
+        }
+
+        long getTimestamp() {
+            return timestamp;
+        }
+
+        long getDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        }
+
+        String getCallSite() {
+            return callSite;
+        }
+
+        String getStackTrace() {
+            return stackTrace;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.ui;
+
+import org.example.metrics.HitCounter;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.Metrics;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Panel superpuesto con métricas de rendimiento: percentiles de latencia de la API y
+ * de las imágenes, aciertos de caché, cola del executor y retraso del EDT.
+ * Mientras está oculto no tiene temporizadores activos ni mide el EDT.
+ */
+class PerformanceHud extends JComponent {
+    // Frecuencia de refresco del panel
+    private static final int REFRESH_MILLIS = 250;
+
+    // Intervalo de la sonda de retraso del EDT
+    private static final int PROBE_MILLIS = 100;
+
+    private static final Font FONT = new Font("Consolas", Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(20, 20, 20, 200);
+
+    private final IntSupplier queueDepth;
+    private final Timer refreshTimer;
+    private final Timer probeTimer;
+
+    // Momento del último disparo de la sonda (solo EDT)
+    private long lastProbeNanos;
+
+    private List<String> lines = new ArrayList<>();
+
+    /**
+     * @param queueDepth Tareas pendientes en el executor de carga
+     */
+    PerformanceHud(IntSupplier queueDepth) {
+        this.queueDepth = queueDepth;
+        this.refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+        this.probeTimer = new Timer(PROBE_MILLIS, e -> probe());
+        this.probeTimer.setCoalesce(false);
+
+        setFont(FONT);
+        setSize(330, 215);
+        setVisible(false);
+    }
+
+    /**
+     * Muestra u oculta el panel, arrancando o deteniendo sus temporizadores.
+     */
+    void toggle() {
+        boolean show = !isVisible();
+        if (show) {
+            lastProbeNanos = System.nanoTime();
+            probeTimer.start();
+            refreshTimer.start();
+            refresh();
+        } else {
+            probeTimer.stop();
+            refreshTimer.stop();
+        }
+        setVisible(show);
+    }
+
+    /**
+     * Mide cuánto tarde se ejecutó el temporizador respecto a su intervalo: es el tiempo
+     * que el evento esperó en la cola del EDT.
+     */
+    private void probe() {
+        long now = System.nanoTime();
+        long lag = now - lastProbeNanos - PROBE_MILLIS * 1_000_000L;
+        lastProbeNanos = now;
+        Metrics.EDT_LAG.recordNanos(Math.max(lag, 0));
+    }
+
+    private void refresh() {
+        List<String> updated = new ArrayList<>();
+        updated.add("RENDIMIENTO (F3)          p50     p95     p99");
+        updated.add(histogramLine("API carta", Metrics.CARD_FETCH));
+        updated.add(histogramLine("Imagen", Metrics.IMAGE_LOAD));
+        updated.add(histogramLine("Retraso EDT", Metrics.EDT_LAG));
+        updated.add(histogramLine("Bloqueo EDT", Metrics.EDT_STALL));
+        updated.add("");
+        updated.add(cacheLine("Caché cartas", Metrics.CARD_REGISTRY));
+        updated.add(cacheLine("Caché imágenes", Metrics.IMAGE_CACHE));
+        updated.add(String.format("Cola executor      %d tareas", queueDepth.getAsInt()));
+        updated.add(String.format("Memoria usada      %d MB",
+                (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024)));
+        lines = updated;
+        repaint();
+    }
+
+    private static String histogramLine(String label, LatencyHistogram histogram) {
+        return String.format("%-14s %7s %7s %7s  (n=%d)", label,
+                formatMicros(histogram.getPercentileMicros(50)),
+                formatMicros(histogram.getPercentileMicros(95)),
+                formatMicros(histogram.getPercentileMicros(99)),
+                histogram.getCount());
+    }
+
+    private static String cacheLine(String label, HitCounter counter) {
+        return String.format("%-18s %5.1f%%  (%d/%d)", label, counter.getHitRate() * 100,
+                counter.getHits(), counter.getHits() + counter.getMisses());
+    }
+
+    private static String formatMicros(long micros) {
+        if (micros < 1_000) return micros + "µs";
+        if (micros < 1_000_000) return String.format("%.1fms", micros / 1_000.0);
+        return String.format("%.2fs", micros / 1_000_000.0);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setColor(BACKGROUND);
+        g2.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
+
+        g2.setFont(getFont());
+        FontMetrics metrics = g2.getFontMetrics();
+        int y = 10 + metrics.getAscent();
+        for (int i = 0; i < lines.size(); i++) {
+            g2.setColor(i == 0 ? new Color(255, 215, 0) : Color.WHITE);
+            g2.drawString(lines.get(i), 10, y);
+            y += metrics.getHeight();
+        }
+        g2.dispose();
+    }
+}
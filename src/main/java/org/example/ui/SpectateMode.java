@@ -0,0 +1,149 @@
+package org.example.ui;
+
+import org.example.duel.Duel;
+import org.example.duel.DuelPolicy;
+import org.example.listeners.BattleListener;
+import org.example.model.Card;
+import org.example.random.RandomStreams;
+import org.example.scheduler.VirtualClockScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Modo espectador: juega duelos IA contra IA en bucle desde un hilo propio, con las mismas
+ * cartas y el mismo {@link BattleListener} que la partida normal. Los turnos de la máquina usan
+ * un reloj virtual y la velocidad la marca la pausa entre jugadas; con pausa 0 el motor va tan
+ * rápido como puede y la interfaz solo pinta el último estado de cada frame.
+ */
+class SpectateMode implements AutoCloseable {
+    private final List<Card> playerCards;
+    private final List<Card> aiCards;
+    private final BattleListener listener;
+    private final DuelPolicy playerPolicy;
+    private final DuelPolicy aiPolicy;
+    private final Thread thread;
+    private final SplittableRandom random = RandomStreams.split();
+
+    // Pausa entre jugadas (0 = turbo)
+    private volatile long moveDelayMillis;
+    private volatile boolean running = true;
+
+    // Resultados acumulados
+    private final LongAdder playerWins = new LongAdder();
+    private final LongAdder aiWins = new LongAdder();
+    private final LongAdder ties = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @param playerCards     Cartas del lado del jugador (3)
+     * @param aiCards         Cartas de la máquina (3)
+     * @param listener        Receptor de los eventos del duelo
+     * @param playerPolicy    Estrategia que juega por el jugador
+     * @param aiPolicy        Estrategia de la máquina
+     * @param moveDelayMillis Pausa entre jugadas
+     */
+    SpectateMode(List<Card> playerCards, List<Card> aiCards, BattleListener listener,
+                 DuelPolicy playerPolicy, DuelPolicy aiPolicy, long moveDelayMillis) {
+        this.playerCards = new ArrayList<>(playerCards);
+        this.aiCards = new ArrayList<>(aiCards);
+        this.listener = listener;
+        this.playerPolicy = playerPolicy;
+        this.aiPolicy = aiPolicy;
+        this.moveDelayMillis = moveDelayMillis;
+        this.thread = new Thread(this::run, "duel-spectate");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Cambia la velocidad sin detener los duelos.
+     * @param delayMillis Pausa entre jugadas (0 = turbo)
+     */
+    void setMoveDelay(long delayMillis) {
+        this.moveDelayMillis = Math.max(delayMillis, 0);
+        LockSupport.unpark(thread);
+    }
+
+    long getDuelsPlayed() {
+        return playerWins.sum() + aiWins.sum() + ties.sum();
+    }
+
+    long getPlayerWins() {
+        return playerWins.sum();
+    }
+
+    long getAiWins() {
+        return aiWins.sum();
+    }
+
+    double getDuelsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? getDuelsPlayed() / seconds : 0;
+    }
+
+    /**
+     * Detiene el bucle y espera a que termine la jugada en curso.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        VirtualClockScheduler clock = new VirtualClockScheduler();
+        Duel duel = new Duel(random.split());
+        duel.setScheduler(clock);
+        duel.setPlayerPolicy(playerPolicy);
+        duel.setAiPolicy(aiPolicy);
+        duel.setPlayerCards(playerCards);
+        duel.setAiCards(aiCards);
+        duel.setBattleListener(listener);
+
+        while (running) {
+            duel.resetDuel();
+            duel.startDuel();
+            clock.runUntilIdle();
+            pause();
+
+            while (running && duel.isGameStarted() && duel.isWaitingForPlayerSelection()) {
+                List<Card> available = duel.getAvailablePlayerCards();
+                int choice = playerPolicy.selectCard(available, duel.getAiSelectedCard(), random);
+                duel.playerSelectsCard(playerCards.indexOf(available.get(choice)));
+                clock.runUntilIdle();
+                pause();
+            }
+
+            if (!duel.isGameStarted()) {
+                int result = duel.getPlayerScore() - duel.getAiScore();
+                if (result > 0) {
+                    playerWins.increment();
+                } else if (result < 0) {
+                    aiWins.increment();
+                } else {
+                    ties.increment();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        long delay = moveDelayMillis;
+        if (delay > 0 && running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(delay));
+        }
+    }
+}
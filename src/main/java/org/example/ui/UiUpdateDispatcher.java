@@ -0,0 +1,175 @@
+package org.example.ui;
+
+import org.example.log.Log;
+import org.example.log.Logger;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Agrupa las actualizaciones de la interfaz y las aplica una vez por frame.
+ * En lugar de un {@code invokeLater} por evento, los cambios se encolan desde cualquier hilo
+ * y un único {@link Timer} de Swing los ejecuta juntos en el EDT. Las líneas del log se
+ * concatenan y se añaden con un solo append, de modo que una ráfaga de eventos del motor
+ * provoca una sola pasada de layout y pintado.
+ * @param <T> Tipo de las entradas del log
+ */
+public final class UiUpdateDispatcher<T> {
+    private static final Logger LOG = Log.getLogger(UiUpdateDispatcher.class);
+
+    // Actualizaciones pendientes en orden de llegada
+    private final Queue<Runnable> updates = new ConcurrentLinkedQueue<>();
+
+    // Última actualización pendiente por clave (las anteriores del mismo frame se descartan)
+    private final Map<Object, Runnable> latestByKey = new ConcurrentHashMap<>();
+
+    // Líneas de log pendientes (se aplican juntas al final del frame)
+    private final Queue<T> logLines = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingLogLines = new AtomicInteger();
+    private final AtomicLong droppedLogLines = new AtomicLong();
+    private volatile int maxPendingLogLines = Integer.MAX_VALUE;
+
+    // Destino del log: recibe todas las líneas del frame
+    private final Consumer<List<T>> logSink;
+
+    // true si ya hay un frame programado
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Timer frameTimer;
+
+    // Estadísticas del último frame (solo EDT)
+    private int lastBatchSize;
+
+    /**
+     * @param framesPerSecond Frecuencia máxima de aplicación de cambios
+     * @param logSink         Recibe las líneas de log acumuladas en cada frame (en el EDT)
+     */
+    public UiUpdateDispatcher(int framesPerSecond, Consumer<List<T>> logSink) {
+        this.logSink = logSink;
+        this.frameTimer = new Timer(1000 / Math.max(framesPerSecond, 1), e -> flush());
+        this.frameTimer.setRepeats(false);
+        this.frameTimer.setCoalesce(true);
+    }
+
+    /**
+     * Encola un cambio de estado de la interfaz para el próximo frame.
+     * Se puede llamar desde cualquier hilo.
+     * @param update Cambio a aplicar en el EDT
+     */
+    public void submit(Runnable update) {
+        updates.add(update);
+        scheduleFrame();
+    }
+
+    /**
+     * Encola un cambio que sustituye al pendiente con la misma clave. Si el productor va más
+     * rápido que el pintado, en cada frame solo se aplica el último estado de cada clave y la
+     * cola no crece. El cambio se aplica en la posición de la primera actualización pendiente.
+     * Se puede llamar desde cualquier hilo.
+     * @param key    Identifica el estado que actualiza (ej: "score")
+     * @param update Cambio a aplicar en el EDT
+     */
+    public void submitLatest(Object key, Runnable update) {
+        if (latestByKey.put(key, update) == null) {
+            updates.add(() -> {
+                Runnable latest = latestByKey.remove(key);
+                if (latest != null) {
+                    latest.run();
+                }
+            });
+            scheduleFrame();
+        }
+    }
+
+    /**
+     * Encola una línea para el log de batalla. Si se supera el máximo de líneas pendientes
+     * se descartan las más antiguas.
+     * Se puede llamar desde cualquier hilo.
+     * @param line Entrada del log
+     */
+    public void log(T line) {
+        logLines.add(line);
+        if (pendingLogLines.incrementAndGet() > maxPendingLogLines && logLines.poll() != null) {
+            pendingLogLines.decrementAndGet();
+            droppedLogLines.incrementAndGet();
+        }
+        scheduleFrame();
+    }
+
+    /**
+     * Limita las líneas de log acumuladas entre dos frames.
+     * @param maxLines Máximo de líneas pendientes ({@link Integer#MAX_VALUE} = sin límite)
+     */
+    public void setMaxPendingLogLines(int maxLines) {
+        this.maxPendingLogLines = Math.max(maxLines, 1);
+    }
+
+    /**
+     * @return Líneas de log descartadas por superar el máximo de pendientes
+     */
+    public long getDroppedLogLines() {
+        return droppedLogLines.get();
+    }
+
+    /**
+     * Descarta las líneas de log pendientes (usar al vaciar el log).
+     */
+    public void discardPendingLog() {
+        while (logLines.poll() != null) {
+            pendingLogLines.decrementAndGet();
+        }
+    }
+
+    /**
+     * Aplica de inmediato los cambios pendientes. Debe llamarse desde el EDT.
+     */
+    public void flush() {
+        scheduled.set(false);
+
+        int applied = 0;
+        Runnable update;
+        while ((update = updates.poll()) != null) {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                LOG.error("Error aplicando actualización de UI: {}", e.getMessage());
+            }
+            applied++;
+        }
+
+        if (!logLines.isEmpty()) {
+            List<T> lines = new ArrayList<>();
+            T line;
+            while ((line = logLines.poll()) != null) {
+                pendingLogLines.decrementAndGet();
+                lines.add(line);
+                applied++;
+            }
+            logSink.accept(lines);
+        }
+
+        lastBatchSize = applied;
+    }
+
+    /**
+     * @return Número de cambios aplicados en el último frame
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    private void scheduleFrame() {
+        if (scheduled.compareAndSet(false, true)) {
+            frameTimer.restart();
+        }
+    }
+}